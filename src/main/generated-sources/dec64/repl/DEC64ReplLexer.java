@@ -0,0 +1,125 @@
+// Generated from DEC64Repl.g4 by ANTLR 4.5.3
+
+   package dec64.repl;
+
+import org.antlr.v4.runtime.Lexer;
+import org.antlr.v4.runtime.CharStream;
+import org.antlr.v4.runtime.Token;
+import org.antlr.v4.runtime.TokenStream;
+import org.antlr.v4.runtime.*;
+import org.antlr.v4.runtime.atn.*;
+import org.antlr.v4.runtime.dfa.DFA;
+import org.antlr.v4.runtime.misc.*;
+
+@SuppressWarnings({"all", "warnings", "unchecked", "unused", "cast"})
+public class DEC64ReplLexer extends Lexer {
+	static { RuntimeMetaData.checkVersion("4.5.3", RuntimeMetaData.VERSION); }
+
+	protected static final DFA[] _decisionToDFA;
+	protected static final PredictionContextCache _sharedContextCache =
+		new PredictionContextCache();
+	public static final int
+		SIN=1, ASIN=2, SQRT=3, ABS=4, LPAREN=5, RPAREN=6, PLUS=7, MINUS=8, TIMES=9, 
+		DIV=10, MOD=11, POINT=12, E=13, POW=14, DIGIT=15, WS=16;
+	public static String[] modeNames = {
+		"DEFAULT_MODE"
+	};
+
+	public static final String[] ruleNames = {
+		"SIN", "ASIN", "SQRT", "ABS", "LPAREN", "RPAREN", "PLUS", "MINUS", "TIMES", 
+		"DIV", "MOD", "POINT", "E", "POW", "DIGIT", "WS"
+	};
+
+	private static final String[] _LITERAL_NAMES = {
+		null, "'sin'", "'asin'", "'sqrt'", "'abs'", "'('", "')'", "'+'", "'-'", 
+		"'*'", "'/'", "'%'", "'.'", null, "'^'"
+	};
+	private static final String[] _SYMBOLIC_NAMES = {
+		null, "SIN", "ASIN", "SQRT", "ABS", "LPAREN", "RPAREN", "PLUS", "MINUS", 
+		"TIMES", "DIV", "MOD", "POINT", "E", "POW", "DIGIT", "WS"
+	};
+	public static final Vocabulary VOCABULARY = new VocabularyImpl(_LITERAL_NAMES, _SYMBOLIC_NAMES);
+
+	/**
+	 * @deprecated Use {@link #VOCABULARY} instead.
+	 */
+	@Deprecated
+	public static final String[] tokenNames;
+	static {
+		tokenNames = new String[_SYMBOLIC_NAMES.length];
+		for (int i = 0; i < tokenNames.length; i++) {
+			tokenNames[i] = VOCABULARY.getLiteralName(i);
+			if (tokenNames[i] == null) {
+				tokenNames[i] = VOCABULARY.getSymbolicName(i);
+			}
+
+			if (tokenNames[i] == null) {
+				tokenNames[i] = "<INVALID>";
+			}
+		}
+	}
+
+	@Override
+	@Deprecated
+	public String[] getTokenNames() {
+		return tokenNames;
+	}
+
+	@Override
+
+	public Vocabulary getVocabulary() {
+		return VOCABULARY;
+	}
+
+
+	public DEC64ReplLexer(CharStream input) {
+		super(input);
+		_interp = new LexerATNSimulator(this,_ATN,_decisionToDFA,_sharedContextCache);
+	}
+
+	@Override
+	public String getGrammarFileName() { return "DEC64Repl.g4"; }
+
+	@Override
+	public String[] getRuleNames() { return ruleNames; }
+
+	@Override
+	public String getSerializedATN() { return _serializedATN; }
+
+	@Override
+	public String[] getModeNames() { return modeNames; }
+
+	@Override
+	public ATN getATN() { return _ATN; }
+
+	public static final String _serializedATN =
+		"\3\u0430\ud6d1\u8206\uad2d\u4417\uaef1\u8d80\uaadd\2\22R\b\1\4\2\t\2\4"+
+		"\3\t\3\4\4\t\4\4\5\t\5\4\6\t\6\4\7\t\7\4\b\t\b\4\t\t\t\4\n\t\n\4\13\t"+
+		"\13\4\f\t\f\4\r\t\r\4\16\t\16\4\17\t\17\4\20\t\20\4\21\t\21\3\2\3\2\3"+
+		"\2\3\2\3\3\3\3\3\3\3\3\3\3\3\4\3\4\3\4\3\4\3\4\3\5\3\5\3\5\3\5\3\6\3\6"+
+		"\3\7\3\7\3\b\3\b\3\t\3\t\3\n\3\n\3\13\3\13\3\f\3\f\3\r\3\r\3\16\3\16\3"+
+		"\17\3\17\3\20\3\20\3\21\6\21M\n\21\r\21\16\21N\3\21\3\21\2\2\22\3\3\5"+
+		"\4\7\5\t\6\13\7\r\b\17\t\21\n\23\13\25\f\27\r\31\16\33\17\35\20\37\21"+
+		"!\22\3\2\4\4\2GGgg\5\2\13\f\17\17\"\"R\2\3\3\2\2\2\2\5\3\2\2\2\2\7\3\2"+
+		"\2\2\2\t\3\2\2\2\2\13\3\2\2\2\2\r\3\2\2\2\2\17\3\2\2\2\2\21\3\2\2\2\2"+
+		"\23\3\2\2\2\2\25\3\2\2\2\2\27\3\2\2\2\2\31\3\2\2\2\2\33\3\2\2\2\2\35\3"+
+		"\2\2\2\2\37\3\2\2\2\2!\3\2\2\2\3#\3\2\2\2\5\'\3\2\2\2\7,\3\2\2\2\t\61"+
+		"\3\2\2\2\13\65\3\2\2\2\r\67\3\2\2\2\179\3\2\2\2\21;\3\2\2\2\23=\3\2\2"+
+		"\2\25?\3\2\2\2\27A\3\2\2\2\31C\3\2\2\2\33E\3\2\2\2\35G\3\2\2\2\37I\3\2"+
+		"\2\2!L\3\2\2\2#$\7u\2\2$%\7k\2\2%&\7p\2\2&\4\3\2\2\2\'(\7c\2\2()\7u\2"+
+		"\2)*\7k\2\2*+\7p\2\2+\6\3\2\2\2,-\7u\2\2-.\7s\2\2./\7t\2\2/\60\7v\2\2"+
+		"\60\b\3\2\2\2\61\62\7c\2\2\62\63\7d\2\2\63\64\7u\2\2\64\n\3\2\2\2\65\66"+
+		"\7*\2\2\66\f\3\2\2\2\678\7+\2\28\16\3\2\2\29:\7-\2\2:\20\3\2\2\2;<\7/"+
+		"\2\2<\22\3\2\2\2=>\7,\2\2>\24\3\2\2\2?@\7\61\2\2@\26\3\2\2\2AB\7\'\2\2"+
+		"B\30\3\2\2\2CD\7\60\2\2D\32\3\2\2\2EF\t\2\2\2F\34\3\2\2\2GH\7`\2\2H\36"+
+		"\3\2\2\2IJ\4\62;\2J \3\2\2\2KM\t\3\2\2LK\3\2\2\2MN\3\2\2\2NL\3\2\2\2N"+
+		"O\3\2\2\2OP\3\2\2\2PQ\b\21\2\2Q\"\3\2\2\2\4\2N\3\2\3\2";
+	public static final ATN _ATN =
+		new ATNDeserializer().deserialize(_serializedATN.toCharArray());
+	static {
+		_decisionToDFA = new DFA[_ATN.getNumberOfDecisions()];
+		for (int i = 0; i < _ATN.getNumberOfDecisions(); i++) {
+			_decisionToDFA[i] = new DFA(_ATN.getDecisionState(i), i);
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,72 @@
+// Generated from DEC64Repl.g4 by ANTLR 4.5.3
+
+   package dec64.repl;
+
+import org.antlr.v4.runtime.tree.ParseTreeListener;
+
+/**
+ * This interface defines a complete listener for a parse tree produced by
+ * {@link DEC64ReplParser}.
+ */
+public interface DEC64ReplListener extends ParseTreeListener {
+	/**
+	 * Enter a parse tree produced by {@link DEC64ReplParser#expression}.
+	 * @param ctx the parse tree
+	 */
+	void enterExpression(DEC64ReplParser.ExpressionContext ctx);
+	/**
+	 * Exit a parse tree produced by {@link DEC64ReplParser#expression}.
+	 * @param ctx the parse tree
+	 */
+	void exitExpression(DEC64ReplParser.ExpressionContext ctx);
+	/**
+	 * Enter a parse tree produced by {@link DEC64ReplParser#atom}.
+	 * @param ctx the parse tree
+	 */
+	void enterAtom(DEC64ReplParser.AtomContext ctx);
+	/**
+	 * Exit a parse tree produced by {@link DEC64ReplParser#atom}.
+	 * @param ctx the parse tree
+	 */
+	void exitAtom(DEC64ReplParser.AtomContext ctx);
+	/**
+	 * Enter a parse tree produced by {@link DEC64ReplParser#scientific}.
+	 * @param ctx the parse tree
+	 */
+	void enterScientific(DEC64ReplParser.ScientificContext ctx);
+	/**
+	 * Exit a parse tree produced by {@link DEC64ReplParser#scientific}.
+	 * @param ctx the parse tree
+	 */
+	void exitScientific(DEC64ReplParser.ScientificContext ctx);
+	/**
+	 * Enter a parse tree produced by {@link DEC64ReplParser#number}.
+	 * @param ctx the parse tree
+	 */
+	void enterNumber(DEC64ReplParser.NumberContext ctx);
+	/**
+	 * Exit a parse tree produced by {@link DEC64ReplParser#number}.
+	 * @param ctx the parse tree
+	 */
+	void exitNumber(DEC64ReplParser.NumberContext ctx);
+	/**
+	 * Enter a parse tree produced by {@link DEC64ReplParser#func}.
+	 * @param ctx the parse tree
+	 */
+	void enterFunc(DEC64ReplParser.FuncContext ctx);
+	/**
+	 * Exit a parse tree produced by {@link DEC64ReplParser#func}.
+	 * @param ctx the parse tree
+	 */
+	void exitFunc(DEC64ReplParser.FuncContext ctx);
+	/**
+	 * Enter a parse tree produced by {@link DEC64ReplParser#funcname}.
+	 * @param ctx the parse tree
+	 */
+	void enterFuncname(DEC64ReplParser.FuncnameContext ctx);
+	/**
+	 * Exit a parse tree produced by {@link DEC64ReplParser#funcname}.
+	 * @param ctx the parse tree
+	 */
+	void exitFuncname(DEC64ReplParser.FuncnameContext ctx);
+}
\ No newline at end of file
@@ -0,0 +1,645 @@
+// Generated from DEC64Repl.g4 by ANTLR 4.5.3
+
+   package dec64.repl;
+
+import org.antlr.v4.runtime.atn.*;
+import org.antlr.v4.runtime.dfa.DFA;
+import org.antlr.v4.runtime.*;
+import org.antlr.v4.runtime.misc.*;
+import org.antlr.v4.runtime.tree.*;
+import java.util.List;
+import java.util.Iterator;
+import java.util.ArrayList;
+
+@SuppressWarnings({"all", "warnings", "unchecked", "unused", "cast"})
+public class DEC64ReplParser extends Parser {
+	static { RuntimeMetaData.checkVersion("4.5.3", RuntimeMetaData.VERSION); }
+
+	protected static final DFA[] _decisionToDFA;
+	protected static final PredictionContextCache _sharedContextCache =
+		new PredictionContextCache();
+	public static final int
+		SIN=1, ASIN=2, SQRT=3, ABS=4, LPAREN=5, RPAREN=6, PLUS=7, MINUS=8, TIMES=9, 
+		DIV=10, MOD=11, POINT=12, E=13, POW=14, DIGIT=15, WS=16;
+	public static final int
+		RULE_expression = 0, RULE_atom = 1, RULE_scientific = 2, RULE_number = 3, 
+		RULE_func = 4, RULE_funcname = 5;
+	public static final String[] ruleNames = {
+		"expression", "atom", "scientific", "number", "func", "funcname"
+	};
+
+	private static final String[] _LITERAL_NAMES = {
+		null, "'sin'", "'asin'", "'sqrt'", "'abs'", "'('", "')'", "'+'", "'-'", 
+		"'*'", "'/'", "'%'", "'.'", null, "'^'"
+	};
+	private static final String[] _SYMBOLIC_NAMES = {
+		null, "SIN", "ASIN", "SQRT", "ABS", "LPAREN", "RPAREN", "PLUS", "MINUS", 
+		"TIMES", "DIV", "MOD", "POINT", "E", "POW", "DIGIT", "WS"
+	};
+	public static final Vocabulary VOCABULARY = new VocabularyImpl(_LITERAL_NAMES, _SYMBOLIC_NAMES);
+
+	/**
+	 * @deprecated Use {@link #VOCABULARY} instead.
+	 */
+	@Deprecated
+	public static final String[] tokenNames;
+	static {
+		tokenNames = new String[_SYMBOLIC_NAMES.length];
+		for (int i = 0; i < tokenNames.length; i++) {
+			tokenNames[i] = VOCABULARY.getLiteralName(i);
+			if (tokenNames[i] == null) {
+				tokenNames[i] = VOCABULARY.getSymbolicName(i);
+			}
+
+			if (tokenNames[i] == null) {
+				tokenNames[i] = "<INVALID>";
+			}
+		}
+	}
+
+	@Override
+	@Deprecated
+	public String[] getTokenNames() {
+		return tokenNames;
+	}
+
+	@Override
+
+	public Vocabulary getVocabulary() {
+		return VOCABULARY;
+	}
+
+	@Override
+	public String getGrammarFileName() { return "DEC64Repl.g4"; }
+
+	@Override
+	public String[] getRuleNames() { return ruleNames; }
+
+	@Override
+	public String getSerializedATN() { return _serializedATN; }
+
+	@Override
+	public ATN getATN() { return _ATN; }
+
+	public DEC64ReplParser(TokenStream input) {
+		super(input);
+		_interp = new ParserATNSimulator(this,_ATN,_decisionToDFA,_sharedContextCache);
+	}
+	public static class ExpressionContext extends ParserRuleContext {
+		public ExpressionContext left;
+		public ExpressionContext right;
+		public AtomContext atom() {
+			return getRuleContext(AtomContext.class,0);
+		}
+		public TerminalNode PLUS() { return getToken(DEC64ReplParser.PLUS, 0); }
+		public TerminalNode MINUS() { return getToken(DEC64ReplParser.MINUS, 0); }
+		public List<ExpressionContext> expression() {
+			return getRuleContexts(ExpressionContext.class);
+		}
+		public ExpressionContext expression(int i) {
+			return getRuleContext(ExpressionContext.class,i);
+		}
+		public TerminalNode TIMES() { return getToken(DEC64ReplParser.TIMES, 0); }
+		public TerminalNode DIV() { return getToken(DEC64ReplParser.DIV, 0); }
+		public TerminalNode MOD() { return getToken(DEC64ReplParser.MOD, 0); }
+		public ExpressionContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_expression; }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof DEC64ReplListener ) ((DEC64ReplListener)listener).enterExpression(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof DEC64ReplListener ) ((DEC64ReplListener)listener).exitExpression(this);
+		}
+		@Override
+		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
+			if ( visitor instanceof DEC64ReplVisitor ) return ((DEC64ReplVisitor<? extends T>)visitor).visitExpression(this);
+			else return visitor.visitChildren(this);
+		}
+	}
+
+	public final ExpressionContext expression() throws RecognitionException {
+		return expression(0);
+	}
+
+	private ExpressionContext expression(int _p) throws RecognitionException {
+		ParserRuleContext _parentctx = _ctx;
+		int _parentState = getState();
+		ExpressionContext _localctx = new ExpressionContext(_ctx, _parentState);
+		ExpressionContext _prevctx = _localctx;
+		int _startState = 0;
+		enterRecursionRule(_localctx, 0, RULE_expression, _p);
+		int _la;
+		try {
+			int _alt;
+			enterOuterAlt(_localctx, 1);
+			{
+			setState(16);
+			_errHandler.sync(this);
+			switch ( getInterpreter().adaptivePredict(_input,0,_ctx) ) {
+			case 1:
+				{
+				setState(13);
+				_la = _input.LA(1);
+				if ( !(_la==PLUS || _la==MINUS) ) {
+				_errHandler.recoverInline(this);
+				} else {
+					consume();
+				}
+				setState(14);
+				atom();
+				}
+				break;
+			case 2:
+				{
+				setState(15);
+				atom();
+				}
+				break;
+			}
+			_ctx.stop = _input.LT(-1);
+			setState(26);
+			_errHandler.sync(this);
+			_alt = getInterpreter().adaptivePredict(_input,2,_ctx);
+			while ( _alt!=2 && _alt!=org.antlr.v4.runtime.atn.ATN.INVALID_ALT_NUMBER ) {
+				if ( _alt==1 ) {
+					if ( _parseListeners!=null ) triggerExitRuleEvent();
+					_prevctx = _localctx;
+					{
+					setState(24);
+					_errHandler.sync(this);
+					switch ( getInterpreter().adaptivePredict(_input,1,_ctx) ) {
+					case 1:
+						{
+						_localctx = new ExpressionContext(_parentctx, _parentState);
+						_localctx.left = _prevctx;
+						_localctx.left = _prevctx;
+						pushNewRecursionContext(_localctx, _startState, RULE_expression);
+						setState(18);
+						if (!(precpred(_ctx, 3))) throw new FailedPredicateException(this, "precpred(_ctx, 3)");
+						setState(19);
+						_la = _input.LA(1);
+						if ( !(_la==PLUS || _la==MINUS) ) {
+						_errHandler.recoverInline(this);
+						} else {
+							consume();
+						}
+						setState(20);
+						((ExpressionContext)_localctx).right = expression(4);
+						}
+						break;
+					case 2:
+						{
+						_localctx = new ExpressionContext(_parentctx, _parentState);
+						_localctx.left = _prevctx;
+						_localctx.left = _prevctx;
+						pushNewRecursionContext(_localctx, _startState, RULE_expression);
+						setState(21);
+						if (!(precpred(_ctx, 2))) throw new FailedPredicateException(this, "precpred(_ctx, 2)");
+						setState(22);
+						_la = _input.LA(1);
+						if ( !((((_la) & ~0x3f) == 0 && ((1L << _la) & ((1L << TIMES) | (1L << DIV) | (1L << MOD))) != 0)) ) {
+						_errHandler.recoverInline(this);
+						} else {
+							consume();
+						}
+						setState(23);
+						((ExpressionContext)_localctx).right = expression(3);
+						}
+						break;
+					}
+					} 
+				}
+				setState(28);
+				_errHandler.sync(this);
+				_alt = getInterpreter().adaptivePredict(_input,2,_ctx);
+			}
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			unrollRecursionContexts(_parentctx);
+		}
+		return _localctx;
+	}
+
+	public static class AtomContext extends ParserRuleContext {
+		public NumberContext base;
+		public NumberContext power;
+		public List<NumberContext> number() {
+			return getRuleContexts(NumberContext.class);
+		}
+		public NumberContext number(int i) {
+			return getRuleContext(NumberContext.class,i);
+		}
+		public TerminalNode POW() { return getToken(DEC64ReplParser.POW, 0); }
+		public TerminalNode LPAREN() { return getToken(DEC64ReplParser.LPAREN, 0); }
+		public ExpressionContext expression() {
+			return getRuleContext(ExpressionContext.class,0);
+		}
+		public TerminalNode RPAREN() { return getToken(DEC64ReplParser.RPAREN, 0); }
+		public FuncContext func() {
+			return getRuleContext(FuncContext.class,0);
+		}
+		public AtomContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_atom; }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof DEC64ReplListener ) ((DEC64ReplListener)listener).enterAtom(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof DEC64ReplListener ) ((DEC64ReplListener)listener).exitAtom(this);
+		}
+		@Override
+		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
+			if ( visitor instanceof DEC64ReplVisitor ) return ((DEC64ReplVisitor<? extends T>)visitor).visitAtom(this);
+			else return visitor.visitChildren(this);
+		}
+	}
+
+	public final AtomContext atom() throws RecognitionException {
+		AtomContext _localctx = new AtomContext(_ctx, getState());
+		enterRule(_localctx, 2, RULE_atom);
+		try {
+			setState(39);
+			_errHandler.sync(this);
+			switch ( getInterpreter().adaptivePredict(_input,3,_ctx) ) {
+			case 1:
+				enterOuterAlt(_localctx, 1);
+				{
+				setState(29);
+				number();
+				}
+				break;
+			case 2:
+				enterOuterAlt(_localctx, 2);
+				{
+				setState(30);
+				((AtomContext)_localctx).base = number();
+				setState(31);
+				match(POW);
+				setState(32);
+				((AtomContext)_localctx).power = number();
+				}
+				break;
+			case 3:
+				enterOuterAlt(_localctx, 3);
+				{
+				setState(34);
+				match(LPAREN);
+				setState(35);
+				expression(0);
+				setState(36);
+				match(RPAREN);
+				}
+				break;
+			case 4:
+				enterOuterAlt(_localctx, 4);
+				{
+				setState(38);
+				func();
+				}
+				break;
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			exitRule();
+		}
+		return _localctx;
+	}
+
+	public static class ScientificContext extends ParserRuleContext {
+		public List<NumberContext> number() {
+			return getRuleContexts(NumberContext.class);
+		}
+		public NumberContext number(int i) {
+			return getRuleContext(NumberContext.class,i);
+		}
+		public TerminalNode E() { return getToken(DEC64ReplParser.E, 0); }
+		public ScientificContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_scientific; }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof DEC64ReplListener ) ((DEC64ReplListener)listener).enterScientific(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof DEC64ReplListener ) ((DEC64ReplListener)listener).exitScientific(this);
+		}
+		@Override
+		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
+			if ( visitor instanceof DEC64ReplVisitor ) return ((DEC64ReplVisitor<? extends T>)visitor).visitScientific(this);
+			else return visitor.visitChildren(this);
+		}
+	}
+
+	public final ScientificContext scientific() throws RecognitionException {
+		ScientificContext _localctx = new ScientificContext(_ctx, getState());
+		enterRule(_localctx, 4, RULE_scientific);
+		int _la;
+		try {
+			enterOuterAlt(_localctx, 1);
+			{
+			setState(41);
+			number();
+			setState(44);
+			_la = _input.LA(1);
+			if (_la==E) {
+				{
+				setState(42);
+				match(E);
+				setState(43);
+				number();
+				}
+			}
+
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			exitRule();
+		}
+		return _localctx;
+	}
+
+	public static class NumberContext extends ParserRuleContext {
+		public Token wholepart;
+		public Token fracpart;
+		public TerminalNode MINUS() { return getToken(DEC64ReplParser.MINUS, 0); }
+		public TerminalNode POINT() { return getToken(DEC64ReplParser.POINT, 0); }
+		public List<TerminalNode> DIGIT() { return getTokens(DEC64ReplParser.DIGIT); }
+		public TerminalNode DIGIT(int i) {
+			return getToken(DEC64ReplParser.DIGIT, i);
+		}
+		public NumberContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_number; }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof DEC64ReplListener ) ((DEC64ReplListener)listener).enterNumber(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof DEC64ReplListener ) ((DEC64ReplListener)listener).exitNumber(this);
+		}
+		@Override
+		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
+			if ( visitor instanceof DEC64ReplVisitor ) return ((DEC64ReplVisitor<? extends T>)visitor).visitNumber(this);
+			else return visitor.visitChildren(this);
+		}
+	}
+
+	public final NumberContext number() throws RecognitionException {
+		NumberContext _localctx = new NumberContext(_ctx, getState());
+		enterRule(_localctx, 6, RULE_number);
+		int _la;
+		try {
+			int _alt;
+			enterOuterAlt(_localctx, 1);
+			{
+			setState(47);
+			_la = _input.LA(1);
+			if (_la==MINUS) {
+				{
+				setState(46);
+				match(MINUS);
+				}
+			}
+
+			setState(50); 
+			_errHandler.sync(this);
+			_alt = 1;
+			do {
+				switch (_alt) {
+				case 1:
+					{
+					{
+					setState(49);
+					((NumberContext)_localctx).wholepart = match(DIGIT);
+					}
+					}
+					break;
+				default:
+					throw new NoViableAltException(this);
+				}
+				setState(52); 
+				_errHandler.sync(this);
+				_alt = getInterpreter().adaptivePredict(_input,6,_ctx);
+			} while ( _alt!=2 && _alt!=org.antlr.v4.runtime.atn.ATN.INVALID_ALT_NUMBER );
+			setState(60);
+			_errHandler.sync(this);
+			switch ( getInterpreter().adaptivePredict(_input,8,_ctx) ) {
+			case 1:
+				{
+				setState(54);
+				match(POINT);
+				setState(56); 
+				_errHandler.sync(this);
+				_alt = 1;
+				do {
+					switch (_alt) {
+					case 1:
+						{
+						{
+						setState(55);
+						((NumberContext)_localctx).fracpart = match(DIGIT);
+						}
+						}
+						break;
+					default:
+						throw new NoViableAltException(this);
+					}
+					setState(58); 
+					_errHandler.sync(this);
+					_alt = getInterpreter().adaptivePredict(_input,7,_ctx);
+				} while ( _alt!=2 && _alt!=org.antlr.v4.runtime.atn.ATN.INVALID_ALT_NUMBER );
+				}
+				break;
+			}
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			exitRule();
+		}
+		return _localctx;
+	}
+
+	public static class FuncContext extends ParserRuleContext {
+		public FuncnameContext funcname() {
+			return getRuleContext(FuncnameContext.class,0);
+		}
+		public TerminalNode LPAREN() { return getToken(DEC64ReplParser.LPAREN, 0); }
+		public ExpressionContext expression() {
+			return getRuleContext(ExpressionContext.class,0);
+		}
+		public TerminalNode RPAREN() { return getToken(DEC64ReplParser.RPAREN, 0); }
+		public FuncContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_func; }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof DEC64ReplListener ) ((DEC64ReplListener)listener).enterFunc(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof DEC64ReplListener ) ((DEC64ReplListener)listener).exitFunc(this);
+		}
+		@Override
+		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
+			if ( visitor instanceof DEC64ReplVisitor ) return ((DEC64ReplVisitor<? extends T>)visitor).visitFunc(this);
+			else return visitor.visitChildren(this);
+		}
+	}
+
+	public final FuncContext func() throws RecognitionException {
+		FuncContext _localctx = new FuncContext(_ctx, getState());
+		enterRule(_localctx, 8, RULE_func);
+		try {
+			enterOuterAlt(_localctx, 1);
+			{
+			setState(62);
+			funcname();
+			setState(63);
+			match(LPAREN);
+			setState(64);
+			expression(0);
+			setState(65);
+			match(RPAREN);
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			exitRule();
+		}
+		return _localctx;
+	}
+
+	public static class FuncnameContext extends ParserRuleContext {
+		public TerminalNode SIN() { return getToken(DEC64ReplParser.SIN, 0); }
+		public TerminalNode ASIN() { return getToken(DEC64ReplParser.ASIN, 0); }
+		public TerminalNode SQRT() { return getToken(DEC64ReplParser.SQRT, 0); }
+		public TerminalNode ABS() { return getToken(DEC64ReplParser.ABS, 0); }
+		public FuncnameContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_funcname; }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof DEC64ReplListener ) ((DEC64ReplListener)listener).enterFuncname(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof DEC64ReplListener ) ((DEC64ReplListener)listener).exitFuncname(this);
+		}
+		@Override
+		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
+			if ( visitor instanceof DEC64ReplVisitor ) return ((DEC64ReplVisitor<? extends T>)visitor).visitFuncname(this);
+			else return visitor.visitChildren(this);
+		}
+	}
+
+	public final FuncnameContext funcname() throws RecognitionException {
+		FuncnameContext _localctx = new FuncnameContext(_ctx, getState());
+		enterRule(_localctx, 10, RULE_funcname);
+		int _la;
+		try {
+			enterOuterAlt(_localctx, 1);
+			{
+			setState(67);
+			_la = _input.LA(1);
+			if ( !((((_la) & ~0x3f) == 0 && ((1L << _la) & ((1L << SIN) | (1L << ASIN) | (1L << SQRT) | (1L << ABS))) != 0)) ) {
+			_errHandler.recoverInline(this);
+			} else {
+				consume();
+			}
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			exitRule();
+		}
+		return _localctx;
+	}
+
+	public boolean sempred(RuleContext _localctx, int ruleIndex, int predIndex) {
+		switch (ruleIndex) {
+		case 0:
+			return expression_sempred((ExpressionContext)_localctx, predIndex);
+		}
+		return true;
+	}
+	private boolean expression_sempred(ExpressionContext _localctx, int predIndex) {
+		switch (predIndex) {
+		case 0:
+			return precpred(_ctx, 3);
+		case 1:
+			return precpred(_ctx, 2);
+		}
+		return true;
+	}
+
+	public static final String _serializedATN =
+		"\3\u0430\ud6d1\u8206\uad2d\u4417\uaef1\u8d80\uaadd\3\22H\4\2\t\2\4\3\t"+
+		"\3\4\4\t\4\4\5\t\5\4\6\t\6\4\7\t\7\3\2\3\2\3\2\3\2\5\2\23\n\2\3\2\3\2"+
+		"\3\2\3\2\3\2\3\2\7\2\33\n\2\f\2\16\2\36\13\2\3\3\3\3\3\3\3\3\3\3\3\3\3"+
+		"\3\3\3\3\3\3\3\5\3*\n\3\3\4\3\4\3\4\5\4/\n\4\3\5\5\5\62\n\5\3\5\6\5\65"+
+		"\n\5\r\5\16\5\66\3\5\3\5\6\5;\n\5\r\5\16\5<\5\5?\n\5\3\6\3\6\3\6\3\6\3"+
+		"\6\3\7\3\7\3\7\2\3\2\b\2\4\6\b\n\f\2\5\3\2\t\n\3\2\13\r\3\2\3\6L\2\22"+
+		"\3\2\2\2\4)\3\2\2\2\6+\3\2\2\2\b\61\3\2\2\2\n@\3\2\2\2\fE\3\2\2\2\16\17"+
+		"\b\2\1\2\17\20\t\2\2\2\20\23\5\4\3\2\21\23\5\4\3\2\22\16\3\2\2\2\22\21"+
+		"\3\2\2\2\23\34\3\2\2\2\24\25\f\5\2\2\25\26\t\2\2\2\26\33\5\2\2\6\27\30"+
+		"\f\4\2\2\30\31\t\3\2\2\31\33\5\2\2\5\32\24\3\2\2\2\32\27\3\2\2\2\33\36"+
+		"\3\2\2\2\34\32\3\2\2\2\34\35\3\2\2\2\35\3\3\2\2\2\36\34\3\2\2\2\37*\5"+
+		"\b\5\2 !\5\b\5\2!\"\7\20\2\2\"#\5\b\5\2#*\3\2\2\2$%\7\7\2\2%&\5\2\2\2"+
+		"&\'\7\b\2\2\'*\3\2\2\2(*\5\n\6\2)\37\3\2\2\2) \3\2\2\2)$\3\2\2\2)(\3\2"+
+		"\2\2*\5\3\2\2\2+.\5\b\5\2,-\7\17\2\2-/\5\b\5\2.,\3\2\2\2./\3\2\2\2/\7"+
+		"\3\2\2\2\60\62\7\n\2\2\61\60\3\2\2\2\61\62\3\2\2\2\62\64\3\2\2\2\63\65"+
+		"\7\21\2\2\64\63\3\2\2\2\65\66\3\2\2\2\66\64\3\2\2\2\66\67\3\2\2\2\67>"+
+		"\3\2\2\28:\7\16\2\29;\7\21\2\2:9\3\2\2\2;<\3\2\2\2<:\3\2\2\2<=\3\2\2\2"+
+		"=?\3\2\2\2>8\3\2\2\2>?\3\2\2\2?\t\3\2\2\2@A\5\f\7\2AB\7\7\2\2BC\5\2\2"+
+		"\2CD\7\b\2\2D\13\3\2\2\2EF\t\4\2\2F\r\3\2\2\2\13\22\32\34).\61\66<>";
+	public static final ATN _ATN =
+		new ATNDeserializer().deserialize(_serializedATN.toCharArray());
+	static {
+		_decisionToDFA = new DFA[_ATN.getNumberOfDecisions()];
+		for (int i = 0; i < _ATN.getNumberOfDecisions(); i++) {
+			_decisionToDFA[i] = new DFA(_ATN.getDecisionState(i), i);
+		}
+	}
+}
\ No newline at end of file
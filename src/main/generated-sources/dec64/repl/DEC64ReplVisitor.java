@@ -0,0 +1,51 @@
+// Generated from DEC64Repl.g4 by ANTLR 4.5.3
+
+   package dec64.repl;
+
+import org.antlr.v4.runtime.tree.ParseTreeVisitor;
+
+/**
+ * This interface defines a complete generic visitor for a parse tree produced
+ * by {@link DEC64ReplParser}.
+ *
+ * @param <T> The return type of the visit operation. Use {@link Void} for
+ * operations with no return type.
+ */
+public interface DEC64ReplVisitor<T> extends ParseTreeVisitor<T> {
+	/**
+	 * Visit a parse tree produced by {@link DEC64ReplParser#expression}.
+	 * @param ctx the parse tree
+	 * @return the visitor result
+	 */
+	T visitExpression(DEC64ReplParser.ExpressionContext ctx);
+	/**
+	 * Visit a parse tree produced by {@link DEC64ReplParser#atom}.
+	 * @param ctx the parse tree
+	 * @return the visitor result
+	 */
+	T visitAtom(DEC64ReplParser.AtomContext ctx);
+	/**
+	 * Visit a parse tree produced by {@link DEC64ReplParser#scientific}.
+	 * @param ctx the parse tree
+	 * @return the visitor result
+	 */
+	T visitScientific(DEC64ReplParser.ScientificContext ctx);
+	/**
+	 * Visit a parse tree produced by {@link DEC64ReplParser#number}.
+	 * @param ctx the parse tree
+	 * @return the visitor result
+	 */
+	T visitNumber(DEC64ReplParser.NumberContext ctx);
+	/**
+	 * Visit a parse tree produced by {@link DEC64ReplParser#func}.
+	 * @param ctx the parse tree
+	 * @return the visitor result
+	 */
+	T visitFunc(DEC64ReplParser.FuncContext ctx);
+	/**
+	 * Visit a parse tree produced by {@link DEC64ReplParser#funcname}.
+	 * @param ctx the parse tree
+	 * @return the visitor result
+	 */
+	T visitFuncname(DEC64ReplParser.FuncnameContext ctx);
+}
\ No newline at end of file
@@ -0,0 +1,142 @@
+package dec64;
+
+/**
+ * The per-block loops behind {@link Dec64Arrays} add, subtract, compare and
+ * sum. Each method handles one block of at most {@link #BLOCK} elements: a
+ * branch-free pass checks whether the block can take the fast path, then
+ * either the fast loop over the raw longs or the scalar Basic64 operation
+ * runs over the whole block.
+ *
+ * This is the plain Java 8 version. On Java 17 and later the multi-release
+ * jar also carries VectorKernels, a subclass using jdk.incubator.vector,
+ * which is picked up when that module is present. Both give the same bits.
+ */
+class ArrayKernels {
+
+    // Elements handled at a time. A block of one array is 4 KB, so the two
+    // sources and destination of an element-wise kernel fit in 12 KB of L1
+    // with room to spare. 512 is also the most that sum can take: 2^9
+    // coefficients, each in [-2^54, 2^54), sum exactly in a long
+    final static int BLOCK = 512;
+
+    final static long EXPONENT_MASK = 0xFFL;
+    final static long COEFFICIENT_MASK = ~EXPONENT_MASK;
+    final static long NAN_EXPONENT = 0x80L;
+
+    // A raw value plus SUM_BIAS is non-negative iff its coefficient is in
+    // [-2^54, 2^54), so sums and differences of two cannot overflow, nor
+    // can the sum of a block
+    final static long SUM_BIAS = 1L << 62;
+
+    final static ArrayKernels KERNELS = load();
+
+    private static ArrayKernels load() {
+        try {
+            Class<?> vector = Class.forName("dec64.VectorKernels");
+            return (ArrayKernels) vector.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            // Java 8, or jdk.incubator.vector was not added to the module graph
+            return new ArrayKernels();
+        }
+    }
+
+    void add(long[] a, int ai, long[] b, int bi, long[] dst, int di, int n) {
+        if (alignedBlock(a, ai, b, bi, n)) {
+            for (int i = 0; i < n; i++) {
+                // The addend's exponent byte carries through unchanged
+                dst[di + i] = zeroed((a[ai + i] & COEFFICIENT_MASK) + b[bi + i]);
+            }
+        } else {
+            for (int i = 0; i < n; i++) {
+                dst[di + i] = Basic64.add(a[ai + i], b[bi + i]);
+            }
+        }
+    }
+
+    void subtract(long[] a, int ai, long[] b, int bi, long[] dst, int di, int n) {
+        if (alignedBlock(a, ai, b, bi, n)) {
+            for (int i = 0; i < n; i++) {
+                // The minuend's exponent byte carries through unchanged
+                dst[di + i] = zeroed(a[ai + i] - (b[bi + i] & COEFFICIENT_MASK));
+            }
+        } else {
+            for (int i = 0; i < n; i++) {
+                dst[di + i] = Basic64.subtract(a[ai + i], b[bi + i]);
+            }
+        }
+    }
+
+    void compare(long[] a, int ai, long[] b, int bi, byte[] dst, int di, int n) {
+        if (alignedBlock(a, ai, b, bi, n)) {
+            for (int i = 0; i < n; i++) {
+                long x = a[ai + i];
+                long y = b[bi + i];
+                dst[di + i] = (byte) ((x > y ? 1 : 0) - (x < y ? 1 : 0));
+            }
+        } else {
+            for (int i = 0; i < n; i++) {
+                dst[di + i] = (byte) Basic64.compare(a[ai + i], b[bi + i]);
+            }
+        }
+    }
+
+    /**
+     * Adds a block to a running sum. If every element shares one exponent
+     * the coefficients are summed in a long first, which is exact.
+     */
+    void sum(long[] a, int ai, int n, WideSum into) {
+        if (uniformBlock(a, ai, n)) {
+            long total = 0;
+            for (int i = 0; i < n; i++) {
+                total += a[ai + i] >> 8;
+            }
+            into.add(total, (byte) a[ai]);
+        } else {
+            for (int i = 0; i < n; i++) {
+                into.add(a[ai + i]);
+            }
+        }
+    }
+
+    // True if each pair in the block shares an exponent, nothing is NaN and
+    // every coefficient is in [-2^54, 2^54)
+    static boolean alignedBlock(long[] a, int ai, long[] b, int bi, int n) {
+        long mismatch = 0;
+        long bad = 0;
+        for (int i = 0; i < n; i++) {
+            long x = a[ai + i];
+            long y = b[bi + i];
+            mismatch |= x ^ y;
+            bad |= notNaN(x) | (x + SUM_BIAS) | (y + SUM_BIAS);
+        }
+        return (mismatch & EXPONENT_MASK) == 0 && bad >= 0;
+    }
+
+    // True if the block is not empty, every element has the exponent of the
+    // first, that is not NaN and every coefficient is in [-2^54, 2^54)
+    static boolean uniformBlock(long[] a, int ai, int n) {
+        if (n == 0) {
+            return false;
+        }
+        long first = a[ai];
+        long mismatch = 0;
+        long bad = notNaN(first);
+        for (int i = 0; i < n; i++) {
+            long x = a[ai + i];
+            mismatch |= x ^ first;
+            bad |= x + SUM_BIAS;
+        }
+        return (mismatch & EXPONENT_MASK) == 0 && bad >= 0;
+    }
+
+    // Negative if the number is NaN, otherwise non-negative
+    static long notNaN(long x) {
+        return ((x & EXPONENT_MASK) ^ NAN_EXPONENT) - 1;
+    }
+
+    // Zero coefficients are packed as 0, as Basic64 does
+    static long zeroed(long raw) {
+        long coeff = raw >> 8;
+        return raw & ((coeff | -coeff) >> 63);
+    }
+}
@@ -26,7 +26,6 @@ package dec64;
 import dec64.annotations.DEC64;
 
 import static dec64.Constants64.*;
-import static java.lang.Math.min;
 
 /**
  *
@@ -45,8 +44,42 @@ public final class Basic64 {
 
     private final static byte MAX_DIGITS = 17;
 
-    //numbers are not allowed to use this exponent
-    private final static byte ILLEGAL_EXPO = -128;
+    final static int MAX_EXPONENT = 127;
+    final static int MIN_EXPONENT = -127;
+
+    // Powers of ten that fit in a long - not DEC64 values
+    final static long[] POWERS_OF_TEN = {
+        1L,
+        10L,
+        100L,
+        1_000L,
+        10_000L,
+        100_000L,
+        1_000_000L,
+        10_000_000L,
+        100_000_000L,
+        1_000_000_000L,
+        10_000_000_000L,
+        100_000_000_000L,
+        1_000_000_000_000L,
+        10_000_000_000_000L,
+        100_000_000_000_000L,
+        1_000_000_000_000_000L,
+        10_000_000_000_000_000L,
+        100_000_000_000_000_000L,
+        1_000_000_000_000_000_000L
+    };
+
+    // SCALE_LIMIT[k] is the bound below which a coefficient can be multiplied
+    // by 10^k and still leave room to add another coefficient without
+    // overflowing a long
+    private final static long[] SCALE_LIMIT = new long[POWERS_OF_TEN.length];
+
+    static {
+        for (int i = 0; i < POWERS_OF_TEN.length; i++) {
+            SCALE_LIMIT[i] = (1L << 62) / POWERS_OF_TEN[i];
+        }
+    }
 
     private Basic64() {
     }
@@ -59,7 +92,7 @@ public final class Basic64 {
      * @return
      */
     public static long coefficient(@DEC64 long number) {
-        return number > 0 ? number >> 8 : -(-number >> 8);
+        return number >> 8;
     }
 
     public static byte exponent(@DEC64 long number) {
@@ -78,16 +111,7 @@ public final class Basic64 {
         if (isNaN(number)) {
             return -1;
         }
-        if (isZero(number)) {
-            return 0;
-        }
-        byte out = 0;
-        long coeff = coefficient(abs(number));
-        while (coeff > 0) {
-            coeff = coeff / 10L;
-            out++;
-        }
-        return out;
+        return (byte) digitCount(Math.abs(coefficient(number)));
     }
 
     public static @DEC64
@@ -139,6 +163,35 @@ public final class Basic64 {
         return (coeff << 8) | exponentAsLong(exponent);
     }
 
+    /**
+     * Converts a DEC64 number to the nearest double. Coefficients below 2^53
+     * with exponents from -22 to 22, which covers most prices and
+     * quantities, take the Clinger fast path: one multiply or divide by an
+     * exact power of ten.
+     *
+     * @param number the number
+     * @return the nearest double, or Double.NaN for NaN
+     */
+    public static double toDouble(@DEC64 long number) {
+        return DoubleConversion.toDouble(number);
+    }
+
+    /**
+     * Converts a double to the DEC64 number with the fewest digits that
+     * converts back to the same double, so 0.1 becomes 1e-1 and not the
+     * exact binary value. Where that takes 17 digits that do not fit the
+     * coefficient, the double is instead rounded to 16 digits. Doubles too
+     * small for DEC64 become zero, and infinities and doubles too large
+     * become NaN.
+     *
+     * @param value the double
+     * @return the DEC64 number
+     */
+    public static @DEC64
+    long fromDouble(double value) {
+        return DoubleConversion.fromDouble(value);
+    }
+
     public static @DEC64
     long level(@DEC64 long number) {
         return number & DEC64_COEFFICIENT_MASK;
@@ -149,31 +202,152 @@ public final class Basic64 {
         return of(10 * coefficient(number), (byte) (exponent(number) - 1));
     }
 
+    /**
+     * Packs a signed coefficient and exponent into a DEC64 number. Unlike
+     * {@link #of(long, byte)}, the coefficient may be negative or wider than
+     * 56 bits, in which case excess digits are rounded away (half away from
+     * zero). Exponents outside the legal range are brought back into range
+     * where possible, otherwise the result is NaN.
+     *
+     * @param coeff the coefficient, any long
+     * @param exp the exponent, any int
+     * @return the DEC64 number
+     */
+    static @DEC64
+    long pack(long coeff, int exp) {
+        if (coeff == 0) {
+            return DEC64_ZERO;
+        }
+        int shed = 0;
+        if (!fits(coeff)) {
+            // At most three digits need to be shed from a 64 bit value
+            shed = 1;
+            while (!fits(coeff / POWERS_OF_TEN[shed])) {
+                shed++;
+            }
+        }
+        if (exp + shed < MIN_EXPONENT) {
+            // Below the least exponent fewer digits are kept, and they are
+            // all rounded away at once
+            shed = MIN_EXPONENT - exp;
+            if (shed > POWERS_OF_TEN.length) {
+                return DEC64_ZERO;
+            }
+            if (shed == POWERS_OF_TEN.length) {
+                // Truncating a digit first rounds the same
+                coeff /= 10L;
+                exp++;
+                shed--;
+            }
+        }
+        if (shed > 0) {
+            coeff = roundDivide(coeff, POWERS_OF_TEN[shed]);
+            exp += shed;
+            if (coeff == 0) {
+                return DEC64_ZERO;
+            }
+            if (!fits(coeff)) {
+                coeff = roundDivide(coeff, 10L);
+                exp++;
+            }
+        }
+        if (exp > MAX_EXPONENT) {
+            // Trade exponent for coefficient digits if there is room
+            while (exp > MAX_EXPONENT) {
+                long scaled = coeff * 10L;
+                if (!fits(scaled)) {
+                    return DEC64_NAN;
+                }
+                coeff = scaled;
+                exp--;
+            }
+        }
+        return (coeff << 8) | (exp & DEC64_EXPONENT_MASK);
+    }
+
+    private static boolean fits(long coeff) {
+        return coeff <= DEC64_MAX_COEFFICIENT && coeff >= DEC64_MIN_COEFFICIENT;
+    }
+
+    // Divides, rounding half away from zero, as DEC64 does
+    static long roundDivide(long value, long divisor) {
+        long quotient = value / divisor;
+        long remainder = value - quotient * divisor;
+        if (Math.abs(remainder) >= divisor - Math.abs(remainder)) {
+            quotient += value < 0 ? -1 : 1;
+        }
+        return quotient;
+    }
+
+    /**
+     * Returns the number of decimal digits in a non-negative coefficient, 0
+     * for 0. The bit length gives the digit count to within one, and a
+     * single table lookup settles it.
+     */
+    static int digitCount(long magnitude) {
+        int bits = 64 - Long.numberOfLeadingZeros(magnitude);
+        // 1233 / 4096 is just under log10(2)
+        int d = (bits * 1233) >>> 12;
+        return magnitude >= POWERS_OF_TEN[d] ? d + 1 : d;
+    }
+
+    // The number of decimal digits a coefficient can be scaled up by before
+    // it reaches SCALE_LIMIT
+    private static int headroom(long coeff) {
+        long magnitude = Math.abs(coeff);
+        // 10^(18 - d) always fits as SCALE_LIMIT[k] > 4 * 10^(18 - k)
+        int k = 18 - digitCount(magnitude);
+        if (k + 1 < SCALE_LIMIT.length && magnitude < SCALE_LIMIT[k + 1]) {
+            k++;
+        }
+        return k;
+    }
+
+    /**
+     * Returns the representation of a number with its exponent as close to
+     * zero as possible without losing significance. Trailing zeros are
+     * stripped from a negative exponent's coefficient in at most five steps
+     * (10^16, 10^8, 10^4, 10^2, 10^1); a positive exponent is traded for
+     * coefficient digits in one multiply. Zero is always 0.
+     *
+     * @param number a DEC64 number
+     * @return the canonical form, or NaN if number is NaN
+     */
     public static @DEC64
     long canonical(@DEC64 long number) {
         if (isNaN(number)) {
             return DEC64_NAN;
         }
-        byte exp = exponent(number);
-        if (exp == 127 || exp == 0) {
+        long coeff = coefficient(number);
+        if (coeff == 0) {
+            return DEC64_ZERO;
+        }
+        int exp = exponent(number);
+        if (exp == 0) {
             return number;
         }
-
-        long out = number;
-        long coeff = coefficient(number);
         if (exp > 0) {
-            while (exp > 0 && coeff < DEC64_MAX_COEFFICIENT) {
-                out = of(10 * coeff, --exp);
-                coeff = coefficient(out);
+            long magnitude = Math.abs(coeff);
+            // 16 - d digits always fit, and maybe one more
+            int k = 16 - digitCount(magnitude);
+            if (magnitude * POWERS_OF_TEN[k + 1] <= DEC64_MAX_COEFFICIENT) {
+                k++;
             }
-        } else {
-            while (exp < 0 && coeff % 10 == 0) {
-                out = of(coeff / 10L, ++exp);
-                coeff = coefficient(out);
+            if (k <= 0) {
+                // Already as wide as it can be; -2^55 is the only coefficient
+                // with no room at all, and would index POWERS_OF_TEN[-1]
+                return number;
             }
+            k = Math.min(k, exp);
+            return (coeff * POWERS_OF_TEN[k] << 8) | ((exp - k) & DEC64_EXPONENT_MASK);
         }
-
-        return out;
+        for (int step = 16; step > 0; step >>= 1) {
+            if (step <= -exp && coeff % POWERS_OF_TEN[step] == 0) {
+                coeff /= POWERS_OF_TEN[step];
+                exp += step;
+            }
+        }
+        return (coeff << 8) | (exp & DEC64_EXPONENT_MASK);
     }
 
     public static boolean isNaN(@DEC64 long number) {
@@ -196,187 +370,396 @@ public final class Basic64 {
         if (isNaN(a) || isNaN(b)) {
             return false; // NaN != NaN
         }
-        byte expa = exponent(a);
-        byte expb = exponent(b);
-        if (expa == expb) {
-            return coefficient(a) == coefficient(b);
-        }
-
-        // Slow path - first reduce the smaller exponent
-        if (expa > expb) {
-            @DEC64
-            long lastA = a;
-            while (!isNaN(a)) {
-                lastA = a;
-                a = reduceExponent(a);
-                if (exponent(a) == expb) {
-                    return coefficient(a) == coefficient(b);
-                }
-            }
-        } else {
-            @DEC64
-            long lastB = b;
-            while (!isNaN(b)) {
-                lastB = b;
-                b = reduceExponent(b);
-                if (exponent(b) == expa) {
-                    return coefficient(a) == coefficient(b);
-                }
-            }
-        }
-
-        return false;
+        return compare(a, b) == 0;
     }
 
+    /**
+     * Adds two DEC64 numbers. The operand with the larger exponent has its
+     * coefficient scaled down to the other exponent in a single step. If that
+     * would overflow, it is scaled as far as it will go and the excess digits
+     * of the other operand are rounded away instead.
+     *
+     * @param a the augend
+     * @param b the addend
+     * @return the sum, or NaN if either operand is NaN or the sum overflows
+     */
     public static @DEC64
     long add(@DEC64 long a, @DEC64 long b) {
         if (isNaN(a) || isNaN(b)) {
             return DEC64_NAN;
         }
-        byte expa = exponent(a);
-        byte expb = exponent(b);
-        if (expa == expb) {
-            long coeff = coefficient(a) + coefficient(b);
-            return of(coeff, expa);
-        }
-
-        // Slow path - first reduceExponent the smaller exponent
-        if (expa > expb) {
-            @DEC64
-            long lastA = a;
-            while (!isNaN(a)) {
-                lastA = a;
-                a = reduceExponent(a);
-                if (exponent(a) == expb) {
-                    long coeff = coefficient(a) + coefficient(b);
-                    return of(coeff, expb);
-                }
-            }
-            // Have tried & failed to match by reducing a's exponent.
-            // Now we must try to inflate b's exponent to match
-            a = lastA;
-        } else {
-            @DEC64
-            long lastB = b;
-            while (!isNaN(b)) {
-                lastB = b;
-                b = reduceExponent(b);
-                if (exponent(b) == expa) {
-                    long coeff = coefficient(a) + coefficient(b);
-                    return of(coeff, expa);
-                }
-            }
-
-        }
-
-        return 0;
+        return sum(coefficient(a), exponent(a), coefficient(b), exponent(b));
     }
 
+    /**
+     * Subtracts one DEC64 number from another, aligning exponents as
+     * {@link #add(long, long)} does.
+     *
+     * @param a the minuend
+     * @param b the subtrahend
+     * @return the difference, or NaN if either operand is NaN or the
+     * difference overflows
+     */
     public static @DEC64
     long subtract(@DEC64 long a, @DEC64 long b) {
         if (isNaN(a) || isNaN(b)) {
             return DEC64_NAN;
         }
-        a = canonical(a);
-        b = canonical(b);
-        byte expa = exponent(a);
-        byte expb = exponent(b);
+        // Negating the coefficient cannot overflow a long
+        return sum(coefficient(a), exponent(a), -coefficient(b), exponent(b));
+    }
+
+    // Adds two coefficients of at most 56 bits (or 2^55 itself) at their exponents
+    private static @DEC64
+    long sum(long coeffa, int expa, long coeffb, int expb) {
         if (expa == expb) {
-            long coeff = coefficient(a) - coefficient(b);
-            if (overflow(coeff)) {
-                return DEC64_NAN;
-            }
-            return of(coeff, expa);
+            return pack(coeffa + coeffb, expa);
         }
-        if (expa > expb) {
-            long coeffa = coefficient(a);
-            for (int i = 0; i < (expa - expb); i++) {
-                // FIXME Implement overflow case
-                coeffa *= 10;
-            }
-            return of(coeffa - coefficient(b), expb);
-        } else {
-            long coeffb = coefficient(b);
-            for (int i = 0; i < (expb - expa); i++) {
-                // FIXME Implement overflow case
-                coeffb *= 10;
-            }
-            return of(coeffb - coefficient(a), expa);
+
+        // Make a the operand with the larger exponent
+        if (expa < expb) {
+            long tmp = coeffa;
+            coeffa = coeffb;
+            coeffb = tmp;
+            int tmpExp = expa;
+            expa = expb;
+            expb = tmpExp;
+        }
+        if (coeffa == 0) {
+            return pack(coeffb, expb);
+        }
+        if (coeffb == 0) {
+            return pack(coeffa, expa);
+        }
+
+        int diff = expa - expb;
+        if (diff < SCALE_LIMIT.length && Math.abs(coeffa) < SCALE_LIMIT[diff]) {
+            return pack(coeffa * POWERS_OF_TEN[diff] + coeffb, expb);
+        }
+
+        // Alignment would overflow - scale a as far as possible and drop the
+        // excess digits of b. The scaled a is wider than 56 bits, so pack
+        // always rounds the sum; truncating it toward zero here first (the
+        // sum has the sign of a) means that is the only rounding.
+        int k = headroom(coeffa);
+        coeffa *= POWERS_OF_TEN[k];
+        expa -= k;
+        diff -= k;
+        long q = 0;
+        long r = coeffb;
+        if (diff < POWERS_OF_TEN.length) {
+            q = coeffb / POWERS_OF_TEN[diff];
+            r = coeffb - q * POWERS_OF_TEN[diff];
+        }
+        if (coeffa > 0 && r < 0) {
+            q--;
+        } else if (coeffa < 0 && r > 0) {
+            q++;
         }
+        return pack(coeffa + q, expa);
     }
 
+    /**
+     * Multiplies two DEC64 numbers. Small coefficients are multiplied
+     * directly; otherwise the full 128 bit product is formed and scaled back
+     * down to a 56 bit coefficient with a single rounding (half away from
+     * zero).
+     *
+     * @param a the multiplicand
+     * @param b the multiplier
+     * @return the product, or NaN if either operand is NaN or the product
+     * overflows
+     */
     public static @DEC64
     long multiply(@DEC64 long a, @DEC64 long b) {
         if (isNaN(a) || isNaN(b)) {
             return DEC64_NAN;
         }
-        final long coeff = coefficient(a) * coefficient(b);
-        if (overflow(coeff)) {
-            return DEC64_NAN;
+        final long coeffa = coefficient(a);
+        final long coeffb = coefficient(b);
+        final int exp = exponent(a) + exponent(b);
+        final long absa = Math.abs(coeffa);
+        final long absb = Math.abs(coeffb);
+
+        // Fast path - both coefficients fit in 31 bits so the product fits in a long
+        if ((absa | absb) <= Integer.MAX_VALUE) {
+            return pack(coeffa * coeffb, exp);
         }
-        return of(coeff, (byte) (exponent(a) + exponent(b)));
+        final long hi = Int128.multiplyHigh(absa, absb);
+        final long lo = absa * absb;
+        if (hi == 0 && lo >= 0) {
+            return pack((coeffa ^ coeffb) < 0 ? -lo : lo, exp);
+        }
+        return packWide(hi, lo, (coeffa ^ coeffb) < 0, exp);
     }
 
     /**
+     * Returns a * b + c with a single rounding. The 128 bit product is kept
+     * exact and c is added to it before the result is packed.
      *
-     * @param a
-     * @param b
-     * @return
+     * @param a the multiplicand
+     * @param b the multiplier
+     * @param c the addend
+     * @return a * b + c, or NaN if any operand is NaN or the result overflows
      */
     public static @DEC64
-    long divide(@DEC64 long a, @DEC64 long b) {
-        if (isNaN(a) || isNaN(b)) {
+    long fma(@DEC64 long a, @DEC64 long b, @DEC64 long c) {
+        return fused(a, b, c, false);
+    }
+
+    /**
+     * Returns a * b - c with a single rounding. The 128 bit product is kept
+     * exact and c is subtracted from it before the result is packed.
+     *
+     * @param a the multiplicand
+     * @param b the multiplier
+     * @param c the subtrahend
+     * @return a * b - c, or NaN if any operand is NaN or the result overflows
+     */
+    public static @DEC64
+    long fms(@DEC64 long a, @DEC64 long b, @DEC64 long c) {
+        return fused(a, b, c, true);
+    }
+
+    private static @DEC64
+    long fused(@DEC64 long a, @DEC64 long b, @DEC64 long c, boolean subtract) {
+        if (isNaN(a) || isNaN(b) || isNaN(c)) {
             return DEC64_NAN;
         }
-        if (coefficient(b) == 0) {
-            return DEC64_NAN;
+        final long coeffa = coefficient(a);
+        final long coeffb = coefficient(b);
+        final long coeffc = coefficient(c);
+        if (coeffc == 0) {
+            return multiply(a, b);
         }
+        final boolean negc = (coeffc < 0) != subtract;
+        if (coeffa == 0 || coeffb == 0) {
+            return pack(negc ? -Math.abs(coeffc) : Math.abs(coeffc), exponent(c));
+        }
+        final long absa = Math.abs(coeffa);
+        final long absb = Math.abs(coeffb);
+        return addWide(Int128.multiplyHigh(absa, absb), absa * absb,
+                (coeffa ^ coeffb) < 0, exponent(a) + exponent(b),
+                0L, Math.abs(coeffc), negc, exponent(c));
+    }
+
+    /**
+     * Adds two signed 128 bit coefficients, each given as a magnitude below
+     * 2^120 plus a sign, with their exponents, and packs the sum with a
+     * single rounding. Both magnitudes must be non-zero.
+     *
+     * As in {@link #add(long, long)}, the operand with the larger exponent is
+     * scaled down to the other's exponent if it can be, staying below 2^124.
+     * Otherwise the excess digits of the other operand are truncated so that
+     * the sum is truncated toward zero, which the final rounding corrects.
+     */
+    static @DEC64
+    long addWide(long ahi, long alo, boolean aneg, int aexp,
+            long bhi, long blo, boolean bneg, int bexp) {
+        if (aexp < bexp) {
+            long t = ahi;
+            ahi = bhi;
+            bhi = t;
+            t = alo;
+            alo = blo;
+            blo = t;
+            boolean tn = aneg;
+            aneg = bneg;
+            bneg = tn;
+            int te = aexp;
+            aexp = bexp;
+            bexp = te;
+        }
+        int diff = aexp - bexp;
+        int k = Math.min(diff, ((124 - bitLength(ahi, alo)) * 1233) >>> 12);
+        aexp -= k;
+        diff -= k;
+        while (k > 0) {
+            int step = Math.min(k, 18);
+            long m = POWERS_OF_TEN[step];
+            ahi = ahi * m + Int128.multiplyHighUnsigned(alo, m);
+            alo = alo * m;
+            k -= step;
+        }
+        boolean inexact = false;
+        while (diff > 0 && (bhi | blo) != 0) {
+            int step = Math.min(diff, 18);
+            long d = POWERS_OF_TEN[step];
+            long qhi = bhi / d;
+            long qlo = Int128.divideUnsigned(bhi - qhi * d, blo, d);
+            inexact |= blo - qlo * d != 0;
+            bhi = qhi;
+            blo = qlo;
+            diff -= step;
+        }
+        long hi;
+        long lo;
+        boolean neg = aneg;
+        if (aneg == bneg) {
+            lo = alo + blo;
+            hi = ahi + bhi + (Long.compareUnsigned(lo, alo) < 0 ? 1L : 0L);
+        } else {
+            if (inexact) {
+                // b was truncated, so round its magnitude up to truncate the sum
+                blo++;
+                if (blo == 0) {
+                    bhi++;
+                }
+            }
+            if (ahi > bhi || (ahi == bhi && Long.compareUnsigned(alo, blo) >= 0)) {
+                lo = alo - blo;
+                hi = ahi - bhi - (Long.compareUnsigned(alo, blo) < 0 ? 1L : 0L);
+            } else {
+                lo = blo - alo;
+                hi = bhi - ahi - (Long.compareUnsigned(blo, alo) < 0 ? 1L : 0L);
+                neg = bneg;
+            }
+        }
+        if (hi == 0 && lo >= 0) {
+            return pack(neg ? -lo : lo, aexp);
+        }
+        return packWide(hi, lo, neg, aexp);
+    }
 
-        @DEC64
-        long recip = reciprocal(of(coefficient(b), 0));
+    private static int bitLength(long hi, long lo) {
+        return hi != 0 ? 128 - Long.numberOfLeadingZeros(hi) : 64 - Long.numberOfLeadingZeros(lo);
+    }
 
-        return multiply(of(coefficient(a), exponent(a) - exponent(b)), recip);
+    /**
+     * Packs a non-negative 128 bit coefficient {@code hi:lo} and an exponent
+     * into a DEC64 number, rounding once. {@code hi} must be non-zero and
+     * below 2^63.
+     *
+     * The bit length gives a power of ten that leaves a quotient of 55 to 62
+     * bits. If that still does not fit, the last one or two digits are shed
+     * from the truncated quotient; as the division truncated to an integer,
+     * rounding those digits is the same as rounding the full value. Results
+     * below exponent -127 divide by a larger power of ten instead, so they
+     * too are rounded only once.
+     */
+    static @DEC64
+    long packWide(long hi, long lo, boolean negative, int exp) {
+        int bits = 128 - Long.numberOfLeadingZeros(hi);
+        // 1233 / 4096 is just under log10(2)
+        int k = ((bits - 55) * 1233) >>> 12;
+        if (exp + k < MIN_EXPONENT) {
+            // Below the least exponent fewer digits are kept, so they are
+            // divided away here and rounded once, rather than again by pack
+            k = MIN_EXPONENT - exp;
+            if (k > 38) {
+                // hi:lo is below 2^127, under a fifth of 10^39
+                return DEC64_ZERO;
+            }
+        }
+        while (k >= POWERS_OF_TEN.length) {
+            // Truncate the excess digits first, leaving 10^18 to divide by
+            int drop = Math.min(k - 18, 18);
+            long d = POWERS_OF_TEN[drop];
+            long qhi = hi / d;
+            lo = Int128.divideUnsigned(hi - qhi * d, lo, d);
+            hi = qhi;
+            exp += drop;
+            k -= drop;
+        }
+        long divisor = POWERS_OF_TEN[k];
+        long q = Int128.divideUnsigned(hi, lo, divisor);
+        if (q > DEC64_MAX_COEFFICIENT) {
+            int shed = q / 10L > DEC64_MAX_COEFFICIENT ? 2 : 1;
+            q = roundDivide(q, POWERS_OF_TEN[shed]);
+            k += shed;
+        } else {
+            long r = lo - q * divisor;
+            if (r >= divisor - r) {
+                q++;
+            }
+        }
+        return pack(negative ? -q : q, exp + k);
     }
 
+    /**
+     * Divides two DEC64 numbers. Exact integer quotients are returned
+     * directly. Otherwise the dividend's coefficient is scaled into a 128 bit
+     * numerator with enough digits for a full precision quotient, which is
+     * found with a single long division and rounded once (half away from
+     * zero).
+     *
+     * @param a the dividend
+     * @param b the divisor
+     * @return the quotient, or NaN if either operand is NaN, the divisor is
+     * zero or the quotient overflows
+     */
     public static @DEC64
-    long reciprocal(@DEC64 long r) {
-        if (isNaN(r) || coefficient(r) == 0) {
+    long divide(@DEC64 long a, @DEC64 long b) {
+        if (isNaN(a) || isNaN(b)) {
             return DEC64_NAN;
         }
-
-        byte digits = digits(r);
-        if (digits < 1) {
+        final long coeffa = coefficient(a);
+        final long coeffb = coefficient(b);
+        if (coeffb == 0) {
             return DEC64_NAN;
         }
+        final int exp = exponent(a) - exponent(b);
 
-        byte exp = exponent(r);
-        long coeff = coefficient(r);
-        long numerator = 1L;
-        for (byte b = 0; b < digits - 1; b++) {
-            numerator *= 10;
+        // Fast path - the quotient is an exact integer
+        long q = coeffa / coeffb;
+        if (q * coeffb == coeffa) {
+            return pack(q, exp);
         }
 
-        long ratio = numerator / coeff;
-        long remainder = numerator % coeff;
-        long outCoeff = ratio;
-
-        MAIN:
-        while (remainder > 0) {
-            while (remainder < coeff) {
-                if (outCoeff * 10 > DEC64_MAX_COEFFICIENT) {
-                    break MAIN;
-                }
-                outCoeff *= 10;
-                remainder *= 10;
-                exp++; // ????
+        final long absa = Math.abs(coeffa);
+        final long absb = Math.abs(coeffb);
+        // Scale so the quotient has 17 or 18 digits, i.e. is in [10^16, 10^18)
+        int scale = 17 - digitCount(absa) + digitCount(absb);
+        // Below the least exponent fewer digits are kept, so the quotient is
+        // rounded there, once, rather than again by pack
+        scale = Math.min(scale, exp - MIN_EXPONENT);
+        final boolean negative = (coeffa ^ coeffb) < 0;
+        if (scale < 0) {
+            // Rounded at or above the units digit; truncating the division
+            // first rounds the same, as powers of ten are even
+            if (-scale >= POWERS_OF_TEN.length) {
+                return DEC64_ZERO;
             }
-            ratio = remainder / coeff;
-            remainder = remainder % coeff;
-
-            outCoeff += ratio;
+            q = roundDivide(absa / absb, POWERS_OF_TEN[-scale]);
+            return pack(negative ? -q : q, exp - scale);
+        }
+        long hi;
+        long lo;
+        if (scale < POWERS_OF_TEN.length) {
+            hi = Int128.multiplyHigh(absa, POWERS_OF_TEN[scale]);
+            lo = absa * POWERS_OF_TEN[scale];
+        } else {
+            long partial = absa * POWERS_OF_TEN[scale - 18];
+            hi = Int128.multiplyHigh(partial, POWERS_OF_TEN[18]);
+            lo = partial * POWERS_OF_TEN[18];
         }
+        // The quotient is below 10^18, so hi < absb as divideUnsigned requires
+        q = Int128.divideUnsigned(hi, lo, absb);
+        // A negative quotient may be as large as 2^55
+        final long bound = negative ? -DEC64_MIN_COEFFICIENT : DEC64_MAX_COEFFICIENT;
+        if (q > bound) {
+            // q is truncated, so rounding the shed digits rounds the true quotient
+            int shed = q / 10L > bound ? 2 : 1;
+            q = roundDivide(q, POWERS_OF_TEN[shed]);
+            scale -= shed;
+        } else {
+            long r = lo - q * absb;
+            if (r >= absb - r) {
+                q++;
+            }
+        }
+        return pack(negative ? -q : q, exp - scale);
+    }
 
-        return of(outCoeff, -(exp + digits - 1));
+    /**
+     * Returns the reciprocal of a DEC64 number, 1 / r.
+     *
+     * @param r the number
+     * @return the reciprocal, or NaN if r is NaN or zero
+     */
+    public static @DEC64
+    long reciprocal(@DEC64 long r) {
+        return divide(DEC64_ONE, r);
     }
 
     public static @DEC64
@@ -384,15 +767,11 @@ public final class Basic64 {
         if (isNaN(number)) {
             return DEC64_NAN;
         }
-        @DEC64
         long coeff = coefficient(number);
         if (coeff >= 0) {
             return number;
         }
-        if (coeff > DEC64_MIN_COEFFICIENT) {
-            return of(-coeff, exponent(number));
-        }
-        return DEC64_NAN;
+        return pack(-coeff, exponent(number));
     }
 
     public static @DEC64
@@ -454,17 +833,20 @@ public final class Basic64 {
         if (isNaN(number)) {
             return DEC64_NAN;
         }
-        @DEC64
-        long coeff = coefficient(number);
-        if (coeff > DEC64_MIN_COEFFICIENT) {
-            return of(-coeff, exponent(number));
-        }
-        return DEC64_NAN;
+        return pack(-coefficient(number), exponent(number));
     }
 
     ////////////////////////////////////////////////////////
-    public static long normal(long number) {
-        return DEC64_NAN;
+    /**
+     * Makes the exponent as close to zero as possible without losing any
+     * significance - the same as {@link #canonical(long)}.
+     *
+     * @param number a DEC64 number
+     * @return the normalized number, or NaN if number is NaN
+     */
+    public static @DEC64
+    long normal(@DEC64 long number) {
+        return canonical(number);
     }/* normalization */
 
 
@@ -506,53 +888,143 @@ public final class Basic64 {
 
 
     /**
-     * Compare two dec64 numbers. If the first is less than the second, return
-     * true, otherwise return false. Any nan value is greater than any number
-     * value.
+     * Compares two DEC64 numbers numerically, so that e.g. 1.0 and 1.00 are
+     * equal. This is a total order: all NaN values are equal to each other
+     * and greater than any number, which makes it suitable for sorting.
+     *
+     * When the exponents differ the coefficient with the larger exponent is
+     * scaled by an exact power of ten. If that would overflow, its magnitude
+     * already exceeds any coefficient, so the signs decide.
      *
      * @param x left hand number
      * @param y right hand number
-     * @return boolean
+     * @return -1, 0 or 1 as x is less than, equal to or greater than y
      */
-    public static boolean less(@DEC64 long x, @DEC64 long y) {
-        byte ex = exponent(x);
-        byte ey = exponent(y);
-
-        // If the exponents are the same, then do a simple compare.
+    public static int compare(@DEC64 long x, @DEC64 long y) {
+        boolean nanx = isNaN(x);
+        boolean nany = isNaN(y);
+        if (nanx || nany) {
+            return nanx == nany ? 0 : (nanx ? 1 : -1);
+        }
+        int ex = exponent(x);
+        int ey = exponent(y);
+        long cx = coefficient(x);
+        long cy = coefficient(y);
         if (ex == ey) {
-            return ex != ILLEGAL_EXPO && (coefficient(x) < coefficient(y));
+            return Long.compare(cx, cy);
         }
-
-        if (ex == ILLEGAL_EXPO || ey == ILLEGAL_EXPO) {
-            return false;
+        // Differing signs, or a zero, decide without scaling
+        if (cx == 0 || cy == 0 || (cx ^ cy) < 0) {
+            return Long.compare(Long.signum(cx), Long.signum(cy));
         }
+        if (ex > ey) {
+            int diff = ex - ey;
+            if (diff < SCALE_LIMIT.length && Math.abs(cx) < SCALE_LIMIT[diff]) {
+                return Long.compare(cx * POWERS_OF_TEN[diff], cy);
+            }
+            return cx > 0 ? 1 : -1;
+        } else {
+            int diff = ey - ex;
+            if (diff < SCALE_LIMIT.length && Math.abs(cy) < SCALE_LIMIT[diff]) {
+                return Long.compare(cx, cy * POWERS_OF_TEN[diff]);
+            }
+            return cy > 0 ? -1 : 1;
+        }
+    }
 
-        x = x >> 8;
-        y = y >> 8;
+    /**
+     * Maps a number to a key whose unsigned order is the order of
+     * {@link #compare}: Long.compareUnsigned(sortKey(x), sortKey(y)) has the
+     * sign of compare(x, y). Equal numbers, such as 1.0 and 1.00, have the
+     * same key, and every NaN has the greatest key, -1.
+     *
+     * @param number a DEC64 number
+     * @return its sort key
+     */
+    public static long sortKey(@DEC64 long number) {
+        return SortKeys.sortKey(number);
+    }
 
-        int ediff = ex - ey;
-        if (ediff > 0) {
-            //make them conform before compare
-            long x_scaled = scale(x, ediff);
+    /**
+     * Returns the number with a sort key, in canonical form. A key that no
+     * number has gives NaN.
+     *
+     * @param key a key from {@link #sortKey(long)}
+     * @return the canonical number with that key
+     */
+    public static @DEC64
+    long fromSortKey(long key) {
+        return SortKeys.fromSortKey(key);
+    }
 
-            @DEC64
-            long x_high = x_scaled >> 64;
-            // in the case of overflow check the sign of higher 64-bit half;
-            // otherwise compare numbers with equalized exponents
-            return (x_high == x_scaled) ? x_scaled < y : x_high < 0;
-        } else {
-            long y_scaled = scale(y, -ediff);
+    /**
+     * Writes the sort key of a number as 8 bytes, most significant first, so
+     * that unsigned lexicographic order of the bytes, as in most index
+     * structures, is the order of {@link #compare}.
+     *
+     * @param number a DEC64 number
+     * @param dst where to write the key
+     * @param offset the index of its first byte
+     * @throws ArrayIndexOutOfBoundsException if the 8 bytes do not fit
+     */
+    public static void sortKey(@DEC64 long number, byte[] dst, int offset) {
+        SortKeys.sortKey(number, dst, offset);
+    }
 
-            @DEC64
-            long y_high = y_scaled >> 64;
-            return (y_high == y_scaled) ? x < y_scaled : y_high >= 0;
+    /**
+     * Reads a key written by {@link #sortKey(long, byte[], int)}.
+     *
+     * @param src the bytes
+     * @param offset the index of the first byte of the key
+     * @return the canonical number with that key
+     * @throws ArrayIndexOutOfBoundsException if the 8 bytes are not there
+     */
+    public static @DEC64
+    long fromSortKey(byte[] src, int offset) {
+        return SortKeys.fromSortKey(src, offset);
+    }
+
+    /**
+     * Compare two dec64 numbers. If the first is less than the second, return
+     * true, otherwise return false. If either is NaN, return false.
+     *
+     * @param x left hand number
+     * @param y right hand number
+     * @return boolean
+     */
+    public static boolean less(@DEC64 long x, @DEC64 long y) {
+        return !isNaN(x) && !isNaN(y) && compare(x, y) < 0;
+    }
+
+    /**
+     * Returns the smaller of two DEC64 numbers. If either is NaN the result
+     * is NaN, as with Math.min.
+     *
+     * @param x a number
+     * @param y another number
+     * @return the smaller of x and y
+     */
+    public static @DEC64
+    long min(@DEC64 long x, @DEC64 long y) {
+        if (isNaN(x) || isNaN(y)) {
+            return DEC64_NAN;
         }
+        return compare(x, y) <= 0 ? x : y;
     }
 
-    //Multiply coefficient by 10^(first exponent - second exponent)
-    private static long scale(long coeff, int ediff) {
-        //maximum coefficient is 36028797018963967. 10^18 is more
-        int exp = min(ediff, 18);
-        return (long) (coeff * Math.pow(10, exp));
+    /**
+     * Returns the larger of two DEC64 numbers. If either is NaN the result
+     * is NaN, as with Math.max.
+     *
+     * @param x a number
+     * @param y another number
+     * @return the larger of x and y
+     */
+    public static @DEC64
+    long max(@DEC64 long x, @DEC64 long y) {
+        if (isNaN(x) || isNaN(y)) {
+            return DEC64_NAN;
+        }
+        return compare(x, y) >= 0 ? x : y;
     }
 }
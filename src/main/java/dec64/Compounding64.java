@@ -0,0 +1,104 @@
+package dec64;
+
+import dec64.annotations.DEC64;
+
+import static dec64.Basic64.*;
+import static dec64.Constants64.DEC64_ONE;
+
+/**
+ * The growth factors (1 + r)^n of a rate r per period, such as a monthly
+ * interest rate, tabulated for every n up to a number of periods so that
+ * compounding over any of them is one lookup and one multiply.
+ *
+ * Each factor, and each discount factor (1 + r)^-n, is computed when the
+ * table is made by {@link Math64#raise}, so it is exactly the number
+ * Math64.raise(1 + r, n) returns and is rounded only once. Periods beyond
+ * the table are computed the same way when asked for.
+ */
+public final class Compounding64 {
+
+    private final @DEC64 long rate;
+    // 1 + rate
+    private final @DEC64 long growth;
+    private final @DEC64 long[] factors;
+    private final @DEC64 long[] discounts;
+
+    private Compounding64(@DEC64 long rate, int periods) {
+        this.rate = rate;
+        growth = add(DEC64_ONE, rate);
+        factors = new long[periods + 1];
+        discounts = new long[periods + 1];
+        for (int n = 0; n <= periods; n++) {
+            factors[n] = Power64.raise(growth, n);
+            discounts[n] = Power64.raise(growth, -n);
+        }
+    }
+
+    /**
+     * Returns the table for a rate per period, so of(of(5, -3), 360) holds
+     * the factors of 0.5% a month over thirty years.
+     *
+     * @param rate the rate per period, r
+     * @param periods the last period in the table
+     * @return the table of (1 + r)^n and (1 + r)^-n for n from 0 to periods
+     * @throws IllegalArgumentException if periods is negative
+     */
+    public static Compounding64 of(@DEC64 long rate, int periods) {
+        if (periods < 0) {
+            throw new IllegalArgumentException("periods " + periods);
+        }
+        return new Compounding64(rate, periods);
+    }
+
+    /**
+     * @return the rate per period
+     */
+    public @DEC64 long rate() {
+        return rate;
+    }
+
+    /**
+     * @return the last period in the table
+     */
+    public int periods() {
+        return factors.length - 1;
+    }
+
+    /**
+     * Returns the growth factor over a number of periods.
+     *
+     * @param n the number of periods, which may be negative
+     * @return (1 + r)^n, as {@link Math64#raise}
+     */
+    public @DEC64 long factor(int n) {
+        if (n >= 0 && n < factors.length) {
+            return factors[n];
+        }
+        if (n < 0 && n > -discounts.length) {
+            return discounts[-n];
+        }
+        return Power64.raise(growth, n);
+    }
+
+    /**
+     * Returns the discount factor over a number of periods, the present
+     * value of one paid n periods from now.
+     *
+     * @param n the number of periods, which may be negative
+     * @return (1 + r)^-n, as {@link Math64#raise}
+     */
+    public @DEC64 long discount(int n) {
+        return factor(-n);
+    }
+
+    /**
+     * Compounds an amount over a number of periods.
+     *
+     * @param amount a DEC64 number
+     * @param n the number of periods, which may be negative
+     * @return amount * (1 + r)^n
+     */
+    public @DEC64 long compound(@DEC64 long amount, int n) {
+        return multiply(amount, factor(n));
+    }
+}
@@ -1,50 +1,315 @@
 package dec64;
 
 import dec64.annotations.DEC64;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+
+import static dec64.Constants64.DEC64_NAN;
 
 /**
  * The immutable boxed form of a DEC64 number - needed for generics etc.
- * 
+ *
+ * Equality is numeric, as for {@link Basic64#compare}: 1.0 and 1.00 are
+ * equal and hash alike, so either finds the other in a HashMap, and all NaN
+ * values are equal to each other. The box still keeps the exact
+ * representation it was made from, which {@link #dec64Value()} returns.
+ * This is unlike BigDecimal, whose equals also compares the scale.
+ *
  * @author kittylyst
  */
-public final class Dec64 extends Number {
-    
+public final class Dec64 extends Number implements Comparable<Dec64> {
+
+    private static final long serialVersionUID = 1L;
+
     private final @DEC64 long value;
-    
+
     private Dec64(@DEC64 long v) {
         value = v;
     }
-    
+
+    /**
+     * Returns a Dec64 holding a DEC64 number, as {@link #valueOf(long)}.
+     *
+     * @param v the number
+     * @return the box
+     */
     public static Dec64 of(@DEC64 long v) {
-        return new Dec64(v);
+        return valueOf(v);
     }
-    
+
     public static Dec64 of(long coeff, byte exponent) {
-        return new Dec64(Basic64.of(coeff, exponent));
+        return valueOf(Basic64.of(coeff, exponent));
+    }
+
+    /**
+     * Returns a Dec64 holding a DEC64 number. As with Long.valueOf, common
+     * values come from a cache rather than being allocated each time: the
+     * integers from -128 to 1023, and amounts in cents (an exponent of -2)
+     * from 0.00 to 99.99, each in exactly that representation, and
+     * Constants64.DEC64_NAN.
+     *
+     * @param number the number
+     * @return the box
+     */
+    public static Dec64 valueOf(@DEC64 long number) {
+        long coeff = number >> 8;
+        int exp = (byte) number;
+        if (exp == 0 && coeff >= Cache.INTEGER_LOW && coeff <= Cache.INTEGER_HIGH) {
+            return Cache.INTEGERS[(int) coeff - Cache.INTEGER_LOW];
+        }
+        if (exp == -2 && coeff >= 0 && coeff < Cache.CENTS_SIZE) {
+            Dec64 cached = Cache.CENTS[(int) coeff];
+            if (cached == null) {
+                // Racing threads may each create one; the box is immutable,
+                // so any of them will do
+                cached = new Dec64(number);
+                Cache.CENTS[(int) coeff] = cached;
+            }
+            return cached;
+        }
+        if (number == DEC64_NAN) {
+            return Cache.NAN;
+        }
+        return new Dec64(number);
+    }
+
+    // Created on the first call to valueOf. Integers are made up front, as
+    // Long's are; the larger table of cents is filled as values are asked for
+    private static final class Cache {
+
+        static final int INTEGER_LOW = -128;
+        static final int INTEGER_HIGH = 1023;
+        static final int CENTS_SIZE = 10_000;
+
+        static final Dec64[] INTEGERS = new Dec64[INTEGER_HIGH - INTEGER_LOW + 1];
+        static final Dec64[] CENTS = new Dec64[CENTS_SIZE];
+        static final Dec64 NAN = new Dec64(DEC64_NAN);
+
+        static {
+            for (int i = 0; i < INTEGERS.length; i++) {
+                INTEGERS[i] = new Dec64(Basic64.pack(INTEGER_LOW + i, 0));
+            }
+        }
     }
     
+    /**
+     * Converts a DEC64 number to a BigDecimal with the same coefficient and
+     * exponent, so 1.50 keeps its scale of 2. This is always exact.
+     *
+     * @param number the number
+     * @return the BigDecimal
+     * @throws NumberFormatException if the number is NaN, which BigDecimal
+     * cannot represent
+     */
+    public static BigDecimal toBigDecimal(@DEC64 long number) {
+        if (Basic64.isNaN(number)) {
+            throw new NumberFormatException("NaN");
+        }
+        return BigDecimal.valueOf(number >> 8, -(byte) number);
+    }
+
+    /**
+     * Converts a BigDecimal to DEC64. An unscaled value and scale that fit
+     * DEC64 as they are, as they do for most prices and amounts read from a
+     * database, are packed directly. Anything else is rounded once, half
+     * away from zero, to at most 17 digits and an exponent of at least -127.
+     *
+     * @param value the BigDecimal
+     * @return the DEC64 number, or NaN if it is too large
+     */
+    public static @DEC64
+    long fromBigDecimal(BigDecimal value) {
+        int scale = value.scale();
+        if (scale <= 127 && scale >= -145) {
+            BigInteger unscaled = value.unscaledValue();
+            if (unscaled.bitLength() < 56) {
+                // Exact, though the exponent may need trading for digits
+                return Basic64.pack(unscaled.longValue(), -scale);
+            }
+        }
+        return roundBigDecimal(value);
+    }
+
+    private static @DEC64
+    long roundBigDecimal(BigDecimal value) {
+        if (value.signum() == 0) {
+            return 0;
+        }
+        // The smallest exponent that leaves at most 17 digits
+        long exp = Math.max(-127, Math.max(0, value.precision() - 17) - (long) value.scale());
+        if (exp > 144) {
+            // At least 10^144, beyond the largest DEC64
+            return DEC64_NAN;
+        }
+        long coeff = value.setScale((int) -exp, RoundingMode.HALF_UP).unscaledValue().longValue();
+        if (coeff > Basic64.DEC64_MAX_COEFFICIENT || coeff < Basic64.DEC64_MIN_COEFFICIENT) {
+            // One digit too many: round the original again, not the result
+            exp++;
+            coeff = value.setScale((int) -exp, RoundingMode.HALF_UP).unscaledValue().longValue();
+        }
+        return Basic64.pack(coeff, (int) exp);
+    }
+
+    /**
+     * Converts a run of DEC64 numbers to BigDecimals, as
+     * {@link #toBigDecimal(long)}.
+     *
+     * @param src the numbers
+     * @param srcOffset the first number
+     * @param dst the array to fill
+     * @param dstOffset where to start filling
+     * @param length how many to convert
+     * @throws NumberFormatException if a number is NaN
+     */
+    public static void toBigDecimal(@DEC64 long[] src, int srcOffset, BigDecimal[] dst, int dstOffset, int length) {
+        checkRange(src.length, srcOffset, length);
+        checkRange(dst.length, dstOffset, length);
+        for (int i = 0; i < length; i++) {
+            dst[dstOffset + i] = toBigDecimal(src[srcOffset + i]);
+        }
+    }
+
+    /**
+     * Converts a run of BigDecimals to DEC64, as
+     * {@link #fromBigDecimal(BigDecimal)}.
+     *
+     * @param src the BigDecimals
+     * @param srcOffset the first BigDecimal
+     * @param dst the array to fill
+     * @param dstOffset where to start filling
+     * @param length how many to convert
+     */
+    public static void fromBigDecimal(BigDecimal[] src, int srcOffset, @DEC64 long[] dst, int dstOffset, int length) {
+        checkRange(src.length, srcOffset, length);
+        checkRange(dst.length, dstOffset, length);
+        for (int i = 0; i < length; i++) {
+            dst[dstOffset + i] = fromBigDecimal(src[srcOffset + i]);
+        }
+    }
+
+    private static void checkRange(int size, int offset, int length) {
+        if (offset < 0 || length < 0 || length > size - offset) {
+            throw new ArrayIndexOutOfBoundsException(offset < 0 ? offset : offset + length);
+        }
+    }
+
+    /**
+     * Returns this number as a BigDecimal, as {@link #toBigDecimal(long)}.
+     *
+     * @return the BigDecimal
+     * @throws NumberFormatException if this is NaN
+     */
+    public BigDecimal toBigDecimal() {
+        return toBigDecimal(value);
+    }
+
+    /**
+     * Returns the integer part, as {@link #longValue()}, saturating to the
+     * range of an int.
+     *
+     * @return the integer part
+     */
     @Override
     public int intValue() {
-        throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+        long integer = longValue();
+        return (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, integer));
     }
-    
+
+    /**
+     * Returns the integer part, truncating any fraction. As when narrowing a
+     * double, values beyond the range of a long saturate, and NaN gives 0.
+     *
+     * @return the integer part
+     */
     @Override
     public long longValue() {
-        throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+        long coeff = value >> 8;
+        int exp = (byte) value;
+        if (exp == 0) {
+            return coeff;
+        }
+        if (Basic64.isNaN(value)) {
+            return 0;
+        }
+        if (exp < 0) {
+            return -exp < Basic64.POWERS_OF_TEN.length ? coeff / Basic64.POWERS_OF_TEN[-exp] : 0;
+        }
+        if (exp < Basic64.POWERS_OF_TEN.length) {
+            long scale = Basic64.POWERS_OF_TEN[exp];
+            long high = Int128.multiplyHigh(coeff, scale);
+            long low = coeff * scale;
+            if (high == (low >> 63)) {
+                return low;
+            }
+        }
+        return coeff < 0 ? Long.MIN_VALUE : coeff > 0 ? Long.MAX_VALUE : 0;
     }
-    
+
     @Override
     public float floatValue() {
-        throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+        return DoubleConversion.toFloat(value);
     }
     
     @Override
     public double doubleValue() {
-        throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+        return Basic64.toDouble(value);
     }
     
     public @DEC64
     long dec64Value() {
         return value;
     }
+
+    /**
+     * Compares numerically, as {@link Basic64#compare}, with NaN greater
+     * than every number.
+     *
+     * @param other the Dec64 to compare with
+     * @return -1, 0 or 1 as this is less than, equal to or greater than
+     * other
+     */
+    @Override
+    public int compareTo(Dec64 other) {
+        return Basic64.compare(value, other.value);
+    }
+
+    /**
+     * True if other is a Dec64 with the same numeric value, so 1.0 equals
+     * 1.00. Consistent with {@link #compareTo}.
+     *
+     * @param other the object to compare with
+     * @return whether the values are equal
+     */
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof Dec64)) {
+            return false;
+        }
+        long that = ((Dec64) other).value;
+        return value == that || Basic64.compare(value, that) == 0;
+    }
+
+    /**
+     * Hashes the canonical form, so numerically equal values hash alike.
+     *
+     * @return the hash code
+     */
+    @Override
+    public int hashCode() {
+        return Long.hashCode(Basic64.canonical(value));
+    }
+
+    /**
+     * Formats the number as {@link FormatMode#STANDARD} does.
+     *
+     * @return the number as text
+     */
+    @Override
+    public String toString() {
+        return FormatMode.STANDARD.format(value);
+    }
 }
@@ -0,0 +1,618 @@
+package dec64;
+
+import dec64.annotations.DEC64;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+
+import static dec64.ArrayKernels.*;
+
+/**
+ * Bulk operations over arrays of DEC64 numbers. Every kernel takes an offset
+ * and a length for each array, and gives exactly the same results as calling
+ * the matching {@link Basic64} method element by element.
+ *
+ * The arrays are processed in blocks. Each block is first checked, with a
+ * branch-free pass, for the common case: no NaNs, exponents that line up and
+ * coefficients small enough that the result cannot overflow. If the check
+ * passes the block is handled by a tight loop over the raw longs that the JIT
+ * can unroll and vectorise, otherwise it falls back to the scalar methods.
+ * On Java 17 and later, run with {@code --add-modules jdk.incubator.vector}
+ * to have add, subtract, compare and sum use explicit vector instructions.
+ *
+ * The destination may be the same region as one of the sources, but must not
+ * otherwise overlap them.
+ */
+public final class Dec64Arrays {
+
+    // A raw value plus PRODUCT_BIAS is in [0, 2^36) iff its coefficient is in
+    // [-2^27, 2^27), so products of two cannot overflow
+    private final static long PRODUCT_BIAS = 1L << 35;
+    private final static int PRODUCT_SHIFT = 36;
+
+    // Below this many elements a fork/join task works sequentially
+    private final static int PARALLEL_THRESHOLD = 8 * BLOCK;
+
+    private Dec64Arrays() {
+    }
+
+    /**
+     * Adds two arrays element by element: dst[i] = a[i] + b[i].
+     */
+    public static void add(@DEC64 long[] a, @DEC64 long[] b, @DEC64 long[] dst) {
+        add(a, 0, b, 0, dst, 0, dst.length);
+    }
+
+    /**
+     * Adds two array ranges element by element, as {@link Basic64#add}. The
+     * fast path applies to blocks where each pair of elements shares an
+     * exponent.
+     *
+     * @param a the augends
+     * @param aOffset the first augend
+     * @param b the addends
+     * @param bOffset the first addend
+     * @param dst the destination for the sums
+     * @param dstOffset the first destination element
+     * @param length the number of elements
+     */
+    public static void add(@DEC64 long[] a, int aOffset, @DEC64 long[] b, int bOffset,
+            @DEC64 long[] dst, int dstOffset, int length) {
+        checkRange(a, aOffset, length);
+        checkRange(b, bOffset, length);
+        checkRange(dst, dstOffset, length);
+        for (int done = 0; done < length; done += BLOCK) {
+            int n = Math.min(BLOCK, length - done);
+            int ai = aOffset + done;
+            int bi = bOffset + done;
+            int di = dstOffset + done;
+            KERNELS.add(a, ai, b, bi, dst, di, n);
+        }
+    }
+
+    /**
+     * Subtracts two arrays element by element: dst[i] = a[i] - b[i].
+     */
+    public static void subtract(@DEC64 long[] a, @DEC64 long[] b, @DEC64 long[] dst) {
+        subtract(a, 0, b, 0, dst, 0, dst.length);
+    }
+
+    /**
+     * Subtracts two array ranges element by element, as
+     * {@link Basic64#subtract}. The fast path applies to blocks where each
+     * pair of elements shares an exponent.
+     *
+     * @param a the minuends
+     * @param aOffset the first minuend
+     * @param b the subtrahends
+     * @param bOffset the first subtrahend
+     * @param dst the destination for the differences
+     * @param dstOffset the first destination element
+     * @param length the number of elements
+     */
+    public static void subtract(@DEC64 long[] a, int aOffset, @DEC64 long[] b, int bOffset,
+            @DEC64 long[] dst, int dstOffset, int length) {
+        checkRange(a, aOffset, length);
+        checkRange(b, bOffset, length);
+        checkRange(dst, dstOffset, length);
+        for (int done = 0; done < length; done += BLOCK) {
+            int n = Math.min(BLOCK, length - done);
+            int ai = aOffset + done;
+            int bi = bOffset + done;
+            int di = dstOffset + done;
+            KERNELS.subtract(a, ai, b, bi, dst, di, n);
+        }
+    }
+
+    /**
+     * Multiplies two arrays element by element: dst[i] = a[i] * b[i].
+     */
+    public static void multiply(@DEC64 long[] a, @DEC64 long[] b, @DEC64 long[] dst) {
+        multiply(a, 0, b, 0, dst, 0, dst.length);
+    }
+
+    /**
+     * Multiplies two array ranges element by element, as
+     * {@link Basic64#multiply}. The fast path applies to blocks where every
+     * coefficient fits in 28 bits and the exponents of each pair sum to a
+     * legal exponent.
+     *
+     * @param a the multiplicands
+     * @param aOffset the first multiplicand
+     * @param b the multipliers
+     * @param bOffset the first multiplier
+     * @param dst the destination for the products
+     * @param dstOffset the first destination element
+     * @param length the number of elements
+     */
+    public static void multiply(@DEC64 long[] a, int aOffset, @DEC64 long[] b, int bOffset,
+            @DEC64 long[] dst, int dstOffset, int length) {
+        checkRange(a, aOffset, length);
+        checkRange(b, bOffset, length);
+        checkRange(dst, dstOffset, length);
+        for (int done = 0; done < length; done += BLOCK) {
+            int n = Math.min(BLOCK, length - done);
+            int ai = aOffset + done;
+            int bi = bOffset + done;
+            int di = dstOffset + done;
+            long bad = 0;
+            for (int i = 0; i < n; i++) {
+                long x = a[ai + i];
+                long y = b[bi + i];
+                bad |= smallProductCheck(x, y);
+            }
+            if (bad >= 0) {
+                for (int i = 0; i < n; i++) {
+                    long x = a[ai + i];
+                    long y = b[bi + i];
+                    dst[di + i] = zeroed(((x >> 8) * (y >> 8) << 8) | ((x + y) & EXPONENT_MASK));
+                }
+            } else {
+                for (int i = 0; i < n; i++) {
+                    dst[di + i] = Basic64.multiply(a[ai + i], b[bi + i]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Multiplies every element of an array range by the same number:
+     * dst[i] = a[i] * factor, as {@link Basic64#multiply}.
+     *
+     * @param a the multiplicands
+     * @param aOffset the first multiplicand
+     * @param factor the multiplier
+     * @param dst the destination for the products
+     * @param dstOffset the first destination element
+     * @param length the number of elements
+     */
+    public static void multiply(@DEC64 long[] a, int aOffset, @DEC64 long factor,
+            @DEC64 long[] dst, int dstOffset, int length) {
+        checkRange(a, aOffset, length);
+        checkRange(dst, dstOffset, length);
+        for (int done = 0; done < length; done += BLOCK) {
+            int n = Math.min(BLOCK, length - done);
+            int ai = aOffset + done;
+            int di = dstOffset + done;
+            long bad = 0;
+            for (int i = 0; i < n; i++) {
+                bad |= smallProductCheck(a[ai + i], factor);
+            }
+            if (bad >= 0) {
+                long coeff = factor >> 8;
+                for (int i = 0; i < n; i++) {
+                    long x = a[ai + i];
+                    dst[di + i] = zeroed(((x >> 8) * coeff << 8) | ((x + factor) & EXPONENT_MASK));
+                }
+            } else {
+                for (int i = 0; i < n; i++) {
+                    dst[di + i] = Basic64.multiply(a[ai + i], factor);
+                }
+            }
+        }
+    }
+
+    /**
+     * Negates every element of an array range, as {@link Basic64#neg}.
+     *
+     * @param a the numbers
+     * @param aOffset the first number
+     * @param dst the destination for the negated numbers
+     * @param dstOffset the first destination element
+     * @param length the number of elements
+     */
+    public static void neg(@DEC64 long[] a, int aOffset, @DEC64 long[] dst, int dstOffset, int length) {
+        checkRange(a, aOffset, length);
+        checkRange(dst, dstOffset, length);
+        for (int done = 0; done < length; done += BLOCK) {
+            int n = Math.min(BLOCK, length - done);
+            int ai = aOffset + done;
+            int di = dstOffset + done;
+            if (plainBlock(a, ai, n)) {
+                for (int i = 0; i < n; i++) {
+                    long x = a[ai + i];
+                    dst[di + i] = zeroed(-(x & COEFFICIENT_MASK) | (x & EXPONENT_MASK));
+                }
+            } else {
+                for (int i = 0; i < n; i++) {
+                    dst[di + i] = Basic64.neg(a[ai + i]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Replaces every element of an array range by its absolute value, as
+     * {@link Basic64#abs}.
+     *
+     * @param a the numbers
+     * @param aOffset the first number
+     * @param dst the destination for the absolute values
+     * @param dstOffset the first destination element
+     * @param length the number of elements
+     */
+    public static void abs(@DEC64 long[] a, int aOffset, @DEC64 long[] dst, int dstOffset, int length) {
+        checkRange(a, aOffset, length);
+        checkRange(dst, dstOffset, length);
+        for (int done = 0; done < length; done += BLOCK) {
+            int n = Math.min(BLOCK, length - done);
+            int ai = aOffset + done;
+            int di = dstOffset + done;
+            if (plainBlock(a, ai, n)) {
+                for (int i = 0; i < n; i++) {
+                    long x = a[ai + i];
+                    long sign = x >> 63;
+                    dst[di + i] = (((x & COEFFICIENT_MASK) ^ sign) - sign) | (x & EXPONENT_MASK);
+                }
+            } else {
+                for (int i = 0; i < n; i++) {
+                    dst[di + i] = Basic64.abs(a[ai + i]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Compares two array ranges element by element, as
+     * {@link Basic64#compare}, storing -1, 0 or 1 in a mask. The fast path
+     * applies to blocks where each pair of elements shares an exponent, so
+     * the raw longs order the same way as the numbers.
+     *
+     * @param a the left hand numbers
+     * @param aOffset the first left hand number
+     * @param b the right hand numbers
+     * @param bOffset the first right hand number
+     * @param dst the destination for the comparison results
+     * @param dstOffset the first destination element
+     * @param length the number of elements
+     */
+    public static void compare(@DEC64 long[] a, int aOffset, @DEC64 long[] b, int bOffset,
+            byte[] dst, int dstOffset, int length) {
+        checkRange(a, aOffset, length);
+        checkRange(b, bOffset, length);
+        if (dstOffset < 0 || length > dst.length - dstOffset) {
+            throw new ArrayIndexOutOfBoundsException(dstOffset + length);
+        }
+        for (int done = 0; done < length; done += BLOCK) {
+            int n = Math.min(BLOCK, length - done);
+            int ai = aOffset + done;
+            int bi = bOffset + done;
+            int di = dstOffset + done;
+            KERNELS.compare(a, ai, b, bi, dst, di, n);
+        }
+    }
+
+    /**
+     * Sums an array.
+     */
+    public static @DEC64 long sum(@DEC64 long[] a) {
+        return sum(a, 0, a.length);
+    }
+
+    /**
+     * Sums an array range. The sum is accumulated exactly in a 128 bit
+     * coefficient at the smallest exponent in the range and rounded once at
+     * the end, so it is the same whatever the order of the elements. That
+     * holds while the exponents are within about 20 of each other; beyond
+     * that, elements that cannot be held exactly are added with ordinary
+     * rounding. An empty range sums to zero and any NaN makes the sum NaN.
+     *
+     * @param a the numbers
+     * @param aOffset the first number
+     * @param length the number of elements
+     * @return the sum
+     */
+    public static @DEC64 long sum(@DEC64 long[] a, int aOffset, int length) {
+        checkRange(a, aOffset, length);
+        WideSum total = new WideSum();
+        sumInto(a, aOffset, length, total);
+        return total.toDec64();
+    }
+
+    /**
+     * Sums an array using the common fork/join pool.
+     */
+    public static @DEC64 long parallelSum(@DEC64 long[] a) {
+        return parallelSum(a, 0, a.length);
+    }
+
+    /**
+     * Sums an array range using the common fork/join pool. Each task sums its
+     * part into an exact 128 bit accumulator and the parts are merged
+     * exactly, so the result is the same as {@link #sum(long[], int, int)}
+     * however the range is split. If the sum could not be held exactly the
+     * range is summed again sequentially, which gives the same guarantee.
+     *
+     * @param a the numbers
+     * @param aOffset the first number
+     * @param length the number of elements
+     * @return the sum
+     */
+    public static @DEC64 long parallelSum(@DEC64 long[] a, int aOffset, int length) {
+        checkRange(a, aOffset, length);
+        WideSum total = new SumTask(a, aOffset, length).invoke();
+        return total.spilled() ? sum(a, aOffset, length) : total.toDec64();
+    }
+
+    /**
+     * Returns the smallest element of an array range, as
+     * {@link Basic64#min}: NaN if the range is empty or holds a NaN, and the
+     * first of any equal smallest elements.
+     *
+     * @param a the numbers
+     * @param aOffset the first number
+     * @param length the number of elements
+     * @return the smallest number
+     */
+    public static @DEC64 long min(@DEC64 long[] a, int aOffset, int length) {
+        checkRange(a, aOffset, length);
+        return extreme(a, aOffset, length, false);
+    }
+
+    /**
+     * Returns the largest element of an array range, as {@link Basic64#max}:
+     * NaN if the range is empty or holds a NaN, and the first of any equal
+     * largest elements.
+     *
+     * @param a the numbers
+     * @param aOffset the first number
+     * @param length the number of elements
+     * @return the largest number
+     */
+    public static @DEC64 long max(@DEC64 long[] a, int aOffset, int length) {
+        checkRange(a, aOffset, length);
+        return extreme(a, aOffset, length, true);
+    }
+
+    /**
+     * Counts the NaNs in an array range.
+     *
+     * @param a the numbers
+     * @param aOffset the first number
+     * @param length the number of elements
+     * @return how many elements are NaN
+     */
+    public static int countNaN(@DEC64 long[] a, int aOffset, int length) {
+        checkRange(a, aOffset, length);
+        int count = 0;
+        for (int i = 0; i < length; i++) {
+            count += (int) (notNaN(a[aOffset + i]) >>> 63);
+        }
+        return count;
+    }
+
+    /**
+     * As {@link #min(long[], int, int)}, using the common fork/join pool.
+     */
+    public static @DEC64 long parallelMin(@DEC64 long[] a, int aOffset, int length) {
+        checkRange(a, aOffset, length);
+        return ReduceTask.reduce(a, aOffset, length, ReduceTask.MIN);
+    }
+
+    /**
+     * As {@link #max(long[], int, int)}, using the common fork/join pool.
+     */
+    public static @DEC64 long parallelMax(@DEC64 long[] a, int aOffset, int length) {
+        checkRange(a, aOffset, length);
+        return ReduceTask.reduce(a, aOffset, length, ReduceTask.MAX);
+    }
+
+    /**
+     * As {@link #countNaN(long[], int, int)}, using the common fork/join pool.
+     */
+    public static int parallelCountNaN(@DEC64 long[] a, int aOffset, int length) {
+        checkRange(a, aOffset, length);
+        return (int) ReduceTask.reduce(a, aOffset, length, ReduceTask.COUNT_NAN);
+    }
+
+    /**
+     * Sorts an array into the order of {@link Basic64#compare}.
+     */
+    public static void sort(@DEC64 long[] a) {
+        sort(a, 0, a.length);
+    }
+
+    /**
+     * Sorts an array range into the order of {@link Basic64#compare}, with
+     * NaNs last. Raw DEC64 longs do not sort as numbers with Arrays.sort, so
+     * each is paired with its {@link Basic64#sortKey sort key} and the pairs
+     * are radix sorted, in time linear in the length. The sort is stable:
+     * equal numbers, such as 1.0 and 1.00, keep their order and their
+     * representation.
+     *
+     * @param a the numbers
+     * @param aOffset the first number
+     * @param length the number of elements
+     */
+    public static void sort(@DEC64 long[] a, int aOffset, int length) {
+        checkRange(a, aOffset, length);
+        RadixSort.sort(a, aOffset, length);
+    }
+
+    /**
+     * As {@link #sort(long[])}, using the common fork/join pool.
+     */
+    public static void parallelSort(@DEC64 long[] a) {
+        parallelSort(a, 0, a.length);
+    }
+
+    /**
+     * As {@link #sort(long[], int, int)}, using the common fork/join pool:
+     * pieces are radix sorted in parallel and then merged.
+     */
+    public static void parallelSort(@DEC64 long[] a, int aOffset, int length) {
+        checkRange(a, aOffset, length);
+        RadixSort.parallelSort(a, aOffset, length);
+    }
+
+    /**
+     * Searches a sorted array for a number.
+     */
+    public static int binarySearch(@DEC64 long[] a, @DEC64 long number) {
+        return binarySearch(a, 0, a.length, number);
+    }
+
+    /**
+     * Searches an array range, sorted as by {@link #sort(long[], int, int)},
+     * for a number, as Arrays.binarySearch does. Equality is numeric, so 1.0
+     * finds 1.00, and any NaN finds a NaN.
+     *
+     * @param a the numbers
+     * @param aOffset the first number
+     * @param length the number of elements
+     * @param number the number to find
+     * @return the index of an equal number, or -(insertion point) - 1
+     */
+    public static int binarySearch(@DEC64 long[] a, int aOffset, int length, @DEC64 long number) {
+        checkRange(a, aOffset, length);
+        int low = aOffset;
+        int high = aOffset + length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int c = Basic64.compare(a[mid], number);
+            if (c < 0) {
+                low = mid + 1;
+            } else if (c > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    private static void sumInto(long[] a, int aOffset, int length, WideSum total) {
+        for (int done = 0; done < length; done += BLOCK) {
+            KERNELS.sum(a, aOffset + done, Math.min(BLOCK, length - done), total);
+        }
+    }
+
+    private static @DEC64 long extreme(long[] a, int aOffset, int length, boolean max) {
+        if (length == 0) {
+            return Constants64.DEC64_NAN;
+        }
+        @DEC64 long result = a[aOffset];
+        for (int done = 0; done < length; done += BLOCK) {
+            int n = Math.min(BLOCK, length - done);
+            int ai = aOffset + done;
+            if (uniformBlock(a, ai, n) && !Basic64.isNaN(result) && (byte) result == (byte) a[ai]) {
+                // With one exponent the raw longs order as the numbers do
+                for (int i = 0; i < n; i++) {
+                    long x = a[ai + i];
+                    result = max ? (x > result ? x : result) : (x < result ? x : result);
+                }
+            } else {
+                for (int i = 0; i < n; i++) {
+                    result = max ? Basic64.max(result, a[ai + i]) : Basic64.min(result, a[ai + i]);
+                }
+            }
+        }
+        return result;
+    }
+
+    private static final class SumTask extends RecursiveTask<WideSum> {
+
+        private final long[] a;
+        private final int offset;
+        private final int length;
+
+        SumTask(long[] a, int offset, int length) {
+            this.a = a;
+            this.offset = offset;
+            this.length = length;
+        }
+
+        @Override
+        protected WideSum compute() {
+            if (length <= PARALLEL_THRESHOLD) {
+                WideSum total = new WideSum();
+                sumInto(a, offset, length, total);
+                return total;
+            }
+            int half = length >>> 1;
+            SumTask right = new SumTask(a, offset + half, length - half);
+            right.fork();
+            WideSum total = new SumTask(a, offset, half).compute();
+            total.add(right.join());
+            return total;
+        }
+    }
+
+    // The result is a primitive field, read after invoke or join, so that
+    // partial results are not boxed
+    private static final class ReduceTask extends RecursiveAction {
+
+        final static int MIN = 0;
+        final static int MAX = 1;
+        final static int COUNT_NAN = 2;
+
+        private final long[] a;
+        private final int offset;
+        private final int length;
+        private final int op;
+        long result;
+
+        ReduceTask(long[] a, int offset, int length, int op) {
+            this.a = a;
+            this.offset = offset;
+            this.length = length;
+            this.op = op;
+        }
+
+        static long reduce(long[] a, int offset, int length, int op) {
+            ReduceTask task = new ReduceTask(a, offset, length, op);
+            task.invoke();
+            return task.result;
+        }
+
+        @Override
+        protected void compute() {
+            if (length <= PARALLEL_THRESHOLD) {
+                result = op == COUNT_NAN ? countNaN(a, offset, length) : extreme(a, offset, length, op == MAX);
+                return;
+            }
+            int half = length >>> 1;
+            ReduceTask left = new ReduceTask(a, offset, half, op);
+            ReduceTask right = new ReduceTask(a, offset + half, length - half, op);
+            right.fork();
+            left.compute();
+            right.join();
+            switch (op) {
+                case MIN:
+                    result = Basic64.min(left.result, right.result);
+                    break;
+                case MAX:
+                    result = Basic64.max(left.result, right.result);
+                    break;
+                default:
+                    result = left.result + right.result;
+            }
+        }
+    }
+
+    // True if nothing in the block is NaN and every coefficient is in
+    // [-2^54, 2^54)
+    private static boolean plainBlock(long[] a, int ai, int n) {
+        long bad = 0;
+        for (int i = 0; i < n; i++) {
+            long x = a[ai + i];
+            bad |= notNaN(x) | (x + SUM_BIAS);
+        }
+        return bad >= 0;
+    }
+
+    // Negative unless neither is NaN, both coefficients are in [-2^27, 2^27)
+    // and the exponents sum to a legal exponent
+    private static long smallProductCheck(long x, long y) {
+        long exp = (x << 56 >> 56) + (y << 56 >> 56) + 127;
+        return notNaN(x) | notNaN(y)
+                | -((x + PRODUCT_BIAS) >>> PRODUCT_SHIFT)
+                | -((y + PRODUCT_BIAS) >>> PRODUCT_SHIFT)
+                | exp | (254 - exp);
+    }
+
+    private static void checkRange(long[] array, int offset, int length) {
+        if (offset < 0 || length < 0 || length > array.length - offset) {
+            throw new ArrayIndexOutOfBoundsException(offset < 0 ? offset : offset + length);
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package dec64;
+
+import dec64.annotations.DEC64;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+import static dec64.Constants64.DEC64_NAN;
+
+/**
+ * Conversions between DEC64 and double behind {@link Basic64#toDouble} and
+ * {@link Basic64#fromDouble}.
+ *
+ * DEC64 to double takes the Clinger fast path whenever the coefficient and
+ * a power of ten are both exact doubles, so that a single correctly rounded
+ * multiply or divide gives the answer; anything else is converted exactly
+ * through BigDecimal.
+ *
+ * Double to DEC64 uses Giulietti's Schubfach algorithm ("The Schubfach way
+ * to render doubles", 2020), as in the JDK's own Double.toString from Java
+ * 19, to find the shortest decimal that rounds back to the double without
+ * building any text. The 126 bit approximations of powers of ten it needs
+ * are computed once, when this class is first used.
+ */
+final class DoubleConversion {
+
+    // Coefficients below 2^53 and powers of ten up to 10^22 are exact doubles
+    private final static long EXACT_COEFFICIENT = 1L << 53;
+    private final static double[] EXACT_POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+        1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    // The double format: 53 bit significands, exponents down to 2^-1074
+    private final static int P = 53;
+    private final static int Q_MIN = -1074;
+    private final static long C_MIN = 1L << (P - 1);
+    private final static int BQ_MASK = 0x7FF;
+    private final static long T_MASK = C_MIN - 1;
+
+    private final static long MASK_63 = Long.MAX_VALUE;
+
+    // The range of k = floor(log10(2^q)) over all finite doubles
+    private final static int K_MIN = -324;
+    private final static int K_MAX = 292;
+
+    // g1 and g0 for each k: 10^-k scaled to 126 bits and rounded up, split
+    // into its high and low 63 bits
+    private final static long[] G = new long[2 * (K_MAX - K_MIN + 1)];
+
+    static {
+        BigInteger ten = BigInteger.TEN;
+        for (int k = K_MIN; k <= K_MAX; k++) {
+            int r = flog2pow10(-k) - 125;
+            BigInteger numerator = k <= 0 ? ten.pow(-k) : BigInteger.ONE;
+            BigInteger denominator = k <= 0 ? BigInteger.ONE : ten.pow(k);
+            if (r < 0) {
+                numerator = numerator.shiftLeft(-r);
+            } else {
+                denominator = denominator.shiftLeft(r);
+            }
+            BigInteger g = numerator.divide(denominator).add(BigInteger.ONE);
+            G[2 * (k - K_MIN)] = g.shiftRight(63).longValue();
+            G[2 * (k - K_MIN) + 1] = g.longValue() & MASK_63;
+        }
+    }
+
+    private DoubleConversion() {
+    }
+
+    static double toDouble(@DEC64 long number) {
+        if (Basic64.isNaN(number)) {
+            return Double.NaN;
+        }
+        long coeff = number >> 8;
+        int exp = (byte) number;
+        if (exp == 0) {
+            // A long to double conversion rounds correctly
+            return coeff;
+        }
+        if (Math.abs(coeff) < EXACT_COEFFICIENT) {
+            if (exp > 0 && exp < EXACT_POWERS_OF_TEN.length) {
+                return coeff * EXACT_POWERS_OF_TEN[exp];
+            }
+            if (exp < 0 && -exp < EXACT_POWERS_OF_TEN.length) {
+                return coeff / EXACT_POWERS_OF_TEN[-exp];
+            }
+        }
+        return BigDecimal.valueOf(coeff, -exp).doubleValue();
+    }
+
+    // Rounding the nearest double to float only goes wrong when the double
+    // falls exactly halfway between two normal floats, or among the subnormal
+    // floats, which then need the exact value
+    static float toFloat(@DEC64 long number) {
+        double d = toDouble(number);
+        if ((Double.doubleToRawLongBits(d) & 0x1FFF_FFFFL) == 0x1000_0000L
+                || Math.abs(d) < Float.MIN_NORMAL) {
+            return BigDecimal.valueOf(number >> 8, -(byte) number).floatValue();
+        }
+        return (float) d;
+    }
+
+    static @DEC64 long fromDouble(double v) {
+        long bits = Double.doubleToRawLongBits(v);
+        boolean negative = bits < 0;
+        long t = bits & T_MASK;
+        int bq = (int) (bits >>> (P - 1)) & BQ_MASK;
+        if (bq == BQ_MASK) {
+            // Infinite or NaN
+            return DEC64_NAN;
+        }
+        if (bq == 0) {
+            // Zero, or subnormal and so far below the smallest DEC64
+            return 0;
+        }
+        int mq = -Q_MIN + 1 - bq;
+        long c = C_MIN | t;
+        if (0 < mq && mq < P) {
+            long f = c >> mq;
+            if (f << mq == c) {
+                // An integer below 2^53, which DEC64 holds exactly
+                return Basic64.pack(negative ? -f : f, 0);
+            }
+        }
+        return toDecimal(-mq, c, negative);
+    }
+
+    // The shortest decimal in the rounding interval of c 2^q, following
+    // figure 7 of the Schubfach paper and the JDK's DoubleToDecimal
+    private static @DEC64 long toDecimal(int q, long c, boolean negative) {
+        int out = (int) c & 0x1;
+        long cb = c << 2;
+        long cbr = cb + 2;
+        long cbl;
+        int k;
+        if (c != C_MIN || q == Q_MIN) {
+            // Regular spacing
+            cbl = cb - 2;
+            k = flog10pow2(q);
+        } else {
+            // Irregular spacing, just above a power of two
+            cbl = cb - 1;
+            k = flog10threeQuartersPow2(q);
+        }
+        int h = q + flog2pow10(-k) + 2;
+        long g1 = G[2 * (k - K_MIN)];
+        long g0 = G[2 * (k - K_MIN) + 1];
+        long vb = rop(g1, g0, cb << h);
+        long vbl = rop(g1, g0, cbl << h);
+        long vbr = rop(g1, g0, cbr << h);
+
+        long s = vb >> 2;
+        if (s >= 100) {
+            // s / 10 * 10, by multiplying by the inverse of ten
+            long sp10 = 10 * Int128.multiplyHigh(s, 115_292_150_460_684_698L << 4);
+            long tp10 = sp10 + 10;
+            boolean upin = vbl + out <= sp10 << 2;
+            boolean wpin = (tp10 << 2) + out <= vbr;
+            if (upin != wpin) {
+                return pack(upin ? sp10 : tp10, k, negative);
+            }
+        }
+        long t = s + 1;
+        boolean uin = vbl + out <= s << 2;
+        boolean win = (t << 2) + out <= vbr;
+        long shortest;
+        if (uin != win) {
+            shortest = uin ? s : t;
+        } else {
+            long cmp = vb - ((s + t) << 1);
+            shortest = cmp < 0 || cmp == 0 && (s & 0x1) == 0 ? s : t;
+        }
+        long significant = shortest;
+        while (significant % 10 == 0) {
+            significant /= 10;
+        }
+        if (significant > Basic64.DEC64_MAX_COEFFICIENT) {
+            // Seventeen digits are needed and DEC64 holds sixteen of them, so
+            // round v itself, half away from zero, rather than the shortest.
+            // vb is 4 v 10^-k with a sticky low bit, so a remainder of 20 is
+            // an exact tie
+            long q40 = vb / 40;
+            long rem = vb - 40 * q40;
+            return pack(rem >= 20 ? q40 + 1 : q40, k + 1, negative);
+        }
+        return pack(shortest, k, negative);
+    }
+
+    // Strips trailing zeros, so that 0.1 is 1e-1, and packs
+    private static @DEC64 long pack(long f, int e, boolean negative) {
+        while (f % 10 == 0) {
+            f /= 10;
+            e++;
+        }
+        return Basic64.pack(negative ? -f : f, e);
+    }
+
+    // Round to odd of g cp 2^-127, where g = g1 2^63 + g0
+    private static long rop(long g1, long g0, long cp) {
+        long x1 = Int128.multiplyHigh(g0, cp);
+        long y0 = g1 * cp;
+        long y1 = Int128.multiplyHigh(g1, cp);
+        long z = (y0 >>> 1) + x1;
+        long vbp = y1 + (z >>> 63);
+        return vbp | (((z & MASK_63) + MASK_63) >>> 63);
+    }
+
+    // floor(q log10(2))
+    private static int flog10pow2(int q) {
+        return (int) (q * 661_971_961_083L >> 41);
+    }
+
+    // floor(log10(3/4 2^q))
+    private static int flog10threeQuartersPow2(int q) {
+        return (int) ((q * 661_971_961_083L - 274_743_187_321L) >> 41);
+    }
+
+    // floor(e log2(10))
+    private static int flog2pow10(int e) {
+        return (int) (e * 913_124_641_741L >> 38);
+    }
+}
@@ -0,0 +1,338 @@
+package dec64;
+
+import dec64.annotations.DEC64;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.math.RoundingMode;
+
+import static dec64.Basic64.*;
+import static dec64.Constants64.*;
+import static dec64.MathKernels.*;
+
+/**
+ * The exponential and logarithm engines behind {@link Math64#exp} and
+ * {@link Math64#log}. Both split their argument against a table of 64
+ * steps per power of ten, and leave a remainder small enough for a short
+ * polynomial, so each takes the same few dozen operations whatever the
+ * argument.
+ *
+ * exp x: with h = ln 10 / 64 and N the nearest integer to x / h, x = N h + u
+ * where |u| <= h / 2. x * 10^34 is an exact 128 bit integer and N h * 10^34
+ * is within 10^-30 of one, so u comes out exact to far more bits than it is
+ * kept to. Then with N = 64 k + j, e^x = 10^k * 10^(j/64) * e^u. The first
+ * factor only moves the decimal point; the second is a table entry and the
+ * third a Taylor polynomial of degree 8, which for |u| < 0.02 is in error
+ * by less than 2^-68.
+ *
+ * log x: with N the nearest integer to 64 log10 x and N = 64 q + j,
+ * x = 10^q * T_j * (1 + v), where T_j is 10^(j/64) to five digits and
+ * |v| < 0.019. Since T_j is a short decimal, v = (x / 10^q - T_j) / T_j
+ * has an exact integer numerator, and ln x = q ln 10 + ln T_j + v L(v),
+ * where L is the series for ln(1 + v) / v to degree 10. The sum is formed
+ * in 128 bit fixed point; when N is 0 there is nothing to add, and v L(v)
+ * keeps its full relative precision however close x is to 1.
+ *
+ * Polynomials are evaluated by Horner's rule in 62 bit fixed point, and
+ * results are rounded once to DEC64, so they are within one unit in the
+ * last place and nearly always correctly rounded. For
+ * {@link Math64.Precision} tiers below FULL the polynomials stop at a lower
+ * degree, and at the lowest u is taken from x as a double.
+ */
+final class ExpLog64 {
+
+    private final static int STEPS = 64;
+
+    // Below 10^-17 e^x rounds to one
+    private final static int TINY_EXPONENT = -17;
+    // e^x overflows above ln(MAXIMUM) = 331.2 and underflows below
+    // ln(10^-127) = -292.4, so these bounds leave room for rounding
+    private final static double MAX_EXP = 332;
+    private final static double MIN_EXP = -294;
+    private final static double STEPS_OVER_LN10 = STEPS / Math.log(10);
+    // h as a double
+    private final static double H = Math.log(10) / STEPS;
+    // At or below this degree the polynomial is less accurate than taking u
+    // from x as a double, which is within 10^-13 relatively of e^x
+    private final static int DOUBLE_REDUCTION_DEGREE = 5;
+
+    // x * 10^SCALE is an integer for the x that reach the table
+    private final static int SCALE = 34;
+    // h * 10^34 as a 128 bit integer
+    private final static long H_HI;
+    private final static long H_LO;
+    // 2^171 / 10^34, to take u * 10^34 / 2^45 to 62 bit fixed point
+    private final static long U_FACTOR;
+    private final static int U_SHIFT = 45;
+
+    // 10^(j/64) as a mantissa and exponent
+    private final static long[] EXP_MANTISSAS = new long[STEPS];
+    private final static int[] EXP_EXPONENTS = new int[STEPS];
+    final static int EXP_DEGREE = 8;
+    // 1 / n!
+    private final static long[] EXP_COEFFICIENTS = new long[EXP_DEGREE + 1];
+
+    // T_j * 10^4, and ln T_j with 100 fraction bits
+    private final static int LOG_DIGITS = 4;
+    private final static int LOG_FRACTION_BITS = 100;
+    private final static long[] LOG_UNITS = new long[STEPS];
+    private final static long[] LOG_HI = new long[STEPS];
+    private final static long[] LOG_LO = new long[STEPS];
+    // ln 10 with 100 fraction bits
+    private final static long LN10_HI;
+    private final static long LN10_LO;
+    final static int LOG_DEGREE = 10;
+    // (-1)^n / (n + 1)
+    private final static long[] LOG_COEFFICIENTS = new long[LOG_DEGREE + 1];
+
+    static {
+        MathContext mc = new MathContext(60);
+        BigDecimal ln10 = ln(BigDecimal.TEN, mc);
+        BigInteger h = ln10.divide(BigDecimal.valueOf(STEPS), mc).scaleByPowerOfTen(SCALE)
+                .setScale(0, RoundingMode.HALF_EVEN).toBigInteger();
+        H_HI = h.shiftRight(64).longValue();
+        H_LO = h.longValue();
+        U_FACTOR = new BigDecimal(BigInteger.ONE.shiftLeft(64 + 62 + U_SHIFT)).scaleByPowerOfTen(-SCALE)
+                .setScale(0, RoundingMode.HALF_EVEN).longValueExact();
+        BigInteger ln10Fixed = ln10.multiply(new BigDecimal(BigInteger.ONE.shiftLeft(LOG_FRACTION_BITS)))
+                .setScale(0, RoundingMode.HALF_EVEN).toBigInteger();
+        LN10_HI = ln10Fixed.shiftRight(64).longValue();
+        LN10_LO = ln10Fixed.longValue();
+
+        for (int j = 0; j < STEPS; j++) {
+            BigDecimal power = MathKernels.exp(ln10.multiply(BigDecimal.valueOf(j)).divide(BigDecimal.valueOf(STEPS), mc), mc);
+            EXP_MANTISSAS[j] = mantissa(power);
+            EXP_EXPONENTS[j] = exponent(power);
+            BigDecimal t = power.setScale(LOG_DIGITS, RoundingMode.HALF_EVEN);
+            LOG_UNITS[j] = t.unscaledValue().longValueExact();
+            BigInteger log = ln(t, mc).multiply(new BigDecimal(BigInteger.ONE.shiftLeft(LOG_FRACTION_BITS)))
+                    .setScale(0, RoundingMode.HALF_EVEN).toBigInteger();
+            LOG_HI[j] = log.shiftRight(64).longValue();
+            LOG_LO[j] = log.longValue();
+        }
+
+        BigDecimal factorial = BigDecimal.ONE;
+        for (int n = 0; n < EXP_COEFFICIENTS.length; n++) {
+            if (n > 0) {
+                factorial = factorial.multiply(BigDecimal.valueOf(n));
+            }
+            EXP_COEFFICIENTS[n] = fixed62(BigDecimal.ONE.divide(factorial, mc));
+        }
+        for (int n = 0; n < LOG_COEFFICIENTS.length; n++) {
+            BigDecimal c = BigDecimal.ONE.divide(BigDecimal.valueOf(n + 1), mc);
+            LOG_COEFFICIENTS[n] = fixed62((n & 1) == 0 ? c : c.negate());
+        }
+    }
+
+    private ExpLog64() {
+    }
+
+    /**
+     * Returns e raised to a power.
+     *
+     * @param x a DEC64 number
+     * @return e^x, zero if it is too small for DEC64, or NaN if it is too
+     * large or x is NaN
+     */
+    static @DEC64 long exp(@DEC64 long x) {
+        return exp(x, EXP_DEGREE);
+    }
+
+    /**
+     * Returns e raised to a power, from a polynomial of a given degree.
+     *
+     * @param x a DEC64 number
+     * @param degree the degree, at most EXP_DEGREE
+     * @return e^x, zero if it is too small for DEC64, or NaN if it is too
+     * large or x is NaN
+     */
+    static @DEC64 long exp(@DEC64 long x, int degree) {
+        if (isNaN(x)) {
+            return DEC64_NAN;
+        }
+        long coeff = coefficient(x);
+        int exp = exponent(x);
+        long magnitude = Math.abs(coeff);
+        if (coeff == 0 || exp + digitCount(magnitude) <= TINY_EXPONENT) {
+            return DEC64_ONE;
+        }
+        double estimate = toDouble(x);
+        if (estimate > MAX_EXP) {
+            return DEC64_NAN;
+        }
+        if (estimate < MIN_EXP) {
+            return DEC64_ZERO;
+        }
+        // Now -33 <= exp <= 2, and |N| < 10^4 has the sign of x or is 0
+        long n = Math.round(estimate * STEPS_OVER_LN10);
+
+        // In 62 bit fixed point
+        long u = degree <= DOUBLE_REDUCTION_DEGREE
+                ? (long) ((estimate - n * H) * 0x1p62)
+                : remainder(coeff, exp, n);
+
+        long p = EXP_COEFFICIENTS[degree];
+        for (int i = degree - 1; i >= 0; i--) {
+            p = EXP_COEFFICIENTS[i] + multiply62(u, p);
+        }
+        int j = (int) (n & (STEPS - 1));
+        int k = (int) (n >> 6);
+        int pz = Long.numberOfLeadingZeros(p);
+        long pm = p << pz;
+        long m = Int128.multiplyHighUnsigned(EXP_MANTISSAS[j], pm);
+        int b = EXP_EXPONENTS[j] + 2 - pz;
+        if (m >= 0) {
+            m = m << 1 | (EXP_MANTISSAS[j] * pm) >>> 63;
+            b--;
+        }
+        return toDec64(false, m, b, k);
+    }
+
+    // u = x - N h in 62 bit fixed point, exactly as x * 10^34 is an integer
+    private static long remainder(long coeff, int exp, long n) {
+        long magnitude = Math.abs(coeff);
+        // |x| * 10^34
+        int a = exp + SCALE;
+        long lo;
+        long hi;
+        if (a < POWERS_OF_TEN.length) {
+            lo = magnitude * POWERS_OF_TEN[a];
+            hi = Int128.multiplyHighUnsigned(magnitude, POWERS_OF_TEN[a]);
+        } else {
+            long p = POWERS_OF_TEN[a - 18];
+            long lo18 = magnitude * POWERS_OF_TEN[18];
+            hi = Int128.multiplyHighUnsigned(magnitude, POWERS_OF_TEN[18]) * p
+                    + Int128.multiplyHighUnsigned(lo18, p);
+            lo = lo18 * p;
+        }
+        // less |N| h * 10^34, leaving |u| * 10^34 < 2^109
+        long an = Math.abs(n);
+        long nlo = an * H_LO;
+        hi -= an * H_HI + Int128.multiplyHighUnsigned(an, H_LO) + (Long.compareUnsigned(lo, nlo) < 0 ? 1 : 0);
+        lo -= nlo;
+        boolean negative = coeff < 0;
+        if (hi < 0) {
+            negative = !negative;
+            hi = ~hi + (lo == 0 ? 1 : 0);
+            lo = -lo;
+        }
+        long u = Int128.multiplyHighUnsigned(hi << (64 - U_SHIFT) | lo >>> U_SHIFT, U_FACTOR);
+        return negative ? -u : u;
+    }
+
+    /**
+     * Returns the natural logarithm of a number.
+     *
+     * @param x a DEC64 number
+     * @return ln x, or NaN if x is not positive or is NaN
+     */
+    static @DEC64 long log(@DEC64 long x) {
+        return log(x, LOG_DEGREE);
+    }
+
+    /**
+     * Returns the natural logarithm of a number, from a series of a given
+     * degree.
+     *
+     * @param x a DEC64 number
+     * @param degree the degree, at most LOG_DEGREE
+     * @return ln x, or NaN if x is not positive or is NaN
+     */
+    static @DEC64 long log(@DEC64 long x, int degree) {
+        long coeff = coefficient(x);
+        if (isNaN(x) || coeff <= 0) {
+            return DEC64_NAN;
+        }
+        int exp = exponent(x);
+        long n = Math.round((Math.log10(coeff) + exp) * STEPS);
+        int q = (int) (n >> 6);
+        int j = (int) (n & (STEPS - 1));
+        // x / 10^q - T_j = (coeff * 10^(4 - s) - T_j * 10^4) / 10^4 * 10^s,
+        // with s = q - exp from -1 to 18
+        int s = q - exp;
+        long scale = POWERS_OF_TEN[LOG_DIGITS + Math.max(0, -s)];
+        long alo = coeff * scale;
+        long ahi = Int128.multiplyHighUnsigned(coeff, scale);
+        long bscale = POWERS_OF_TEN[Math.max(0, s)];
+        long blo = LOG_UNITS[j] * bscale;
+        long bhi = Int128.multiplyHighUnsigned(LOG_UNITS[j], bscale);
+        long dhi = ahi - bhi - (Long.compareUnsigned(alo, blo) < 0 ? 1 : 0);
+        long dlo = alo - blo;
+        boolean negative = dhi < 0;
+        if (negative) {
+            dhi = ~dhi + (dlo == 0 ? 1 : 0);
+            dlo = -dlo;
+        }
+
+        long m;
+        int b;
+        if ((dhi | dlo) == 0) {
+            // x is T_j * 10^q exactly
+            m = 0;
+            b = 0;
+        } else {
+            // v = d / b
+            int dbits = bitLength(dhi, dlo);
+            int bbits = bitLength(bhi, blo);
+            long dm = top64(dhi, dlo, dbits);
+            long vm = Int128.divideUnsigned(dm >>> 1, dm << 63, top64(bhi, blo, bbits));
+            int vb = dbits - bbits + 1;
+            if (vm >= 0) {
+                vm <<= 1;
+                vb--;
+            }
+            // ln(1 + v) = v L(v)
+            int shift = 2 - vb;
+            long v = shift < 64 ? vm >>> shift : 0;
+            if (negative) {
+                v = -v;
+            }
+            long l = LOG_COEFFICIENTS[degree];
+            for (int i = degree - 1; i >= 0; i--) {
+                l = LOG_COEFFICIENTS[i] + multiply62(v, l);
+            }
+            int lz = Long.numberOfLeadingZeros(l);
+            long lm = l << lz;
+            m = Int128.multiplyHighUnsigned(vm, lm);
+            b = vb + 2 - lz;
+            if (m >= 0) {
+                m = m << 1 | (vm * lm) >>> 63;
+                b--;
+            }
+            if (n == 0) {
+                return toDec64(negative, m, b, 0);
+            }
+        }
+        if (n == 0) {
+            return DEC64_ZERO;
+        }
+
+        // q ln 10 + ln T_j + ln(1 + v), with 100 fraction bits
+        long shi = q * LN10_HI + Int128.multiplyHigh(q, LN10_LO) + (LN10_LO >> 63 & q);
+        long slo = q * LN10_LO;
+        long t = slo + LOG_LO[j];
+        shi += LOG_HI[j] + (Long.compareUnsigned(t, slo) < 0 ? 1 : 0);
+        slo = t;
+        if (m != 0) {
+            // m * 2^(b - 64) with 100 fraction bits; b <= -5
+            int left = LOG_FRACTION_BITS - 64 + b;
+            long vhi = left > 0 ? m >>> (64 - left) : 0;
+            long vlo = left >= 0 ? m << left : left > -64 ? m >>> -left : 0;
+            if (negative) {
+                vhi = ~vhi + (vlo == 0 ? 1 : 0);
+                vlo = -vlo;
+            }
+            t = slo + vlo;
+            shi += vhi + (Long.compareUnsigned(t, slo) < 0 ? 1 : 0);
+            slo = t;
+        }
+        negative = shi < 0;
+        if (negative) {
+            shi = ~shi + (slo == 0 ? 1 : 0);
+            slo = -slo;
+        }
+        int bits = bitLength(shi, slo);
+        return toDec64(negative, top64(shi, slo, bits), bits - LOG_FRACTION_BITS, 0);
+    }
+}
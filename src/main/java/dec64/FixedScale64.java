@@ -0,0 +1,334 @@
+package dec64;
+
+import dec64.annotations.DEC64;
+
+import static dec64.Basic64.*;
+import static dec64.Constants64.DEC64_NAN;
+import static dec64.Constants64.DEC64_ZERO;
+
+/**
+ * DEC64 arithmetic at one declared scale, such as cents. Every result is a
+ * number whose exponent is the scale, or zero (which, as everywhere in
+ * DEC64, is 0 whatever the scale), or NaN.
+ *
+ * When both operands are already at the scale, add and subtract are one
+ * overflow-checked long add on the raw values, as the low bytes agree and
+ * need no alignment. Multiply and divide work on the coefficients and
+ * rescale by the one power of ten the scale fixes. Anything else - an
+ * operand at another exponent or NaN, a coefficient overflow, or a quotient
+ * too close to a rounding tie to decide cheaply - is handed to
+ * {@link Basic64} and the result rounded to the scale.
+ *
+ * So for operands at the scale the results are exactly those of Basic64:
+ * add and subtract give the same bits as {@link Basic64#add} and
+ * {@link Basic64#subtract}, and multiply and divide the same bits as
+ * {@link #round rounding} {@link Basic64#multiply} and
+ * {@link Basic64#divide} to the scale, half away from zero. A sum too large
+ * to hold at the scale is left as Basic64 rounds it.
+ */
+public final class FixedScale64 {
+
+    private final static int MIN_SCALE = -18;
+
+    private final static FixedScale64[] SCALES = new FixedScale64[1 - MIN_SCALE];
+
+    static {
+        for (int i = 0; i < SCALES.length; i++) {
+            SCALES[i] = new FixedScale64(-i);
+        }
+    }
+
+    /**
+     * Hundredths: cents, pence and most currencies' minor units.
+     */
+    public final static FixedScale64 CENTS = of(-2);
+
+    private final int scale;
+    // The low byte of every nonzero number at the scale
+    private final long scaleBits;
+    // 10^-scale, the number of scale units in one
+    private final long unit;
+    // Coefficients below this in magnitude can be multiplied by unit
+    private final long divideLimit;
+
+    private FixedScale64(int scale) {
+        this.scale = scale;
+        scaleBits = scale & 0xFF;
+        unit = POWERS_OF_TEN[-scale];
+        divideLimit = Long.MAX_VALUE / unit;
+    }
+
+    /**
+     * Returns the arithmetic for a scale: -2 for cents, -4 for
+     * ten-thousandths, 0 for whole numbers.
+     *
+     * @param scale the exponent of every result, from -18 to 0
+     * @return the arithmetic at that scale
+     * @throws IllegalArgumentException if scale is out of range
+     */
+    public static FixedScale64 of(int scale) {
+        if (scale > 0 || scale < MIN_SCALE) {
+            throw new IllegalArgumentException("scale " + scale);
+        }
+        return SCALES[-scale];
+    }
+
+    /**
+     * @return the exponent of results
+     */
+    public int scale() {
+        return scale;
+    }
+
+    /**
+     * Returns a whole number of scale units as a number, so CENTS.fromUnits(1999)
+     * is 19.99.
+     *
+     * @param units the number of units
+     * @return the number, or NaN if units does not fit a DEC64 coefficient
+     */
+    public @DEC64 long fromUnits(long units) {
+        if (units == 0) {
+            return DEC64_ZERO;
+        }
+        if (units > DEC64_MAX_COEFFICIENT || units < DEC64_MIN_COEFFICIENT) {
+            return DEC64_NAN;
+        }
+        return units << 8 | scaleBits;
+    }
+
+    /**
+     * Returns a number as a whole number of scale units, so 19.99 is 1999
+     * cents, first rounding it to the scale.
+     *
+     * @param number a DEC64 number
+     * @return the number of units
+     * @throws ArithmeticException if number is NaN or too large to hold at
+     * the scale
+     */
+    public long toUnits(@DEC64 long number) {
+        long rounded = round(number);
+        if (rounded == DEC64_ZERO) {
+            return 0;
+        }
+        if (exponent(rounded) != scale) {
+            throw new ArithmeticException(isNaN(rounded) ? "NaN" : "too large for scale " + scale);
+        }
+        return coefficient(rounded);
+    }
+
+    /**
+     * Rounds a number to the scale, half away from zero. A number too large
+     * to hold at the scale is returned unchanged.
+     *
+     * @param number a DEC64 number
+     * @return the number at the scale, zero, or NaN if number is NaN
+     */
+    public @DEC64 long round(@DEC64 long number) {
+        if (isNaN(number)) {
+            return DEC64_NAN;
+        }
+        long coeff = coefficient(number);
+        if (coeff == 0) {
+            return DEC64_ZERO;
+        }
+        int exp = exponent(number);
+        if (exp == scale) {
+            return number;
+        }
+        if (exp > scale) {
+            int k = exp - scale;
+            if (k < POWERS_OF_TEN.length && Math.abs(coeff) <= DEC64_MAX_COEFFICIENT / POWERS_OF_TEN[k]) {
+                return coeff * POWERS_OF_TEN[k] << 8 | scaleBits;
+            }
+            return number;
+        }
+        int k = scale - exp;
+        // Half of 10^18 exceeds any coefficient
+        return k < POWERS_OF_TEN.length ? fromUnits(roundDivide(coeff, POWERS_OF_TEN[k])) : DEC64_ZERO;
+    }
+
+    // True if the exponent of the number is the scale, which NaN's never is
+    private boolean atScale(long number) {
+        return ((number ^ scaleBits) & 0xFF) == 0;
+    }
+
+    /**
+     * Adds two numbers. For two numbers at the scale this is a single
+     * checked long add.
+     *
+     * @param a the augend
+     * @param b the addend
+     * @return the sum at the scale, as {@link Basic64#add}
+     */
+    public @DEC64 long add(@DEC64 long a, @DEC64 long b) {
+        // a + b - scaleBits is the sum at the scale
+        long bb = b - scaleBits;
+        long sum = a + bb;
+        if (((a ^ scaleBits | b ^ scaleBits) & 0xFF) == 0
+                & ((a ^ sum) & (bb ^ sum)) >= 0 & sum != scaleBits) {
+            return sum;
+        }
+        return round(Basic64.add(a, b));
+    }
+
+    /**
+     * Subtracts one number from another. For two numbers at the scale this
+     * is a single checked long subtract.
+     *
+     * @param a the minuend
+     * @param b the subtrahend
+     * @return the difference at the scale, as {@link Basic64#subtract}
+     */
+    public @DEC64 long subtract(@DEC64 long a, @DEC64 long b) {
+        long bb = b - scaleBits;
+        long difference = a - bb;
+        if (((a ^ scaleBits | b ^ scaleBits) & 0xFF) == 0
+                & ((a ^ bb) & (a ^ difference)) >= 0 & difference != scaleBits) {
+            return difference;
+        }
+        return round(Basic64.subtract(a, b));
+    }
+
+    /**
+     * Multiplies two numbers. For two numbers at the scale whose exact
+     * product fits a coefficient, the product of the coefficients is divided
+     * by 10^-scale once, rounding half away from zero.
+     *
+     * @param a the multiplicand
+     * @param b the multiplier
+     * @return the product rounded to the scale, as {@link Basic64#multiply}
+     * then {@link #round}
+     */
+    public @DEC64 long multiply(@DEC64 long a, @DEC64 long b) {
+        if (atScale(a) & atScale(b)) {
+            long coeffa = a >> 8;
+            long coeffb = b >> 8;
+            long product = coeffa * coeffb;
+            // Factors below 2^31 cannot overflow; wider ones are checked
+            // against the high word of the product
+            if (product <= DEC64_MAX_COEFFICIENT && product >= DEC64_MIN_COEFFICIENT
+                    && ((Math.abs(coeffa) | Math.abs(coeffb)) <= Integer.MAX_VALUE
+                    || Int128.multiplyHigh(coeffa, coeffb) == product >> 63)) {
+                return packUnits(roundToUnit(product));
+            }
+        }
+        return round(Basic64.multiply(a, b));
+    }
+
+    // Packs units known to fit a coefficient
+    private long packUnits(long units) {
+        return units == 0 ? DEC64_ZERO : units << 8 | scaleBits;
+    }
+
+    // Divides by 10^-scale, rounding half away from zero: division
+    // truncates towards zero, so half the unit is added to the magnitude
+    private long roundToUnit(long value) {
+        long sign = value >> 63;
+        // unit >> 1 is half the unit, or 0 at scale 0 where nothing rounds
+        return divideByUnit(value + ((unit >> 1 ^ sign) - sign), -scale);
+    }
+
+    // Divides by 10^k, truncating. Each divisor is a constant, which C2
+    // divides by with a multiply and shift instead of a divide instruction;
+    // FixedScaleBenchmark.markUpFixedScale is slower dividing by unit
+    private static long divideByUnit(long value, int k) {
+        switch (k) {
+            case 0:
+                return value;
+            case 1:
+                return value / 10L;
+            case 2:
+                return value / 100L;
+            case 3:
+                return value / 1000L;
+            case 4:
+                return value / 10_000L;
+            case 5:
+                return value / 100_000L;
+            case 6:
+                return value / 1_000_000L;
+            case 7:
+                return value / 10_000_000L;
+            case 8:
+                return value / 100_000_000L;
+            case 9:
+                return value / 1_000_000_000L;
+            case 10:
+                return value / 10_000_000_000L;
+            case 11:
+                return value / 100_000_000_000L;
+            case 12:
+                return value / 1_000_000_000_000L;
+            case 13:
+                return value / 10_000_000_000_000L;
+            case 14:
+                return value / 100_000_000_000_000L;
+            case 15:
+                return value / 1_000_000_000_000_000L;
+            case 16:
+                return value / 10_000_000_000_000_000L;
+            case 17:
+                return value / 100_000_000_000_000_000L;
+            case 18:
+                return value / 1_000_000_000_000_000_000L;
+            default:
+                throw new AssertionError(k);
+        }
+    }
+
+    /**
+     * Divides one number by another. For two numbers at the scale, the
+     * dividend's coefficient times 10^-scale is divided by the divisor's
+     * coefficient and the quotient rounded once, half away from zero.
+     *
+     * Basic64 rounds a quotient to 16 or more digits first, so when the
+     * remainder puts the exact quotient within that rounding of a tie the
+     * result is taken from Basic64 instead, to give the same bits.
+     *
+     * @param a the dividend
+     * @param b the divisor
+     * @return the quotient rounded to the scale, as {@link Basic64#divide}
+     * then {@link #round}, or NaN if b is zero
+     */
+    public @DEC64 long divide(@DEC64 long a, @DEC64 long b) {
+        long coeffa = a >> 8;
+        long coeffb = b >> 8;
+        if (atScale(a) & atScale(b) && coeffb != 0 && Math.abs(coeffa) <= divideLimit) {
+            long dividend = coeffa * unit;
+            long q = dividend / coeffb;
+            long r = Math.abs(dividend - q * coeffb);
+            long absb = Math.abs(coeffb);
+            // Basic64 keeps at least 16 digits, so at least 16 - digits(q)
+            // beyond the scale
+            int extra = 16 - digitCount(Math.abs(q));
+            boolean clear = r == 0
+                    || extra > 0 && Math.abs(2 * r - absb)
+                            > absb / POWERS_OF_TEN[Math.min(extra, POWERS_OF_TEN.length - 1)];
+            if (clear) {
+                if (r >= absb - r) {
+                    q += (dividend ^ coeffb) < 0 ? -1 : 1;
+                }
+                if (q <= DEC64_MAX_COEFFICIENT && q >= DEC64_MIN_COEFFICIENT) {
+                    return packUnits(q);
+                }
+            }
+        }
+        return round(Basic64.divide(a, b));
+    }
+
+    /**
+     * Compares two numbers as {@link Basic64#compare}. Two numbers at the
+     * scale compare as their raw longs.
+     *
+     * @param a a number
+     * @param b another number
+     * @return -1, 0 or 1 as a is less than, equal to or greater than b
+     */
+    public int compare(@DEC64 long a, @DEC64 long b) {
+        if (atScale(a) & atScale(b)) {
+            return Long.compare(a, b);
+        }
+        return Basic64.compare(a, b);
+    }
+}
@@ -1,7 +1,9 @@
 package dec64;
 
 import dec64.annotations.DEC64;
-import static dec64.Constants64.DEC64_ZERO;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import static dec64.Constants64.DEC64_NAN;
 
 /**
  *
@@ -9,6 +11,19 @@ import static dec64.Constants64.DEC64_ZERO;
  */
 public final class Format64 {
 
+    // Significant digits kept while parsing. 18 always fit in a long, and as
+    // an 18 digit coefficient must lose at least one digit to fit DEC64, the
+    // first 18 are enough to round correctly.
+    private final static int MAX_DIGITS = 18;
+
+    // Explicit exponents are clamped here; anything larger is out of range
+    private final static int EXPONENT_LIMIT = 100_000;
+
+    // The kinds of source the parser reads
+    private final static int BYTES = 0;
+    private final static int CHARS = 1;
+    private final static int SEQUENCE = 2;
+
     private @DEC64
     long valid;
     private @DEC64
@@ -22,6 +37,11 @@ public final class Format64 {
 //    private Mode mode;
     private char decimal_point;
     private char separator;
+    private @DEC64
+    long parsed = DEC64_NAN;
+    // The length of the number the last parse read
+    private int consumed;
+    private byte[] scratch = new byte[32];
 
     private Format64() {
     }
@@ -30,9 +50,263 @@ public final class Format64 {
         return new Format64();
     }
 
+    /**
+     * Parses a decimal number: an optional sign, digits with an optional
+     * decimal point, and an optional exponent such as {@code e-5}. Digits
+     * beyond the 17 or so a coefficient can hold are rounded away (half away
+     * from zero) in a single rounding. Nothing is allocated.
+     *
+     * @param s the text
+     * @return the number, or NaN if the text is not a number or is out of
+     * range
+     */
+    public static @DEC64
+    long toDEC64(final CharSequence s) {
+        return toDEC64(s, 0, s.length());
+    }
+
+    /**
+     * Parses a decimal number from a String, as
+     * {@link #toDEC64(CharSequence)}. Kept so that code compiled against the
+     * String form still links.
+     *
+     * @param s the text
+     * @return the number, or NaN if the text is not a number or is out of
+     * range
+     */
     public static @DEC64
     long toDEC64(final String s) {
-        return DEC64_ZERO;
+        return toDEC64(s, 0, s.length());
+    }
+
+    /**
+     * Parses a decimal number from a range of a CharSequence, as
+     * {@link #toDEC64(CharSequence)}. The whole range must be the number.
+     *
+     * @param s the text
+     * @param offset the first character
+     * @param length the number of characters
+     * @return the number, or NaN if the range is not a number
+     */
+    public static @DEC64
+    long toDEC64(final CharSequence s, final int offset, final int length) {
+        checkRange(s.length(), offset, length);
+        return scan(SEQUENCE, s, offset, offset + length, null);
+    }
+
+    /**
+     * Parses a decimal number from a range of a char array, as
+     * {@link #toDEC64(CharSequence)}. The whole range must be the number.
+     *
+     * @param chars the text
+     * @param offset the first character
+     * @param length the number of characters
+     * @return the number, or NaN if the range is not a number
+     */
+    public static @DEC64
+    long toDEC64(final char[] chars, final int offset, final int length) {
+        checkRange(chars.length, offset, length);
+        return scan(CHARS, chars, offset, offset + length, null);
+    }
+
+    // The character at an index of a source of one of these kinds
+    private static int at(final int kind, final Object source, final int i) {
+        switch (kind) {
+            case BYTES:
+                return ((byte[]) source)[i];
+            case CHARS:
+                return ((char[]) source)[i];
+            default:
+                return ((CharSequence) source).charAt(i);
+        }
     }
 
+    // The parser behind every toDEC64 and parse, reading its source by
+    // index: the number at the front of the range. Without a sink the number
+    // must be the whole range; a sink is given the number and its length.
+    private static @DEC64
+    long scan(final int kind, final Object source, final int offset, final int end, final Format64 sink) {
+        int i = offset;
+        boolean negative = false;
+        if (i < end) {
+            final int c = at(kind, source, i);
+            if (c == '-' || c == '+') {
+                negative = c == '-';
+                i++;
+            }
+        }
+        long coeff = 0;
+        int digits = 0;
+        int exp = 0;
+        boolean any = false;
+        boolean point = false;
+        while (i < end) {
+            if (kind == BYTES && digits <= MAX_DIGITS - 8 && end - i >= 8) {
+                // Only bytes have a form that takes eight digits at once
+                final long chunk = littleEndianLong((byte[]) source, i);
+                if (isEightDigits(chunk)) {
+                    coeff = coeff * 100_000_000L + eightDigits(chunk);
+                    digits = Basic64.digitCount(coeff);
+                    if (point) {
+                        exp -= 8;
+                    }
+                    any = true;
+                    i += 8;
+                    continue;
+                }
+            }
+            final int c = at(kind, source, i);
+            final int d = c - '0';
+            if (d >= 0 && d <= 9) {
+                any = true;
+                if (digits < MAX_DIGITS) {
+                    if (digits != 0 || d != 0) {
+                        coeff = coeff * 10 + d;
+                        digits++;
+                    }
+                    if (point) {
+                        exp--;
+                    }
+                } else if (!point) {
+                    exp++;
+                }
+            } else if (c == '.' && !point) {
+                point = true;
+            } else {
+                break;
+            }
+            i++;
+        }
+        if (!any) {
+            if (sink != null) {
+                sink.parsed = DEC64_NAN;
+                sink.consumed = 0;
+            }
+            return DEC64_NAN;
+        }
+        if (i < end && (at(kind, source, i) == 'e' || at(kind, source, i) == 'E')) {
+            // An exponent marker counts only if digits follow
+            int j = i + 1;
+            boolean expNegative = false;
+            if (j < end && (at(kind, source, j) == '-' || at(kind, source, j) == '+')) {
+                expNegative = at(kind, source, j) == '-';
+                j++;
+            }
+            final int first = j;
+            int e = 0;
+            for (; j < end; j++) {
+                final int d = at(kind, source, j) - '0';
+                if (d < 0 || d > 9) {
+                    break;
+                }
+                if (e < EXPONENT_LIMIT) {
+                    e = e * 10 + d;
+                }
+            }
+            if (j > first) {
+                exp += expNegative ? -e : e;
+                i = j;
+            }
+        }
+        final @DEC64 long number = Basic64.pack(negative ? -coeff : coeff, exp);
+        if (sink == null) {
+            return i == end ? number : DEC64_NAN;
+        }
+        sink.parsed = number;
+        sink.consumed = i - offset;
+        return number;
+    }
+
+    /**
+     * Parses a decimal number from ASCII bytes, as
+     * {@link #toDEC64(CharSequence)}, but reading only as far as the number
+     * goes: the range may continue with a delimiter or anything else. An
+     * exponent marker not followed by digits is left unread. Runs of eight
+     * digits are converted eight at a time within a long (SWAR). The number
+     * is then available from {@link #parsed()}.
+     *
+     * @param bytes the ASCII text
+     * @param offset the first byte
+     * @param length the number of bytes available
+     * @return the number of bytes consumed, or 0 if the range does not start
+     * with a number, in which case the parsed value is NaN
+     */
+    public int parse(final byte[] bytes, final int offset, final int length) {
+        checkRange(bytes.length, offset, length);
+        scan(BYTES, bytes, offset, offset + length, this);
+        return consumed;
+    }
+
+    /**
+     * Parses a decimal number from ASCII bytes in a buffer, as
+     * {@link #parse(byte[], int, int)}. The offset is absolute and the
+     * buffer's position is not changed. Heap buffers are parsed in place;
+     * from direct buffers the characters of the number are first gathered
+     * into a scratch array held by this Format64.
+     *
+     * @param buffer the ASCII text
+     * @param offset the index of the first byte
+     * @param length the number of bytes available
+     * @return the number of bytes consumed, or 0 if the range does not start
+     * with a number
+     */
+    public int parse(final ByteBuffer buffer, final int offset, final int length) {
+        checkRange(buffer.limit(), offset, length);
+        if (buffer.hasArray()) {
+            return parse(buffer.array(), buffer.arrayOffset() + offset, length);
+        }
+        int n = 0;
+        while (n < length) {
+            final byte b = buffer.get(offset + n);
+            if (!((b >= '0' && b <= '9') || b == '.' || b == '-' || b == '+' || b == 'e' || b == 'E')) {
+                break;
+            }
+            if (n == scratch.length) {
+                scratch = Arrays.copyOf(scratch, n * 2);
+            }
+            scratch[n++] = b;
+        }
+        return parse(scratch, 0, n);
+    }
+
+    /**
+     * Returns the number read by the last call to parse.
+     *
+     * @return the number, or NaN if nothing was parsed
+     */
+    public @DEC64 long parsed() {
+        return parsed;
+    }
+
+    private static long littleEndianLong(final byte[] bytes, final int i) {
+        return (bytes[i] & 0xFFL)
+                | (bytes[i + 1] & 0xFFL) << 8
+                | (bytes[i + 2] & 0xFFL) << 16
+                | (bytes[i + 3] & 0xFFL) << 24
+                | (bytes[i + 4] & 0xFFL) << 32
+                | (bytes[i + 5] & 0xFFL) << 40
+                | (bytes[i + 6] & 0xFFL) << 48
+                | (bytes[i + 7] & 0xFFL) << 56;
+    }
+
+    // Every byte is '0' to '9': the high nibble is 3, and stays 3 after adding 6
+    private static boolean isEightDigits(final long chunk) {
+        return ((chunk & 0xF0F0F0F0F0F0F0F0L)
+                | (((chunk + 0x0606060606060606L) & 0xF0F0F0F0F0F0F0F0L) >>> 4)) == 0x3333333333333333L;
+    }
+
+    // Eight ASCII digits, first in the lowest byte, combined pairwise in
+    // three multiply steps
+    private static long eightDigits(long chunk) {
+        chunk -= 0x3030303030303030L;
+        chunk = (chunk * 10 + (chunk >>> 8)) & 0x00FF00FF00FF00FFL;
+        chunk = (chunk * 100 + (chunk >>> 16)) & 0x0000FFFF0000FFFFL;
+        return (chunk * 10000 + (chunk >>> 32)) & 0xFFFFFFFFL;
+    }
+
+    private static void checkRange(int size, int offset, int length) {
+        if (offset < 0 || length < 0 || length > size - offset) {
+            throw new IndexOutOfBoundsException("offset " + offset + ", length " + length + ", size " + size);
+        }
+    }
 }
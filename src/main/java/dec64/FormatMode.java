@@ -1,86 +1,250 @@
 package dec64;
 
 import dec64.annotations.DEC64;
-import static dec64.Basic64.*;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 
 /**
+ * Ways of writing a DEC64 number as text. Every digit of the coefficient is
+ * written, trailing zeros included, so 1.0 and 1.00 stay distinct.
+ *
+ * <ul>
+ * <li>STANDARD: plain notation with no exponent, such as 0.00125 or 1500</li>
+ * <li>SCIENTIFIC: one digit before the point, such as 1.25e-3 or 1.5e3</li>
+ * <li>ENGINEERING: one to three digits before the point and an exponent that
+ * is a multiple of three, such as 1.25e-3 or 15e-6</li>
+ * </ul>
+ *
+ * An exponent of zero is left out, and NaN is written as "NaN". The text is
+ * written straight from the coefficient, two digits at a time, into the
+ * caller's byte[] or char[]; the Appendable form of formatTo writes into a
+ * per-thread scratch array and appends from that. The formatTo methods
+ * allocate nothing.
  *
  * @author kittylyst
  */
 public enum FormatMode {
 
     ENGINEERING("ENG") {
-                public String format(@DEC64 long num) {
-                    final StringBuilder sb = new StringBuilder();
-
-                    return sb.toString();
+                int integerDigits(int digits, int exponent) {
+                    return Math.floorMod(digits + exponent - 1, 3) + 1;
                 }
-
             },
     SCIENTIFIC("SCI") {
-                public String format(@DEC64 long num) {
-                    final StringBuilder sb = new StringBuilder();
-
-                    return sb.toString();
+                int integerDigits(int digits, int exponent) {
+                    return 1;
                 }
-
             },
     STANDARD("STD") {
-                public String format(@DEC64 long num) {
-                    if (isNaN(num)) {
-                        return "NaN";
-                    }
-                    final StringBuilder sb = new StringBuilder();
-                    byte exp = exponent(num);
-                    long coeff = coefficient(num);
-                    if (exp == 0) {
-                        sb.append(coeff);
-                    } else if (exp > 0) {
-                        sb.append(coeff);
-                        while (exp-- > 0) {
-                            sb.append('0');
-                        }
-                    } else {
-                        char[] digits = (""+ coeff).toCharArray();
-                        int expp = Math.abs(exp);
-                        if (expp == digits.length) {
-                            sb.append("0.");
-                            sb.append(coeff);
-                        } else if (expp < digits.length) {
-                            for (int z=0; z< digits.length - expp; z++) {
-                                sb.append(digits[z]);
-                            }
-                            sb.append('.');
-                            for (int z=digits.length - expp; z< digits.length; z++) {
-                                sb.append(digits[z]);
-                            }
-                        } else {
-                            sb.append("0.");
-                            for (int z=0; z< expp - digits.length; z++) {
-                                sb.append('0');
-                            }
-                            sb.append(coeff);
-                        }
-                    }
-                    // FIXME Need to trim trailing zeros...
-//                    for (int i=sb.length() - 1; i>0; i--) {
-//                        if (sb.charAt(i) == '0')
-//                            sb.deleteCharAt(i);
-//                    }
-
-                    return sb.toString();
+                int integerDigits(int digits, int exponent) {
+                    return digits + exponent;
                 }
             };
 
+    /**
+     * The longest text any mode writes: a sign, 17 digits and 127 zeros.
+     */
+    public final static int MAX_LENGTH = 145;
+
+    // The tens and units digit of each number from 0 to 99
+    private final static byte[] TENS = new byte[100];
+    private final static byte[] UNITS = new byte[100];
+
+    static {
+        for (int i = 0; i < 100; i++) {
+            TENS[i] = (byte) ('0' + i / 10);
+            UNITS[i] = (byte) ('0' + i % 10);
+        }
+    }
+
+    private final static byte[] NAN = {'N', 'a', 'N'};
+
+    // Where the Appendable form writes the text first, as the enum constants
+    // are shared between threads
+    private final static ThreadLocal<byte[]> SCRATCH = ThreadLocal.withInitial(() -> new byte[MAX_LENGTH]);
+
     private String displayName;
 
     private FormatMode(String name) {
         displayName = name;
     }
 
-    public abstract String format(@DEC64 long num);
+    /**
+     * Where the decimal point goes: the number of coefficient digits before
+     * it, which is zero or less if the number starts "0.", or at least the
+     * digit count if there is no point. The exponent written is whatever is
+     * left over.
+     */
+    abstract int integerDigits(int digits, int exponent);
+
+    public String format(@DEC64 long num) {
+        byte[] text = new byte[length(num)];
+        formatTo(num, text, 0);
+        return new String(text, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Returns the number of characters {@link #format} would write.
+     *
+     * @param num the number
+     * @return the length of its text
+     */
+    public int length(@DEC64 long num) {
+        if (Basic64.isNaN(num)) {
+            return NAN.length;
+        }
+        long coeff = num >> 8;
+        int exp = (byte) num;
+        int n = digitCount(coeff);
+        int p = integerDigits(n, exp);
+        int suffix = exp + n - p;
+        int length = coeff < 0 ? 1 : 0;
+        if (p <= 0) {
+            length += 2 - p + n;
+        } else if (p >= n) {
+            length += p;
+        } else {
+            length += n + 1;
+        }
+        if (suffix != 0) {
+            length += (suffix < 0 ? 2 : 1) + digitCount(suffix);
+        }
+        return length;
+    }
+
+    /**
+     * Writes a number as ASCII text into an array.
+     *
+     * @param num the number
+     * @param dst the array to write to
+     * @param offset where to start writing
+     * @return the index just past the last character written
+     * @throws IndexOutOfBoundsException if the text does not fit, in which
+     * case nothing is written
+     */
+    public int formatTo(@DEC64 long num, byte[] dst, int offset) {
+        return write(num, dst, null, offset, dst.length);
+    }
+
+    /**
+     * Writes a number as text into an array, as
+     * {@link #formatTo(long, byte[], int)}.
+     *
+     * @param num the number
+     * @param dst the array to write to
+     * @param offset where to start writing
+     * @return the index just past the last character written
+     * @throws IndexOutOfBoundsException if the text does not fit, in which
+     * case nothing is written
+     */
+    public int formatTo(@DEC64 long num, char[] dst, int offset) {
+        return write(num, null, dst, offset, dst.length);
+    }
+
+    /**
+     * Appends a number as text to a StringBuilder, Writer or other
+     * Appendable.
+     *
+     * @param <A> the type of the Appendable
+     * @param num the number
+     * @param out where to append the text
+     * @return out
+     * @throws IOException if out does
+     */
+    public <A extends Appendable> A formatTo(@DEC64 long num, A out) throws IOException {
+        byte[] text = SCRATCH.get();
+        int length = formatTo(num, text, 0);
+        for (int i = 0; i < length; i++) {
+            out.append((char) text[i]);
+        }
+        return out;
+    }
+
+    // Writes the text of num at offset into bytes, or into chars if bytes is
+    // null, which holds size characters
+    private int write(@DEC64 long num, byte[] bytes, char[] chars, int offset, int size) {
+        int end = offset + length(num);
+        if (offset < 0 || end > size) {
+            throw new IndexOutOfBoundsException("offset " + offset + ", length " + (end - offset) + ", size " + size);
+        }
+        if (Basic64.isNaN(num)) {
+            for (int i = 0; i < NAN.length; i++) {
+                put(bytes, chars, offset + i, NAN[i]);
+            }
+            return end;
+        }
+        long coeff = num >> 8;
+        int exp = (byte) num;
+        long m = Math.abs(coeff);
+        int n = digitCount(coeff);
+        int p = integerDigits(n, exp);
+        int suffix = exp + n - p;
+        int i = offset;
+        if (coeff < 0) {
+            put(bytes, chars, i++, (byte) '-');
+        }
+        if (p <= 0) {
+            put(bytes, chars, i++, (byte) '0');
+            put(bytes, chars, i++, (byte) '.');
+            for (int z = p; z < 0; z++) {
+                put(bytes, chars, i++, (byte) '0');
+            }
+            i = putDigits(m, n, bytes, chars, i);
+        } else if (p >= n) {
+            i = putDigits(m, n, bytes, chars, i);
+            for (int z = n; z < p; z++) {
+                put(bytes, chars, i++, (byte) '0');
+            }
+        } else {
+            long scale = Basic64.POWERS_OF_TEN[n - p];
+            long high = m / scale;
+            i = putDigits(high, p, bytes, chars, i);
+            put(bytes, chars, i++, (byte) '.');
+            i = putDigits(m - high * scale, n - p, bytes, chars, i);
+        }
+        if (suffix != 0) {
+            put(bytes, chars, i++, (byte) 'e');
+            if (suffix < 0) {
+                put(bytes, chars, i++, (byte) '-');
+            }
+            i = putDigits(Math.abs(suffix), digitCount(suffix), bytes, chars, i);
+        }
+        return i;
+    }
 
     public String displayName() {
         return displayName;
     }
+
+    // Digits in a coefficient or exponent, counting zero as one digit
+    private static int digitCount(long value) {
+        return Math.max(1, Basic64.digitCount(Math.abs(value)));
+    }
+
+    // Writes exactly count digits of v, zero padded, from the right
+    private static int putDigits(long v, int count, byte[] bytes, char[] chars, int start) {
+        int end = start + count;
+        int i = end;
+        while (count >= 2) {
+            long q = v / 100;
+            int r = (int) (v - q * 100);
+            put(bytes, chars, --i, UNITS[r]);
+            put(bytes, chars, --i, TENS[r]);
+            v = q;
+            count -= 2;
+        }
+        if (count == 1) {
+            put(bytes, chars, --i, (byte) ('0' + v));
+        }
+        return end;
+    }
+
+    // Stores an ASCII character at i in bytes, or in chars if bytes is null
+    private static void put(byte[] bytes, char[] chars, int i, byte c) {
+        if (bytes != null) {
+            bytes[i] = c;
+        } else {
+            chars[i] = (char) c;
+        }
+    }
 }
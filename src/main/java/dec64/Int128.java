@@ -0,0 +1,117 @@
+package dec64;
+
+/**
+ * Helpers for 128 bit integer arithmetic on pairs of longs, used where DEC64
+ * intermediate results are wider than a single long. Values are represented
+ * as a high and a low word; nothing here allocates.
+ *
+ * The pom targets Java 8, so Math.multiplyHigh is not available and the
+ * equivalent is computed here from 32 bit halves.
+ */
+final class Int128 {
+
+    private final static long LOW_32 = 0xFFFF_FFFFL;
+
+    private Int128() {
+    }
+
+    /**
+     * Returns the high 64 bits of the signed 128 bit product of two longs.
+     * The low 64 bits are simply {@code x * y}.
+     *
+     * @param x first factor
+     * @param y second factor
+     * @return the high word of x * y
+     */
+    static long multiplyHigh(long x, long y) {
+        long x1 = x >> 32;
+        long x2 = x & LOW_32;
+        long y1 = y >> 32;
+        long y2 = y & LOW_32;
+        long z2 = x2 * y2;
+        long t = x1 * y2 + (z2 >>> 32);
+        long z1 = t & LOW_32;
+        long z0 = t >> 32;
+        z1 += x2 * y1;
+        return x1 * y1 + z0 + (z1 >> 32);
+    }
+
+    /**
+     * Returns the high 64 bits of the unsigned 128 bit product of two longs.
+     *
+     * @param x first factor, treated as unsigned
+     * @param y second factor, treated as unsigned
+     * @return the high word of x * y
+     */
+    static long multiplyHighUnsigned(long x, long y) {
+        return multiplyHigh(x, y) + ((x >> 63) & y) + ((y >> 63) & x);
+    }
+
+    /**
+     * Divides the unsigned 128 bit value {@code hi:lo} by {@code divisor}.
+     * The caller must ensure that {@code hi} is less than {@code divisor}
+     * (compared unsigned), so that the quotient fits in 64 bits. The
+     * remainder is {@code lo - quotient * divisor}.
+     *
+     * This is the two-digit long division from Hacker's Delight (divlu),
+     * using 32 bit digits and one hardware division per digit.
+     *
+     * @param hi high word of the dividend
+     * @param lo low word of the dividend
+     * @param divisor the divisor, which must be positive
+     * @return the unsigned 64 bit quotient
+     */
+    static long divideUnsigned(long hi, long lo, long divisor) {
+        if (hi == 0) {
+            return divideUnsigned(lo, divisor);
+        }
+        int shift = Long.numberOfLeadingZeros(divisor);
+        long v = divisor << shift;
+        long vn1 = v >>> 32;
+        long vn0 = v & LOW_32;
+        long un32 = shift == 0 ? hi : (hi << shift) | (lo >>> (64 - shift));
+        long un10 = lo << shift;
+        long un1 = un10 >>> 32;
+        long un0 = un10 & LOW_32;
+
+        long q1 = divideUnsigned(un32, vn1);
+        long rhat = un32 - q1 * vn1;
+        while (q1 > LOW_32 || Long.compareUnsigned(q1 * vn0, (rhat << 32) | un1) > 0) {
+            q1--;
+            rhat += vn1;
+            if (rhat > LOW_32) {
+                break;
+            }
+        }
+
+        long un21 = (un32 << 32) + un1 - q1 * v;
+        long q0 = divideUnsigned(un21, vn1);
+        rhat = un21 - q0 * vn1;
+        while (q0 > LOW_32 || Long.compareUnsigned(q0 * vn0, (rhat << 32) | un0) > 0) {
+            q0--;
+            rhat += vn1;
+            if (rhat > LOW_32) {
+                break;
+            }
+        }
+        return (q1 << 32) | q0;
+    }
+
+    /**
+     * Divides an unsigned long by a positive long. On Java 8
+     * Long.divideUnsigned goes through BigInteger when the dividend has its
+     * top bit set, so this uses the shift-and-correct method instead.
+     *
+     * @param dividend the dividend, treated as unsigned
+     * @param divisor the divisor, which must be positive
+     * @return the unsigned quotient
+     */
+    static long divideUnsigned(long dividend, long divisor) {
+        if (dividend >= 0) {
+            return dividend / divisor;
+        }
+        long q = ((dividend >>> 1) / divisor) << 1;
+        long r = dividend - q * divisor;
+        return Long.compareUnsigned(r, divisor) >= 0 ? q + 1 : q;
+    }
+}
@@ -10,9 +10,55 @@ import static dec64.Constants64.*;
  */
 public class Math64 {
 
+    // DEC64_MAX_COEFFICIENT^2 as a 128 bit integer, the most whose square
+    // root fits a coefficient
+    private final static long MAX_SQUARE_HI = Int128.multiplyHighUnsigned(DEC64_MAX_COEFFICIENT, DEC64_MAX_COEFFICIENT);
+    private final static long MAX_SQUARE_LO = DEC64_MAX_COEFFICIENT * DEC64_MAX_COEFFICIENT;
+
+    // The largest whole power raise works with, past which every base but
+    // one and minus one overflows or rounds to zero
+    private final static long WHOLE_LIMIT = 1L << 62;
+
     private Math64() {
     }
 
+    /**
+     * How much accuracy sin64, cos, exp, log and sqrt give for their time.
+     * The lower tiers stop the same polynomials and series at a lower
+     * degree, and sqrt leaves out its Newton step; the reductions, tables
+     * and the one rounding to DEC64 are the same in every tier, so results
+     * always keep 16 or 17 digits and the bounds below are relative to the
+     * exact result.
+     */
+    public enum Precision {
+        /**
+         * Within one unit in the last place, and nearly always correctly
+         * rounded; sqrt is always correctly rounded.
+         */
+        FULL(Trig64.DEGREE, ExpLog64.EXP_DEGREE, ExpLog64.LOG_DEGREE),
+        /**
+         * Relative error below 10^-14: sin and cos from polynomials of
+         * degree 7 in r^2, e^u of degree 6 and ln(1 + v) / v of degree 7.
+         */
+        HIGH(7, 6, 7),
+        /**
+         * Relative error below 10^-9, enough for nine significant digits:
+         * sin and cos of degree 5 in r^2, e^u of degree 4, with u taken in
+         * double arithmetic, and ln(1 + v) / v of degree 5.
+         */
+        FAST(5, 4, 5);
+
+        final int trigDegree;
+        final int expDegree;
+        final int logDegree;
+
+        Precision(int trigDegree, int expDegree, int logDegree) {
+            this.trigDegree = trigDegree;
+            this.expDegree = expDegree;
+            this.logDegree = logDegree;
+        }
+    }
+
     public static @DEC64
     long asin64(@DEC64 long slope) {
         if (equals64(slope, DEC64_ONE)) {
@@ -40,97 +86,145 @@ public class Math64 {
         return result;
     }
 
+    /**
+     * Returns the sine of a number of radians. The argument is reduced in
+     * constant time however large it is, and the result is within one unit in
+     * the last place.
+     *
+     * @param radians a DEC64 number
+     * @return the sine, or NaN if radians is NaN
+     */
     public static @DEC64
     long sin64(@DEC64 long radians) {
+        return Trig64.evaluate(radians, Trig64.SIN);
+    }
 
-        while (less(DEC64_PI, radians)) {
-            radians = subtract(radians, DEC64_PI);
-            radians = subtract(radians, DEC64_PI);
-        }
-        while (less(radians, DEC64_NPI)) {
-            radians = add(radians, DEC64_PI);
-            radians = add(radians, DEC64_PI);
-        }
-        boolean neg = true;
-        if (radians < 0) {
-            radians = neg(radians);
-            neg = false;
-        }
-        if (less(DEC64_HALF_PI, radians)) {
-            radians = subtract(DEC64_PI, radians);
-        }
-        @DEC64 long result;
-        if (radians == DEC64_HALF_PI) {
-            result = DEC64_ONE;
-        } else {
-            @DEC64 long x2 = multiply(radians, radians);
-            @DEC64 long order = DEC64_ONE;
-            @DEC64 long term = radians;
-            result = term;
-            while (true) {
-                term = multiply(term, x2);
-                order = inc(order);
-                term = divide(term, order);
-                order = inc(order);
-                term = divide(term, order);
-                @DEC64 long progress = subtract(result, term);
-
-                term = multiply(term, x2);
-                order = inc(order);
-                term = divide(term, order);
-                order = inc(order);
-                term = divide(term, order);
-                progress = add(progress, term);
+    /**
+     * Returns the sine of a number of radians to a precision.
+     *
+     * @param radians a DEC64 number
+     * @param precision the precision
+     * @return the sine, or NaN if radians is NaN
+     */
+    public static @DEC64
+    long sin64(@DEC64 long radians, Precision precision) {
+        return Trig64.evaluate(radians, Trig64.SIN, precision.trigDegree);
+    }
 
-                if (progress == result) {
-                    break;
-                }
-                result = progress;
-            }
-        }
-        // FIXME Check this negation logic works
-        if (neg) {
-            result = neg(result);
-        }
-        return result;
+    /**
+     * Returns e raised to a power, in a fixed number of steps: the power is
+     * split into a multiple of ln 10 / 64, taken from a table, and a small
+     * remainder for a polynomial. The result is within one unit in the last
+     * place.
+     *
+     * @param exponent a DEC64 number
+     * @return e^exponent, zero if it is too small for DEC64, or NaN if it is
+     * too large or exponent is NaN
+     */
+    public static @DEC64
+    long exp(@DEC64 long exponent) {
+        return ExpLog64.exp(exponent);
     }
 
-   public static @DEC64 long exp(@DEC64 long exponent) {
-      @DEC64 long result = inc(exponent);
-      @DEC64 long divisor = DEC64_TWO;
-      @DEC64 long term = exponent;
-      while (true) {
-         term = divide(multiply(term, exponent), divisor);
-         @DEC64 long progress = add(result, term);
-         if (equals64(result, progress)) {
-            break;
-         }
-         result = progress;
-         divisor = inc(divisor);
-      }
-      return result;
-   }
+    /**
+     * Returns e raised to a power to a precision.
+     *
+     * @param exponent a DEC64 number
+     * @param precision the precision
+     * @return e^exponent, zero if it is too small for DEC64, or NaN if it is
+     * too large or exponent is NaN
+     */
+    public static @DEC64
+    long exp(@DEC64 long exponent, Precision precision) {
+        return ExpLog64.exp(exponent, precision.expDegree);
+    }
 
-  //FIXME
+    /**
+     * Returns the square root of a number, correctly rounded.
+     *
+     * The coefficient is scaled by an even power of ten to N, of 33 or 34
+     * digits but at most DEC64_MAX_COEFFICIENT^2, so that the integer square
+     * root of N has 17 digits, or 16 when 17 would not fit. Math.sqrt of N
+     * as a double is within a few units of that root; one Newton step in
+     * 128 bit integers leaves it at most 1 too large, and one check of its
+     * square against N settles it. Rounding half away from zero is then
+     * exact, as the root is an integer or irrational.
+     *
+     * @param radicand a DEC64 number
+     * @return the square root, or NaN if radicand is negative or NaN
+     */
     public static @DEC64
     long sqrt(@DEC64 long radicand) {
-        if (!isNaN(radicand) && radicand >= 0) {
-            if (coefficient(radicand) == 0) {
-                return DEC64_ZERO;
-            }
-            @DEC64 long result = radicand;
+        return sqrt(radicand, Precision.FULL);
+    }
 
-            while (true) {
-                final @DEC64 long divided = divide(radicand, result);
-                @DEC64 long progress = half(add(result, divided));
-                if (progress == result) {
-                    return result;
-                }
-                result = progress;
-            }
-        } else {
+    /**
+     * Returns the square root of a number to a precision. Below FULL the
+     * root is Math.sqrt of N rounded, without the Newton step, and is within
+     * 10^-15 of the exact root relatively.
+     *
+     * @param radicand a DEC64 number
+     * @param precision the precision
+     * @return the square root, or NaN if radicand is negative or NaN
+     */
+    public static @DEC64
+    long sqrt(@DEC64 long radicand, Precision precision) {
+        long coeff = coefficient(radicand);
+        if (isNaN(radicand) || coeff < 0) {
             return DEC64_NAN;
         }
+        if (coeff == 0) {
+            return DEC64_ZERO;
+        }
+        int exp = exponent(radicand);
+        if ((exp & 1) != 0) {
+            coeff *= 10;
+            exp--;
+        }
+        // N = coeff * 10^t, with t even and 2 less when 34 digits are too many
+        int t = 34 - digitCount(coeff) & ~1;
+        long nhi = scaledHigh(coeff, t);
+        long nlo = scaledLow(coeff, t);
+        if (nhi > MAX_SQUARE_HI || nhi == MAX_SQUARE_HI && Long.compareUnsigned(nlo, MAX_SQUARE_LO) > 0) {
+            t -= 2;
+            nhi = scaledHigh(coeff, t);
+            nlo = scaledLow(coeff, t);
+        }
+        double estimate = nhi * 0x1p64 + (nlo >>> 1) * 2.0;
+        if (precision != Precision.FULL) {
+            return pack(Math.round(Math.sqrt(estimate)), (exp - t) / 2);
+        }
+        long root = (long) Math.sqrt(estimate);
+        root = (root + Int128.divideUnsigned(nhi, nlo, root)) >>> 1;
+        // N - root^2, which is negative when root is 1 too large
+        long rlo = root * root;
+        long rhi = Int128.multiplyHighUnsigned(root, root);
+        long dhi = nhi - rhi - (Long.compareUnsigned(nlo, rlo) < 0 ? 1 : 0);
+        long dlo = nlo - rlo;
+        if (dhi < 0) {
+            // N - (root - 1)^2 = N - root^2 + 2 root - 1
+            root--;
+            dlo += 2 * root + 1;
+            dhi = 0;
+        }
+        // Round up when N >= (root + 1/2)^2, that is N - root^2 > root
+        if (dhi != 0 || Long.compareUnsigned(dlo, root) > 0) {
+            root++;
+        }
+        return pack(root, (exp - t) / 2);
+    }
+
+    // The high and low words of coeff * 10^t, for t up to 34 and a product
+    // below 2^127
+    private static long scaledHigh(long coeff, int t) {
+        long p = POWERS_OF_TEN[t - t / 2];
+        long lo = coeff * POWERS_OF_TEN[t / 2];
+        long hi = Int128.multiplyHighUnsigned(coeff, POWERS_OF_TEN[t / 2]);
+        return hi * p + Int128.multiplyHighUnsigned(lo, p);
+    }
+
+    private static long scaledLow(long coeff, int t) {
+        return coeff * POWERS_OF_TEN[t / 2] * POWERS_OF_TEN[t - t / 2];
     }
 
     public static @DEC64 
@@ -139,85 +233,144 @@ public class Math64 {
         return result;
     }
   
+    /**
+     * Returns the cosine of a number of radians, as {@link #sin64}.
+     *
+     * @param radians a DEC64 number
+     * @return the cosine, or NaN if radians is NaN
+     */
     public static @DEC64
     long cos(@DEC64 long radians) {
-        return sin64(add(radians, DEC64_HALF_PI));
+        return Trig64.evaluate(radians, Trig64.COS);
+    }
+
+    /**
+     * Returns the cosine of a number of radians to a precision.
+     *
+     * @param radians a DEC64 number
+     * @param precision the precision
+     * @return the cosine, or NaN if radians is NaN
+     */
+    public static @DEC64
+    long cos(@DEC64 long radians, Precision precision) {
+        return Trig64.evaluate(radians, Trig64.COS, precision.trigDegree);
     }
 
+    /**
+     * Returns the tangent of a number of radians. The sine and cosine come
+     * from one argument reduction and are divided before rounding, so the
+     * result is rounded once.
+     *
+     * @param radians a DEC64 number
+     * @return the tangent, or NaN if radians is NaN
+     */
     public static @DEC64
     long tan(@DEC64 long radians) {
-        return divide(sin64(radians), cos(radians));
+        return Trig64.evaluate(radians, Trig64.TAN);
     }
 
+    /**
+     * Returns the natural logarithm of a number, in a fixed number of steps:
+     * the number is split into a power of ten, a table entry and a factor
+     * within 2% of one for a polynomial. The result is within one unit in
+     * the last place, however close the number is to one.
+     *
+     * @param x a DEC64 number
+     * @return ln x, or NaN if x is not positive or is NaN
+     */
     public static @DEC64
     long log(@DEC64 long x) {
-        if (x <= 0 || isNaN(x)) {
-            return DEC64_NAN;
-        }
-        if (equals64(x, DEC64_ONE)) {
-            return DEC64_ZERO;
-        }
-        if (equals64(x, DEC64_HALF)) {
-            return of(-6931471805599453L, -16);
-        }
-        if (equals64(x, DEC64_E)) {
-            return DEC64_ONE;
-        }
-
-        @DEC64 long y = divide(dec(x), x);
-        @DEC64 long factor = y;
-        @DEC64 long result = factor;
-        @DEC64 long divisor = DEC64_TWO;
+        return ExpLog64.log(x);
+    }
 
-        while (true) {
-            factor = multiply(factor, y);
-            @DEC64 long progress = add(result, divide(factor, divisor));
-            if (result == progress || progress == DEC64_NAN) {
-                break;
-            }
-            result = progress;
-            divisor = inc(divisor);
-        }
-        return result;
+    /**
+     * Returns the natural logarithm of a number to a precision.
+     *
+     * @param x a DEC64 number
+     * @param precision the precision
+     * @return ln x, or NaN if x is not positive or is NaN
+     */
+    public static @DEC64
+    long log(@DEC64 long x, Precision precision) {
+        return ExpLog64.log(x, precision.logDegree);
     }
-  
+
+    /**
+     * Raises a number to a power. A whole power is computed exactly while
+     * it fits 128 bits, and otherwise by repeated squaring of a 128 bit
+     * mantissa, rounding once at the end either way; a power of ten is
+     * raised by {@link #scaleByPowerOfTen}. A power of one half is a
+     * {@link #sqrt}, and any other power is exp(y ln x).
+     *
+     * @param coefficient the base, x
+     * @param exponent the power, y
+     * @return x^y; 1 if y is zero; NaN if either is NaN, if the result
+     * overflows, if x is zero and y negative, or if x is negative and y not
+     * whole
+     */
     public static @DEC64
     long raise(@DEC64 long coefficient, @DEC64 long exponent) {
-        if (isZero(exponent)) {
+        if (isNaN(exponent)) {
+            return DEC64_NAN;
+        }
+        long cy = coefficient(exponent);
+        if (cy == 0) {
             return DEC64_ONE;
         }
-
-        if (exponent < 0) {
-            coefficient = divide(DEC64_ONE, coefficient);
-            exponent = neg(exponent);
+        int ey = exponent(exponent);
+        if (ey >= 0) {
+            // Powers past 2^62 overflow or round to zero, except for one
+            // and minus one, and are even as they are multiples of ten
+            long n = ey < POWERS_OF_TEN.length && Math.abs(cy) <= WHOLE_LIMIT / POWERS_OF_TEN[ey]
+                    ? cy * POWERS_OF_TEN[ey]
+                    : cy < 0 ? -WHOLE_LIMIT : WHOLE_LIMIT;
+            return Power64.raise(coefficient, n);
         }
-        if (isZero(coefficient)) {
-            return 0;
+        if (-ey < POWERS_OF_TEN.length && cy % POWERS_OF_TEN[-ey] == 0) {
+            return Power64.raise(coefficient, cy / POWERS_OF_TEN[-ey]);
         }
         if (isNaN(coefficient)) {
             return DEC64_NAN;
         }
-
-        if (exponent > 0 && exponent(exponent) == 0) {
-            @DEC64 long aux = DEC64_ONE;
-            long n = coefficient(exponent);
-            if (n <= 1) {
-                return coefficient;
-            }
-            while (n > 1) {
-                if ((n & 1) != 0) {
-                    aux = multiply(aux, coefficient);
-                }
-                coefficient = multiply(coefficient, coefficient);
-                n /= 2;
-            }
-            return (n == 1) ? multiply(aux, coefficient) : aux;
+        if (isZero(coefficient)) {
+            return cy > 0 ? DEC64_ZERO : DEC64_NAN;
+        }
+        if (equals64(exponent, DEC64_HALF)) {
+            return sqrt(coefficient);
         }
         return exp(multiply(log(coefficient), exponent));
     }
 
+    /**
+     * Multiplies a number by a power of ten, which is only a change of
+     * exponent while the new exponent is in range. Beyond it digits are
+     * traded for exponent where the coefficient allows, and otherwise the
+     * result is NaN, or rounds towards zero.
+     *
+     * @param number a DEC64 number
+     * @param n the power of ten
+     * @return number * 10^n, or NaN if number is NaN
+     */
+    public static @DEC64
+    long scaleByPowerOfTen(@DEC64 long number, int n) {
+        if (isNaN(number)) {
+            return DEC64_NAN;
+        }
+        long coeff = coefficient(number);
+        if (coeff == 0) {
+            return DEC64_ZERO;
+        }
+        // Clamped so the sum cannot overflow; anything past 512 is far out
+        // of range either way
+        int exp = exponent(number) + Math.max(-512, Math.min(512, n));
+        if (exp >= MIN_EXPONENT && exp <= MAX_EXPONENT) {
+            return number & ~0xFFL | exp & 0xFFL;
+        }
+        return pack(coeff, exp);
+    }
+
     public static @DEC64 long atan(@DEC64 long slope) {
-        return asin64(divide(slope, sqrt(inc(multiply(slope, slope)))));
+        return asin64(divide(slope, sqrt(fma(slope, slope, DEC64_ONE))));
     }
 
     // FIXME Doesn't looks like it's been used at Doug's implementation but let's do it anyway.
@@ -256,15 +409,15 @@ public class Math64 {
             return DEC64_ZERO;
         }
         if (degree == DEC64_TWO) {
-            sqrt(radicand);
+            return sqrt(radicand);
         }
         @DEC64 long degree_minus_one = dec(degree);
         result = DEC64_ONE;
         @DEC64 long prosult = DEC64_NAN;
         while (true) {
             @DEC64 long progress = divide(
-                  add(
-                        multiply(result, degree_minus_one),
+                  fma(
+                        result, degree_minus_one,
                         divide(
                               radicand,
                               raise(result, degree_minus_one)
@@ -0,0 +1,233 @@
+package dec64;
+
+import dec64.annotations.DEC64;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.math.RoundingMode;
+
+import static dec64.Basic64.*;
+
+/**
+ * The pieces shared by the Math64 engines, {@link Trig64}, {@link ExpLog64}
+ * and {@link Power64}: powers of ten in binary, 62 bit fixed point
+ * arithmetic, the one rounding from binary back to DEC64, and the BigDecimal
+ * routines their tables are built from when the classes load.
+ *
+ * A value in binary is a 64 bit mantissa m, with its top bit set, and an
+ * exponent b, for m * 2^(b - 64), or where more precision is needed a 128
+ * bit mantissa hi:lo for hi:lo * 2^(b - 128). Fixed point values are longs
+ * counting units of 2^-62, so they hold magnitudes below 2.
+ */
+final class MathKernels {
+
+    final static long ONE_62 = 1L << 62;
+
+    // 10^d as a mantissa and exponent, for d from -POWERS_OFFSET to
+    // POWERS_OFFSET, which covers every DEC64 exponent and the scaling of
+    // every DEC64 magnitude to 17 digits
+    final static int POWERS_OFFSET = 150;
+    final static long[] POWER_MANTISSAS = new long[2 * POWERS_OFFSET + 1];
+    final static int[] POWER_EXPONENTS = new int[POWER_MANTISSAS.length];
+    // The same powers as 128 bit mantissas, for the same exponents
+    final static long[] POWER_HIGH = new long[POWER_MANTISSAS.length];
+    final static long[] POWER_LOW = new long[POWER_MANTISSAS.length];
+
+    static {
+        for (int i = 0; i < POWER_MANTISSAS.length; i++) {
+            BigDecimal power = BigDecimal.ONE.scaleByPowerOfTen(i - POWERS_OFFSET);
+            POWER_MANTISSAS[i] = mantissa(power);
+            POWER_EXPONENTS[i] = exponent(power);
+            BigInteger wide = mantissa(power, 128);
+            POWER_HIGH[i] = wide.shiftRight(64).longValue();
+            POWER_LOW[i] = wide.longValue();
+        }
+    }
+
+    private MathKernels() {
+    }
+
+    /**
+     * Returns the product of two 62 bit fixed point values, rounded down.
+     */
+    static long multiply62(long x, long y) {
+        return Int128.multiplyHigh(x, y) << 2 | (x * y) >>> 62;
+    }
+
+    /**
+     * Returns the number of bits in the unsigned 128 bit value hi:lo.
+     */
+    static int bitLength(long hi, long lo) {
+        return hi != 0 ? 128 - Long.numberOfLeadingZeros(hi) : 64 - Long.numberOfLeadingZeros(lo);
+    }
+
+    /**
+     * Returns the top 64 bits of the nonzero unsigned 128 bit value hi:lo,
+     * truncated: its mantissa, for the exponent bitLength(hi, lo) less the
+     * number of fraction bits.
+     */
+    static long top64(long hi, long lo, int bitLength) {
+        int shift = bitLength - 64;
+        if (shift <= 0) {
+            return lo << -shift;
+        }
+        return shift == 64 ? hi : hi << (64 - shift) | lo >>> shift;
+    }
+
+    /**
+     * Returns a value as 62 bit fixed point, rounded to nearest.
+     */
+    static long fixed62(BigDecimal value) {
+        return value.multiply(new BigDecimal(BigInteger.ONE.shiftLeft(62)))
+                .setScale(0, RoundingMode.HALF_EVEN).longValueExact();
+    }
+
+    /**
+     * Returns the mantissa of a positive value, rounded to nearest, for the
+     * exponent given by {@link #exponent}. None of the values used here is
+     * close enough below a power of two to round up to 2^64.
+     */
+    static long mantissa(BigDecimal value) {
+        return mantissa(value, 64).longValue();
+    }
+
+    /**
+     * Returns the mantissa of a positive value with a number of bits,
+     * rounded to nearest, for the exponent given by {@link #exponent}.
+     */
+    static BigInteger mantissa(BigDecimal value, int bits) {
+        int shift = bits - exponent(value);
+        BigDecimal scale = new BigDecimal(BigInteger.ONE.shiftLeft(Math.abs(shift)));
+        BigDecimal scaled = shift >= 0 ? value.multiply(scale) : value.divide(scale);
+        return scaled.setScale(0, RoundingMode.HALF_EVEN).toBigInteger();
+    }
+
+    /**
+     * Returns b such that a positive value is in [2^(b-1), 2^b).
+     */
+    static int exponent(BigDecimal value) {
+        int b = value.toBigInteger().bitLength();
+        if (b > 0) {
+            return b;
+        }
+        BigDecimal two = BigDecimal.valueOf(2);
+        while (value.compareTo(BigDecimal.ONE) < 0) {
+            value = value.multiply(two);
+            b--;
+        }
+        return b + 1;
+    }
+
+    /**
+     * Rounds m * 2^(b - 64) * 10^scale to the nearest DEC64 number, half
+     * away from zero, with 17 digits where they fit and 16 otherwise.
+     * Results beyond the DEC64 range are NaN or round towards zero, as
+     * {@link Basic64#pack}.
+     */
+    static @DEC64 long toDec64(boolean negative, long m, int b, int scale) {
+        // The value is in [2^(b-1), 2^b), so with d = 16 - floor(b log10 2)
+        // it times 10^d is in [5 * 10^15, 10^17)
+        int d = 16 - (int) Math.floor(b * 0.30102999566398120);
+        int i = d + POWERS_OFFSET;
+        long hi = Int128.multiplyHighUnsigned(m, POWER_MANTISSAS[i]);
+        // value * 10^d = hi * 2^(b + POWER_EXPONENTS[i] - 64)
+        return roundUnits(negative, hi, 64 - b - POWER_EXPONENTS[i], scale - d);
+    }
+
+    /**
+     * Rounds hi:lo * 2^(b - 128) * 10^scale to the nearest DEC64 number as
+     * {@link #toDec64(boolean, long, int, int)}, but with the power of ten
+     * to 128 bits, so the value is exact to about 2^-125 before it is
+     * rounded.
+     */
+    static @DEC64 long toDec64(boolean negative, long hi, long lo, int b, int scale) {
+        int d = 16 - (int) Math.floor(b * 0.30102999566398120);
+        int i = d + POWERS_OFFSET;
+        long ph = POWER_HIGH[i];
+        // The top word of the 256 bit product, with the carries into it
+        long word = hi * ph;
+        long cross = Int128.multiplyHighUnsigned(hi, POWER_LOW[i]);
+        word += cross;
+        long carry = Long.compareUnsigned(word, cross) < 0 ? 1 : 0;
+        cross = Int128.multiplyHighUnsigned(lo, ph);
+        word += cross;
+        carry += Long.compareUnsigned(word, cross) < 0 ? 1 : 0;
+        long top = Int128.multiplyHighUnsigned(hi, ph) + carry;
+        return roundUnits(negative, top, 64 - b - POWER_EXPONENTS[i], scale - d);
+    }
+
+    // Rounds top >>> shift, which is in [5 * 10^15, 10^17), to 17 digits
+    // or 16, half away from zero, for the exponent exp
+    private static @DEC64 long roundUnits(boolean negative, long top, int shift, int exp) {
+        long units = top >>> shift;
+        long half = (top >>> (shift - 1)) & 1;
+        if (units > DEC64_MAX_COEFFICIENT) {
+            half = units % 10 >= 5 ? 1 : 0;
+            units /= 10;
+            exp++;
+        }
+        units += half;
+        return pack(negative ? -units : units, exp);
+    }
+
+    /**
+     * Returns pi to a number of significant digits, from Machin's formula
+     * pi = 16 atan(1/5) - 4 atan(1/239).
+     */
+    static BigDecimal pi(int digits) {
+        MathContext mc = new MathContext(digits + 10);
+        BigDecimal pi = arctanInverse(5, mc).multiply(BigDecimal.valueOf(16))
+                .subtract(arctanInverse(239, mc).multiply(BigDecimal.valueOf(4)));
+        return pi.round(new MathContext(digits));
+    }
+
+    // atan(1/n) = 1/n - 1/(3 n^3) + 1/(5 n^5) - ...
+    private static BigDecimal arctanInverse(int n, MathContext mc) {
+        BigDecimal nSquared = BigDecimal.valueOf((long) n * n);
+        BigDecimal power = BigDecimal.ONE.divide(BigDecimal.valueOf(n), mc);
+        BigDecimal sum = power;
+        BigDecimal limit = BigDecimal.ONE.movePointLeft(mc.getPrecision());
+        for (int k = 1; power.compareTo(limit) > 0; k++) {
+            power = power.divide(nSquared, mc);
+            BigDecimal term = power.divide(BigDecimal.valueOf(2 * k + 1), mc);
+            sum = (k & 1) == 0 ? sum.add(term, mc) : sum.subtract(term, mc);
+        }
+        return sum;
+    }
+
+    /**
+     * Returns the natural logarithm of a positive value to the precision of
+     * mc, from ln y = 2 atanh((y - 1) / (y + 1)). Suited to y up to about
+     * ten.
+     */
+    static BigDecimal ln(BigDecimal y, MathContext mc) {
+        MathContext wide = new MathContext(mc.getPrecision() + 10);
+        BigDecimal z = y.subtract(BigDecimal.ONE).divide(y.add(BigDecimal.ONE), wide);
+        BigDecimal z2 = z.multiply(z, wide);
+        BigDecimal power = z;
+        BigDecimal sum = z;
+        BigDecimal limit = BigDecimal.ONE.movePointLeft(wide.getPrecision());
+        for (int k = 1; power.abs().compareTo(limit) > 0; k++) {
+            power = power.multiply(z2, wide);
+            sum = sum.add(power.divide(BigDecimal.valueOf(2 * k + 1), wide), wide);
+        }
+        return sum.multiply(BigDecimal.valueOf(2)).round(mc);
+    }
+
+    /**
+     * Returns e^x to the precision of mc, from the Taylor series. Suited to
+     * |x| up to about three.
+     */
+    static BigDecimal exp(BigDecimal x, MathContext mc) {
+        MathContext wide = new MathContext(mc.getPrecision() + 10);
+        BigDecimal term = BigDecimal.ONE;
+        BigDecimal sum = BigDecimal.ONE;
+        BigDecimal limit = BigDecimal.ONE.movePointLeft(wide.getPrecision());
+        for (int n = 1; term.abs().compareTo(limit) > 0; n++) {
+            term = term.multiply(x, wide).divide(BigDecimal.valueOf(n), wide);
+            sum = sum.add(term, wide);
+        }
+        return sum.round(mc);
+    }
+}
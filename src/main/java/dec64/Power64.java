@@ -0,0 +1,240 @@
+package dec64;
+
+import dec64.annotations.DEC64;
+
+import static dec64.Basic64.*;
+import static dec64.Constants64.*;
+import static dec64.MathKernels.*;
+
+/**
+ * The engine behind {@link Math64#raise} for whole exponents, and behind
+ * the tables of {@link Compounding64}.
+ *
+ * For x = c * 10^e and a whole n, x^n is c^n * 10^(e n). While c^n fits
+ * below 2^119 it is computed exactly in 128 bits and rounded once, half
+ * away from zero, so results such as 2^10 or 1.05^12 are exactly those of
+ * the exact power rounded to DEC64.
+ *
+ * Otherwise |x|, or 1/|x| for negative n, is taken to a 128 bit mantissa
+ * and raised by repeated squaring, each product keeping the top 128 of its
+ * 256 bits. Each step is exact to about 2^-125, so even after the 62 steps
+ * the largest exponents take the result is rounded to DEC64 only once, at
+ * the end. Results are within one unit in the last place, and are nearly
+ * always correctly rounded.
+ *
+ * Powers of ten, including one, are only a change of exponent.
+ */
+final class Power64 {
+
+    // c^n below 2^119 has at most 36 digits, so its leading 18 are one
+    // division away
+    private final static int EXACT_BITS = 119;
+    // Up to this power binary exponents cannot overflow, so results out of
+    // range are only found at the end; past it they are estimated first
+    private final static long ESTIMATE_POWER = 1 << 20;
+    // Powers beyond 10^145 overflow and below 10^-130 round to zero
+    private final static double MAX_DECADES = 145;
+    private final static double MIN_DECADES = -130;
+    // The same limits for a binary exponent, which also keep the rounding
+    // within the power of ten tables
+    private final static int MAX_BITS = 490;
+    private final static int MIN_BITS = -440;
+    // Shifts beyond any DEC64 exponent
+    private final static int MAX_SHIFT = 1024;
+
+    private final static double LN10 = Math.log(10);
+
+    private Power64() {
+    }
+
+    /**
+     * Returns a number raised to a whole power.
+     *
+     * @param x a DEC64 number
+     * @param n the power
+     * @return x^n, NaN if x is NaN, if the result overflows, or if x is zero
+     * and n is not positive
+     */
+    static @DEC64 long raise(@DEC64 long x, long n) {
+        if (isNaN(x)) {
+            return DEC64_NAN;
+        }
+        if (n == 0) {
+            return DEC64_ONE;
+        }
+        long coeff = coefficient(x);
+        if (coeff == 0) {
+            return n > 0 ? DEC64_ZERO : DEC64_NAN;
+        }
+        int exp = exponent(x);
+        boolean negative = coeff < 0 && (n & 1) != 0;
+        long magnitude = Math.abs(coeff);
+        int digits = digitCount(magnitude);
+
+        if (magnitude == POWERS_OF_TEN[digits - 1]) {
+            // |x| = 10^k, so x^n is 10^(k n)
+            long k = digits - 1 + exp;
+            long shift = Math.abs(n) < MAX_SHIFT ? k * n : k == 0 ? 0 : (k < 0 ^ n < 0) ? -MAX_SHIFT : MAX_SHIFT;
+            return Math64.scaleByPowerOfTen(negative ? DEC64_NEGATIVE_ONE : DEC64_ONE, (int) shift);
+        }
+
+        int bits = 64 - Long.numberOfLeadingZeros(magnitude);
+        if (n > 0 && n <= EXACT_BITS / bits) {
+            return exact(negative, magnitude, exp, (int) n);
+        }
+
+        if (Math.abs(n) > ESTIMATE_POWER) {
+            // log10 |x| from the nearer power of ten p, with log1p, so that
+            // it is accurate to the last bit even for x close to one
+            long p = POWERS_OF_TEN[digits - 1];
+            int decade = digits - 1;
+            if (magnitude - p > 4 * p) {
+                p = POWERS_OF_TEN[digits];
+                decade++;
+            }
+            double decades = (decade + exp + Math.log1p((double) (magnitude - p) / p) / LN10) * n;
+            if (decades > MAX_DECADES) {
+                return DEC64_NAN;
+            }
+            if (decades < MIN_DECADES) {
+                return DEC64_ZERO;
+            }
+        }
+
+        // The base, |x| or 1/|x|, as hi:lo * 2^(b - 128)
+        long hi;
+        long lo;
+        int b;
+        if (n > 0) {
+            int i = exp + POWERS_OFFSET;
+            long m = magnitude << (64 - bits);
+            long ph = POWER_HIGH[i];
+            long cross = Int128.multiplyHighUnsigned(m, POWER_LOW[i]);
+            lo = m * ph + cross;
+            hi = Int128.multiplyHighUnsigned(m, ph) + (Long.compareUnsigned(lo, cross) < 0 ? 1 : 0);
+            b = bits + POWER_EXPONENTS[i];
+            if (hi >= 0) {
+                hi = hi << 1 | lo >>> 63;
+                lo <<= 1;
+                b--;
+            }
+        } else {
+            // 10^-e / magnitude, to three words of quotient
+            int i = POWERS_OFFSET - exp;
+            long ph = POWER_HIGH[i];
+            long pl = POWER_LOW[i];
+            long q0 = Int128.divideUnsigned(ph, magnitude);
+            long q1 = Int128.divideUnsigned(ph - q0 * magnitude, pl, magnitude);
+            long q2 = Int128.divideUnsigned(pl - q1 * magnitude, 0, magnitude);
+            int s = Long.numberOfLeadingZeros(q0);
+            hi = s == 0 ? q0 : q0 << s | q1 >>> (64 - s);
+            lo = s == 0 ? q1 : q1 << s | q2 >>> (64 - s);
+            b = POWER_EXPONENTS[i] - s;
+        }
+
+        // The result, r, by repeated squaring of the base
+        long rh = 0;
+        long rl = 0;
+        int rb = 0;
+        boolean first = true;
+        for (long k = Math.abs(n); ; ) {
+            if ((k & 1) != 0) {
+                if (first) {
+                    rh = hi;
+                    rl = lo;
+                    rb = b;
+                    first = false;
+                } else {
+                    long word = rh * hi;
+                    long cross = Int128.multiplyHighUnsigned(rh, lo);
+                    word += cross;
+                    long carry = Long.compareUnsigned(word, cross) < 0 ? 1 : 0;
+                    cross = Int128.multiplyHighUnsigned(rl, hi);
+                    word += cross;
+                    carry += Long.compareUnsigned(word, cross) < 0 ? 1 : 0;
+                    rh = Int128.multiplyHighUnsigned(rh, hi) + carry;
+                    rl = word;
+                    rb += b;
+                    if (rh >= 0) {
+                        rh = rh << 1 | rl >>> 63;
+                        rl <<= 1;
+                        rb--;
+                    }
+                }
+            }
+            k >>>= 1;
+            if (k == 0) {
+                break;
+            }
+            long word = hi * hi;
+            long cross = Int128.multiplyHighUnsigned(hi, lo);
+            word += cross;
+            long carry = Long.compareUnsigned(word, cross) < 0 ? 1 : 0;
+            word += cross;
+            carry += Long.compareUnsigned(word, cross) < 0 ? 1 : 0;
+            hi = Int128.multiplyHighUnsigned(hi, hi) + carry;
+            lo = word;
+            b += b;
+            if (hi >= 0) {
+                hi = hi << 1 | lo >>> 63;
+                lo <<= 1;
+                b--;
+            }
+        }
+        // The exponent settles overflow and underflow, the estimate above
+        // being only to keep it within an int
+        if (rb > MAX_BITS) {
+            return DEC64_NAN;
+        }
+        if (rb < MIN_BITS) {
+            return DEC64_ZERO;
+        }
+        return toDec64(negative, rh, rl, rb, 0);
+    }
+
+    // magnitude^n * 10^(exp n), where magnitude^n < 2^EXACT_BITS
+    private static @DEC64 long exact(boolean negative, long magnitude, int exp, int n) {
+        // The power ph:pl and the square bh:bl, none ever wider than the
+        // power itself
+        long ph = 0;
+        long pl = 1;
+        long bh = 0;
+        long bl = magnitude;
+        for (int k = n; ; ) {
+            if ((k & 1) != 0) {
+                long high = Int128.multiplyHighUnsigned(pl, bl) + pl * bh + ph * bl;
+                pl *= bl;
+                ph = high;
+            }
+            k >>>= 1;
+            if (k == 0) {
+                break;
+            }
+            bh = Int128.multiplyHighUnsigned(bl, bl) + 2 * bl * bh;
+            bl *= bl;
+        }
+        int scale = exp * n;
+        if (ph == 0 && Long.compareUnsigned(pl, DEC64_MAX_COEFFICIENT) <= 0) {
+            return pack(negative ? -pl : pl, scale);
+        }
+        // The leading 18 digits, lead * 10^dropped being the power truncated
+        long lead;
+        int dropped;
+        long high = Int128.divideUnsigned(ph, pl, POWERS_OF_TEN[18]);
+        if (high != 0) {
+            dropped = digitCount(high);
+            lead = Int128.divideUnsigned(ph, pl, POWERS_OF_TEN[dropped]);
+        } else {
+            // Below 10^18, but too many digits for a coefficient
+            dropped = digitCount(pl) - 18;
+            lead = dropped == 0 ? pl : pl * 10;
+        }
+        long units = lead / 10 + (lead % 10 >= 5 ? 1 : 0);
+        scale += dropped + 1;
+        if (units > DEC64_MAX_COEFFICIENT) {
+            units = lead / 100 + (lead / 10 % 10 >= 5 ? 1 : 0);
+            scale++;
+        }
+        return pack(negative ? -units : units, scale);
+    }
+}
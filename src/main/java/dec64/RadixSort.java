@@ -0,0 +1,187 @@
+package dec64;
+
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * The sorts behind {@link Dec64Arrays#sort} and
+ * {@link Dec64Arrays#parallelSort}.
+ *
+ * Each number is paired with its {@link SortKeys sort key} and the pairs are
+ * sorted by an LSD radix sort on the keys, a byte at a time. One pass over
+ * the keys counts every byte position, and any position where all keys
+ * agree, such as the high bytes of prices in one range, is skipped. Small
+ * ranges use insertion sort instead. Both are stable, so numbers that are
+ * equal but written differently, such as 1.0 and 1.00, keep their order.
+ *
+ * The parallel sort radix sorts pieces of the range in the common
+ * fork/join pool and merges them.
+ */
+final class RadixSort {
+
+    // Below this many elements insertion sort beats the counting passes
+    private final static int INSERTION_THRESHOLD = 48;
+    // Below this many elements a fork/join task sorts sequentially
+    private final static int PARALLEL_THRESHOLD = 1 << 13;
+
+    private final static int RADIX_BITS = 8;
+    private final static int RADIX = 1 << RADIX_BITS;
+    private final static int PASSES = Long.SIZE / RADIX_BITS;
+
+    private RadixSort() {
+    }
+
+    static void sort(long[] a, int offset, int length) {
+        if (length < 2) {
+            return;
+        }
+        long[] keys = new long[length];
+        long[] values = new long[length];
+        System.arraycopy(a, offset, values, 0, length);
+        computeKeys(keys, values, 0, length);
+        sortPairs(keys, values, 0, length, new long[length], new long[length]);
+        System.arraycopy(values, 0, a, offset, length);
+    }
+
+    static void parallelSort(long[] a, int offset, int length) {
+        if (length <= PARALLEL_THRESHOLD) {
+            sort(a, offset, length);
+            return;
+        }
+        long[] keys = new long[length];
+        long[] values = new long[length];
+        System.arraycopy(a, offset, values, 0, length);
+        new SortTask(keys, values, new long[length], new long[length], 0, length).invoke();
+        System.arraycopy(values, 0, a, offset, length);
+    }
+
+    private static void computeKeys(long[] keys, long[] values, int from, int to) {
+        for (int i = from; i < to; i++) {
+            keys[i] = SortKeys.sortKey(values[i]);
+        }
+    }
+
+    // Sorts keys[from, to) and values alongside, using the buffers over the
+    // same indices as scratch
+    private static void sortPairs(long[] keys, long[] values, int from, int to,
+            long[] keyBuffer, long[] valueBuffer) {
+        int n = to - from;
+        if (n < INSERTION_THRESHOLD) {
+            insertionSort(keys, values, from, to);
+            return;
+        }
+        int[] counts = new int[PASSES * RADIX];
+        for (int i = from; i < to; i++) {
+            long key = keys[i];
+            for (int pass = 0; pass < PASSES; pass++) {
+                counts[pass * RADIX + ((int) (key >>> (pass * RADIX_BITS)) & (RADIX - 1))]++;
+            }
+        }
+        long[] srcKeys = keys;
+        long[] srcValues = values;
+        long[] dstKeys = keyBuffer;
+        long[] dstValues = valueBuffer;
+        for (int pass = 0; pass < PASSES; pass++) {
+            int shift = pass * RADIX_BITS;
+            int base = pass * RADIX;
+            if (counts[base + ((int) (srcKeys[from] >>> shift) & (RADIX - 1))] == n) {
+                // Every key has the same byte here
+                continue;
+            }
+            // Turn the counts into the first index of each byte value
+            int next = from;
+            for (int digit = 0; digit < RADIX; digit++) {
+                int count = counts[base + digit];
+                counts[base + digit] = next;
+                next += count;
+            }
+            for (int i = from; i < to; i++) {
+                long key = srcKeys[i];
+                int j = counts[base + ((int) (key >>> shift) & (RADIX - 1))]++;
+                dstKeys[j] = key;
+                dstValues[j] = srcValues[i];
+            }
+            long[] swap = srcKeys;
+            srcKeys = dstKeys;
+            dstKeys = swap;
+            swap = srcValues;
+            srcValues = dstValues;
+            dstValues = swap;
+        }
+        if (srcKeys != keys) {
+            System.arraycopy(srcKeys, from, keys, from, n);
+            System.arraycopy(srcValues, from, values, from, n);
+        }
+    }
+
+    private static void insertionSort(long[] keys, long[] values, int from, int to) {
+        for (int i = from + 1; i < to; i++) {
+            long key = keys[i];
+            long value = values[i];
+            int j = i - 1;
+            while (j >= from && Long.compareUnsigned(keys[j], key) > 0) {
+                keys[j + 1] = keys[j];
+                values[j + 1] = values[j];
+                j--;
+            }
+            keys[j + 1] = key;
+            values[j + 1] = value;
+        }
+    }
+
+    // Merges the sorted runs [from, mid) and [mid, to) through the buffers,
+    // taking from the left run on ties to stay stable
+    private static void merge(long[] keys, long[] values, int from, int mid, int to,
+            long[] keyBuffer, long[] valueBuffer) {
+        int i = from;
+        int j = mid;
+        int k = from;
+        while (i < mid && j < to) {
+            if (Long.compareUnsigned(keys[j], keys[i]) < 0) {
+                keyBuffer[k] = keys[j];
+                valueBuffer[k++] = values[j++];
+            } else {
+                keyBuffer[k] = keys[i];
+                valueBuffer[k++] = values[i++];
+            }
+        }
+        System.arraycopy(keys, i, keyBuffer, k, mid - i);
+        System.arraycopy(values, i, valueBuffer, k, mid - i);
+        k += mid - i;
+        System.arraycopy(keys, j, keyBuffer, k, to - j);
+        System.arraycopy(values, j, valueBuffer, k, to - j);
+        System.arraycopy(keyBuffer, from, keys, from, to - from);
+        System.arraycopy(valueBuffer, from, values, from, to - from);
+    }
+
+    private static final class SortTask extends RecursiveAction {
+
+        private final long[] keys;
+        private final long[] values;
+        private final long[] keyBuffer;
+        private final long[] valueBuffer;
+        private final int from;
+        private final int to;
+
+        SortTask(long[] keys, long[] values, long[] keyBuffer, long[] valueBuffer, int from, int to) {
+            this.keys = keys;
+            this.values = values;
+            this.keyBuffer = keyBuffer;
+            this.valueBuffer = valueBuffer;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= PARALLEL_THRESHOLD) {
+                computeKeys(keys, values, from, to);
+                sortPairs(keys, values, from, to, keyBuffer, valueBuffer);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new SortTask(keys, values, keyBuffer, valueBuffer, from, mid),
+                    new SortTask(keys, values, keyBuffer, valueBuffer, mid, to));
+            merge(keys, values, from, mid, to, keyBuffer, valueBuffer);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package dec64;
+
+import dec64.annotations.DEC64;
+
+import static dec64.Basic64.*;
+import static dec64.Constants64.DEC64_NAN;
+
+/**
+ * The order-preserving keys behind {@link Basic64#sortKey} and the radix
+ * sort in {@link Dec64Arrays}.
+ *
+ * A number is first brought to its widest form: the coefficient scaled up
+ * by ten while its magnitude stays within 2^55 and the exponent stays at
+ * least -127. Every nonzero number then has one widest form, and above
+ * exponent -127 its magnitude is in [LOW, 2^55], so each exponent is a band
+ * of SPAN magnitudes lying wholly above the band below. Counting through
+ * the bands gives each magnitude an index below 2^63, which is added to or
+ * subtracted from 2^63 according to the sign. All NaNs take the greatest
+ * key, as in {@link Basic64#compare}.
+ */
+final class SortKeys {
+
+    private final static long MAX_MAGNITUDE = 1L << 55;
+    // The least widest magnitude above exponent -127: LOW * 10 > 2^55
+    private final static long LOW = MAX_MAGNITUDE / 10 + 1;
+    private final static long SPAN = MAX_MAGNITUDE - LOW + 1;
+    private final static int MIN_EXPONENT = -127;
+    private final static int BANDS = 255;
+    private final static long MAX_INDEX = MAX_MAGNITUDE + (BANDS - 1) * SPAN;
+
+    final static long NAN_KEY = -1L;
+
+    private SortKeys() {
+    }
+
+    static long sortKey(@DEC64 long number) {
+        if (isNaN(number)) {
+            return NAN_KEY;
+        }
+        long coeff = coefficient(number);
+        if (coeff == 0) {
+            return Long.MIN_VALUE;
+        }
+        int exp = exponent(number);
+        long magnitude = Math.abs(coeff);
+        // 10^(17 - d) * magnitude < 10^17 cannot overflow
+        int k = 17 - digitCount(magnitude);
+        if (magnitude * POWERS_OF_TEN[k] > MAX_MAGNITUDE) {
+            k--;
+        }
+        k = Math.min(k, exp - MIN_EXPONENT);
+        magnitude *= POWERS_OF_TEN[k];
+        exp -= k;
+        long index = exp == MIN_EXPONENT
+                ? magnitude
+                : MAX_MAGNITUDE + 1 + (exp - MIN_EXPONENT - 1) * SPAN + (magnitude - LOW);
+        return coeff > 0 ? Long.MIN_VALUE + index : Long.MIN_VALUE - index;
+    }
+
+    static @DEC64 long fromSortKey(long key) {
+        if (key == NAN_KEY) {
+            return DEC64_NAN;
+        }
+        long signed = key ^ Long.MIN_VALUE;
+        long index = Math.abs(signed);
+        if (index > MAX_INDEX || signed == Long.MIN_VALUE) {
+            // Between the greatest number and NaN, or below the least number
+            return DEC64_NAN;
+        }
+        long magnitude;
+        int exp;
+        if (index <= MAX_MAGNITUDE) {
+            magnitude = index;
+            exp = MIN_EXPONENT;
+        } else {
+            long t = index - MAX_MAGNITUDE - 1;
+            magnitude = LOW + t % SPAN;
+            exp = MIN_EXPONENT + 1 + (int) (t / SPAN);
+        }
+        // A positive 2^55 is the one magnitude that does not fit, and pack
+        // rounds it
+        return canonical(pack(signed < 0 ? -magnitude : magnitude, exp));
+    }
+
+    static void sortKey(@DEC64 long number, byte[] dst, int offset) {
+        if (offset < 0 || offset > dst.length - 8) {
+            throw new ArrayIndexOutOfBoundsException(offset < 0 ? offset : offset + 8);
+        }
+        long key = sortKey(number);
+        for (int i = 7; i >= 0; i--) {
+            dst[offset + i] = (byte) key;
+            key >>>= 8;
+        }
+    }
+
+    static @DEC64 long fromSortKey(byte[] src, int offset) {
+        if (offset < 0 || offset > src.length - 8) {
+            throw new ArrayIndexOutOfBoundsException(offset < 0 ? offset : offset + 8);
+        }
+        long key = 0;
+        for (int i = 0; i < 8; i++) {
+            key = key << 8 | (src[offset + i] & 0xFF);
+        }
+        return fromSortKey(key);
+    }
+}
@@ -0,0 +1,238 @@
+package dec64;
+
+import dec64.annotations.DEC64;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+/**
+ * The striped exact sum behind {@link dec64.concurrent.Dec64Adder}, which
+ * reaches it reflectively so that none of this is public. Uncontended adds
+ * go to a single cell; once threads start to collide, each thread is hashed
+ * to one of a table of cells that grows up to the number of processors. A
+ * thread that finds its cell busy moves to another rather than waiting.
+ *
+ * Each cell holds its running sum as the flat words of a {@link WideSum},
+ * inline between two runs of padding, so that the words every add writes
+ * never share a cache line with another cell's. The words are double
+ * buffered, so that reading a cell never waits for a writer. An add loads
+ * the buffer that readers are reading into a scratch WideSum of its thread's
+ * (or of the base cell's), adds to that, stores it into the other buffer and
+ * publishes it by bumping a version. A reader copies the published buffer and retries only if
+ * another add was published meanwhile, so a writer that is preempted mid-add
+ * delays only other writers to the same cell.
+ */
+final class StripedSum {
+
+    private static final int NCPU = Runtime.getRuntime().availableProcessors();
+
+    // Table size cap: the smallest power of two at least NCPU
+    private static final int MAX_CELLS = Integer.highestOneBit(Math.max(1, NCPU - 1)) << 1;
+
+    private static final AtomicIntegerFieldUpdater<StripedSum> RESIZING =
+            AtomicIntegerFieldUpdater.newUpdater(StripedSum.class, "resizing");
+
+    private static final ThreadLocal<Probe> PROBE = ThreadLocal.withInitial(Probe::new);
+
+    private final Cell base = new Cell();
+    // Only the thread holding base's lock uses this, which saves looking up
+    // the thread's own scratch sum until there is contention
+    private final WideSum baseScratch = new WideSum();
+    private volatile Cell[] cells;
+    private volatile int resizing;
+
+    void add(@DEC64 long x) {
+        Cell[] cs = cells;
+        if (cs == null) {
+            if (base.tryAdd(x, baseScratch)) {
+                return;
+            }
+            cs = grow(null);
+        }
+        Probe probe = PROBE.get();
+        int h = probe.hash;
+        for (int misses = 0; ; misses++) {
+            Cell c = cs[h & (cs.length - 1)];
+            if (c.tryAdd(x, probe.scratch)) {
+                probe.hash = h;
+                return;
+            }
+            // Marsaglia xorshift, as the JDK adders use to rehash
+            h ^= h << 13;
+            h ^= h >>> 17;
+            h ^= h << 5;
+            if (misses > 0 && cs.length < MAX_CELLS) {
+                cs = grow(cs);
+            } else if (misses > cs.length) {
+                Thread.yield();
+            }
+        }
+    }
+
+    /**
+     * Merges the cells exactly and rounds once. Adds in progress may or may
+     * not be counted, and nothing waits for them.
+     */
+    @DEC64 long sum() {
+        return collect(false);
+    }
+
+    /**
+     * Merges and empties the cells. Each cell is read and emptied under its
+     * lock, so that no add falls between the two; that waits for an add in
+     * progress on the cell, yielding, and so can be held up by a writer that
+     * has been preempted.
+     */
+    @DEC64 long sumThenReset() {
+        return collect(true);
+    }
+
+    private @DEC64 long collect(boolean reset) {
+        WideSum total = new WideSum();
+        WideSum scratch = new WideSum();
+        base.collect(total, scratch, reset);
+        Cell[] cs = cells;
+        if (cs != null) {
+            for (Cell c : cs) {
+                c.collect(total, scratch, reset);
+            }
+        }
+        return total.toDec64();
+    }
+
+    // Doubles the cell table, or creates it; returns the current table
+    private Cell[] grow(Cell[] seen) {
+        if (RESIZING.compareAndSet(this, 0, 1)) {
+            try {
+                Cell[] cs = cells;
+                if (cs == seen) {
+                    int n = cs == null ? 2 : cs.length << 1;
+                    Cell[] bigger = new Cell[n];
+                    int kept = 0;
+                    if (cs != null) {
+                        System.arraycopy(cs, 0, bigger, 0, cs.length);
+                        kept = cs.length;
+                    }
+                    for (int i = kept; i < n; i++) {
+                        bigger[i] = new Cell();
+                    }
+                    cells = bigger;
+                }
+            } finally {
+                resizing = 0;
+            }
+        }
+        Cell[] cs = cells;
+        while (cs == null) {
+            // Another thread is creating the first table
+            Thread.yield();
+            cs = cells;
+        }
+        return cs;
+    }
+
+    // A thread's current cell index, rehashed when the cell was busy, and
+    // the sum it adds in before storing it back into a cell
+    private static final class Probe {
+        int hash = ThreadLocalRandom.current().nextInt() | 1;
+        final WideSum scratch = new WideSum();
+    }
+
+    // HotSpot lays out superclass fields first, so this padding comes before
+    // the words of CellWords and Cell's comes after them
+    abstract static class CellPad {
+        long p01, p02, p03, p04, p05, p06, p07, p08;
+        long p09, p10, p11, p12, p13, p14, p15, p16;
+    }
+
+    abstract static class CellWords extends CellPad {
+        // Two WideSums, as their accessors return them; readers read buffer
+        // 0 while the version is even and buffer 1 while it is odd. All
+        // zero is the empty sum
+        long hi0, lo0, spill0;
+        int exponent0, flags0;
+        long hi1, lo1, spill1;
+        int exponent1, flags1;
+        volatile int busy;
+        volatile int version;
+    }
+
+    static final class Cell extends CellWords {
+
+        private static final AtomicIntegerFieldUpdater<CellWords> BUSY =
+                AtomicIntegerFieldUpdater.newUpdater(CellWords.class, "busy");
+        private static final AtomicIntegerFieldUpdater<CellWords> VERSION =
+                AtomicIntegerFieldUpdater.newUpdater(CellWords.class, "version");
+
+        long q01, q02, q03, q04, q05, q06, q07, q08;
+        long q09, q10, q11, q12, q13, q14, q15, q16;
+
+        // Adds x unless another thread is adding to this cell; false, having
+        // added nothing, if it was
+        boolean tryAdd(@DEC64 long x, WideSum scratch) {
+            if (busy != 0 || !BUSY.compareAndSet(this, 0, 1)) {
+                return false;
+            }
+            int v = version;
+            read(v, scratch);
+            scratch.add(x);
+            write(v + 1, scratch);
+            version = v + 1;
+            BUSY.lazySet(this, 0);
+            return true;
+        }
+
+        void collect(WideSum total, WideSum scratch, boolean reset) {
+            if (reset) {
+                while (busy != 0 || !BUSY.compareAndSet(this, 0, 1)) {
+                    Thread.yield();
+                }
+                int v = version;
+                read(v, scratch);
+                total.add(scratch);
+                scratch.reset();
+                write(v, scratch);
+                write(v + 1, scratch);
+                version = v + 1;
+                BUSY.lazySet(this, 0);
+                return;
+            }
+            for (;;) {
+                int v = version;
+                read(v, scratch);
+                // The writer of that buffer next publishes v + 2, after v + 1,
+                // so an unchanged version means the copy is whole; the CAS
+                // orders the copy before the check, as a volatile read would not
+                if (VERSION.compareAndSet(this, v, v)) {
+                    total.add(scratch);
+                    return;
+                }
+            }
+        }
+
+        // Loads the buffer that readers read at version v
+        private void read(int v, WideSum into) {
+            if ((v & 1) == 0) {
+                into.load(hi0, lo0, exponent0, flags0, spill0);
+            } else {
+                into.load(hi1, lo1, exponent1, flags1, spill1);
+            }
+        }
+
+        // Stores the buffer that readers read at version v
+        private void write(int v, WideSum from) {
+            if ((v & 1) == 0) {
+                hi0 = from.hi();
+                lo0 = from.lo();
+                exponent0 = from.exponent();
+                flags0 = from.flags();
+                spill0 = from.spill();
+            } else {
+                hi1 = from.hi();
+                lo1 = from.lo();
+                exponent1 = from.exponent();
+                flags1 = from.flags();
+                spill1 = from.spill();
+            }
+        }
+    }
+}
@@ -0,0 +1,258 @@
+package dec64;
+
+import dec64.annotations.DEC64;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.math.RoundingMode;
+
+import static dec64.Basic64.*;
+import static dec64.Constants64.*;
+import static dec64.MathKernels.*;
+
+/**
+ * The trigonometric engine behind {@link Math64#sin64}, {@link Math64#cos}
+ * and {@link Math64#tan}.
+ *
+ * An argument x = c * 10^e at least pi/4 is reduced in constant time. The
+ * table holds 10^e * 2/pi modulo 4 for every exponent e, to 190 fractional
+ * bits, so x * 2/pi modulo 4 is the low 192 bits of c times one table entry:
+ * the top two bits are the quadrant and the rest is the remainder, exact to
+ * about 2^-135 of a quadrant however large x is. The remainder times pi/2 is
+ * the reduced argument r, with |r| <= pi/4.
+ *
+ * sin r = r * S(r^2) and cos r = C(r^2), where S and C are the Taylor
+ * polynomials of degree 9 in r^2. At that degree their truncation error is
+ * below 2^-64, so each is ten coefficients evaluated by Horner's rule in 62
+ * bit fixed point, a multiply and subtract per step. Working in binary keeps
+ * each step to one 128 bit product; the one conversion back to decimal is at
+ * the end, where the result is rounded to a DEC64 number once.
+ *
+ * Intermediate values are mantissas and exponents, as in
+ * {@link MathKernels}. Results are within one unit in the last place, and
+ * are nearly always correctly rounded. For {@link Math64.Precision} tiers
+ * below FULL the polynomials stop at a lower degree.
+ */
+final class Trig64 {
+
+    final static int SIN = 0;
+    final static int COS = 1;
+    final static int TAN = 2;
+
+    // Below 10^-9 sin x and tan x round to x, and cos x to one
+    private final static int TINY_EXPONENT = -9;
+    // Just below pi/4; smaller arguments need no reduction
+    private final static @DEC64 long QUARTER_PI = pack(7853981633974483L, -16);
+
+    // The least exponent of a reduced argument; c < 2^55 < 10^17 so
+    // c * 10^e >= pi/4 needs e >= -16
+    private final static int MIN_REDUCED_EXPONENT = -16;
+    private final static int REDUCTION_BITS = 190;
+    // Words of 10^e * 2/pi modulo 4, times 2^190, from high to low
+    private final static long[] TWO_OVER_PI_0 = new long[128 - MIN_REDUCED_EXPONENT];
+    private final static long[] TWO_OVER_PI_1 = new long[TWO_OVER_PI_0.length];
+    private final static long[] TWO_OVER_PI_2 = new long[TWO_OVER_PI_0.length];
+
+    // pi/2 as a mantissa with exponent 1
+    private final static long HALF_PI_MANTISSA;
+
+    final static int DEGREE = 9;
+    // 1 / (2n + 1)! and 1 / (2n)! in 62 bit fixed point
+    private final static long[] SIN_COEFFICIENTS = new long[DEGREE + 1];
+    private final static long[] COS_COEFFICIENTS = new long[DEGREE + 1];
+
+    static {
+        BigDecimal pi = pi(320);
+        BigDecimal twoOverPi = BigDecimal.valueOf(2).divide(pi, new MathContext(310));
+        BigInteger scale = BigInteger.ONE.shiftLeft(REDUCTION_BITS);
+        BigDecimal scaledTwoOverPi = twoOverPi.multiply(new BigDecimal(scale));
+        for (int i = 0; i < TWO_OVER_PI_0.length; i++) {
+            BigInteger w = scaledTwoOverPi.scaleByPowerOfTen(i + MIN_REDUCED_EXPONENT)
+                    .setScale(0, RoundingMode.FLOOR).toBigInteger();
+            TWO_OVER_PI_0[i] = w.shiftRight(128).longValue();
+            TWO_OVER_PI_1[i] = w.shiftRight(64).longValue();
+            TWO_OVER_PI_2[i] = w.longValue();
+        }
+        HALF_PI_MANTISSA = mantissa(pi.divide(BigDecimal.valueOf(2)));
+
+        BigDecimal factorial = BigDecimal.ONE;
+        for (int n = 0; n <= 2 * DEGREE + 1; n++) {
+            if (n > 0) {
+                factorial = factorial.multiply(BigDecimal.valueOf(n));
+            }
+            long c = fixed62(BigDecimal.ONE.divide(factorial, MathContext.DECIMAL128));
+            if ((n & 1) == 0) {
+                COS_COEFFICIENTS[n / 2] = c;
+            } else {
+                SIN_COEFFICIENTS[n / 2] = c;
+            }
+        }
+    }
+
+    private Trig64() {
+    }
+
+    /**
+     * Returns the sine, cosine or tangent of a number of radians.
+     *
+     * @param radians a DEC64 number
+     * @param function SIN, COS or TAN
+     * @return the result, or NaN if radians is NaN
+     */
+    static @DEC64 long evaluate(@DEC64 long radians, int function) {
+        return evaluate(radians, function, DEGREE);
+    }
+
+    /**
+     * Returns the sine, cosine or tangent of a number of radians from
+     * polynomials of a given degree in r^2.
+     *
+     * @param radians a DEC64 number
+     * @param function SIN, COS or TAN
+     * @param degree the degree, at most DEGREE
+     * @return the result, or NaN if radians is NaN
+     */
+    static @DEC64 long evaluate(@DEC64 long radians, int function, int degree) {
+        if (isNaN(radians)) {
+            return DEC64_NAN;
+        }
+        long coeff = coefficient(radians);
+        int exp = exponent(radians);
+        long magnitude = Math.abs(coeff);
+        if (coeff == 0 || exp + digitCount(magnitude) <= TINY_EXPONENT) {
+            return function == COS ? DEC64_ONE : coeff == 0 ? DEC64_ZERO : radians;
+        }
+
+        int quadrant;
+        boolean negativeR;
+        // |r| = rm * 2^(rb - 64)
+        long rm;
+        int rb;
+        if (compare(coeff < 0 ? neg(radians) : radians, QUARTER_PI) < 0) {
+            quadrant = 0;
+            negativeR = false;
+            int lz = Long.numberOfLeadingZeros(magnitude);
+            long m = magnitude << lz;
+            long p = POWER_MANTISSAS[exp + POWERS_OFFSET];
+            rm = Int128.multiplyHighUnsigned(m, p);
+            rb = 64 - lz + POWER_EXPONENTS[exp + POWERS_OFFSET];
+            if (rm >= 0) {
+                rm = rm << 1 | (m * p) >>> 63;
+                rb--;
+            }
+        } else {
+            // magnitude * 10^exp * 2/pi modulo 4, times 2^190
+            int i = exp - MIN_REDUCED_EXPONENT;
+            long w1 = TWO_OVER_PI_1[i];
+            long w2 = TWO_OVER_PI_2[i];
+            long f2 = magnitude * w2;
+            long p1 = magnitude * w1;
+            long f1 = Int128.multiplyHighUnsigned(magnitude, w2) + p1;
+            long carry = Long.compareUnsigned(f1, p1) < 0 ? 1 : 0;
+            long f0 = Int128.multiplyHighUnsigned(magnitude, w1) + magnitude * TWO_OVER_PI_0[i] + carry;
+            quadrant = (int) (f0 >>> 62);
+            f0 &= (1L << 62) - 1;
+            negativeR = f0 >>> 61 != 0;
+            if (negativeR) {
+                // A remainder of half a quadrant or more is the next quadrant
+                // less 1 - remainder
+                quadrant = (quadrant + 1) & 3;
+                f2 = -f2;
+                f1 = ~f1 + (f2 == 0 ? 1 : 0);
+                f0 = (~f0 + (f2 == 0 && f1 == 0 ? 1 : 0)) & ((1L << 62) - 1);
+            }
+            // The top bit of the remainder is bit 189 - lz of its 190
+            int lz;
+            long m;
+            if (f0 != 0) {
+                lz = Long.numberOfLeadingZeros(f0) - 2;
+                m = f0 << (lz + 2) | f1 >>> (62 - lz);
+            } else if (f1 != 0) {
+                lz = 62 + Long.numberOfLeadingZeros(f1);
+                int s = lz - 62;
+                m = s == 0 ? f1 : f1 << s | f2 >>> (64 - s);
+            } else if (f2 != 0) {
+                lz = 126 + Long.numberOfLeadingZeros(f2);
+                m = f2 << (lz - 126);
+            } else {
+                // A nonzero decimal is never a multiple of pi/2
+                throw new AssertionError(radians);
+            }
+            // r = remainder * pi/2, where remainder = m * 2^(-lz - 64)
+            rm = Int128.multiplyHighUnsigned(m, HALF_PI_MANTISSA);
+            rb = 1 - lz;
+            if (rm >= 0) {
+                rm = rm << 1 | (m * HALF_PI_MANTISSA) >>> 63;
+                rb--;
+            }
+        }
+
+        // r^2 in 62 bit fixed point; |r| < 1 so rb <= 0
+        int shift = 2 - rb;
+        long r62 = shift < 64 ? rm >>> shift : 0;
+        long z = multiply62(r62, r62);
+
+        boolean even = (quadrant & 1) == 0;
+        boolean negative;
+        long m;
+        int b;
+        if (function == TAN) {
+            long s = horner(SIN_COEFFICIENTS, z, degree);
+            int sz = Long.numberOfLeadingZeros(s);
+            long sm = Int128.multiplyHighUnsigned(rm, s << sz);
+            int sb = rb + 2 - sz;
+            if (sm >= 0) {
+                sm = sm << 1 | (rm * (s << sz)) >>> 63;
+                sb--;
+            }
+            long c = horner(COS_COEFFICIENTS, z, degree);
+            int cz = Long.numberOfLeadingZeros(c);
+            long cm = c << cz;
+            int cb = 2 - cz;
+            // tan r = sin r / cos r, and in odd quadrants tan x = -1 / tan r
+            long num = even ? sm : cm;
+            long den = even ? cm : sm;
+            m = Int128.divideUnsigned(num >>> 1, num << 63, den);
+            b = even ? sb - cb + 1 : cb - sb + 1;
+            if (m >= 0) {
+                m <<= 1;
+                b--;
+            }
+            negative = (coeff < 0) ^ negativeR ^ !even;
+        } else if ((function == SIN) == even) {
+            // sin r
+            long s = horner(SIN_COEFFICIENTS, z, degree);
+            int sz = Long.numberOfLeadingZeros(s);
+            m = Int128.multiplyHighUnsigned(rm, s << sz);
+            b = rb + 2 - sz;
+            if (m >= 0) {
+                m = m << 1 | (rm * (s << sz)) >>> 63;
+                b--;
+            }
+            negative = function == SIN
+                    ? (coeff < 0) ^ (quadrant == 2) ^ negativeR
+                    : (quadrant == 1) ^ negativeR;
+        } else {
+            // cos r
+            long c = horner(COS_COEFFICIENTS, z, degree);
+            int cz = Long.numberOfLeadingZeros(c);
+            m = c << cz;
+            b = 2 - cz;
+            negative = function == SIN
+                    ? (coeff < 0) ^ (quadrant == 3)
+                    : quadrant == 2;
+        }
+        return toDec64(negative, m, b, 0);
+    }
+
+    // c[0] - z (c[1] - z (c[2] - ...)), in 62 bit fixed point. Every partial
+    // sum is positive as the terms shrink for z < 1.
+    private static long horner(long[] c, long z, int degree) {
+        long sum = c[degree];
+        for (int n = degree - 1; n >= 0; n--) {
+            sum = c[n] - multiply62(z, sum);
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,227 @@
+package dec64;
+
+import dec64.annotations.DEC64;
+
+/**
+ * An exact running sum of DEC64 numbers, kept as a 128 bit two's complement
+ * coefficient at the smallest exponent seen so far. Because nothing is
+ * rounded until {@link #toDec64()}, the result does not depend on the order
+ * in which numbers are added or on how partial sums are merged.
+ *
+ * That holds while the exact sum fits in 126 bits at the smallest exponent,
+ * which is always the case when the exponents are within about 20 of each
+ * other. A term that would not fit is added to a DEC64 spill instead, with
+ * ordinary rounding, and {@link #spilled()} reports that the sum may now
+ * depend on order.
+ *
+ * A WideSum is not thread safe. {@link StripedSum} keeps sums for many
+ * threads as flat words in its cells, and loads and stores them through
+ * {@link #load} and the word accessors.
+ */
+final class WideSum {
+
+    // Keeping magnitudes below 2^126 lets any two be added without overflow
+    private final static int MAX_BITS = 126;
+
+    // Bits of flags(); all words zero is the empty sum
+    final static int ADDED = 1;
+    final static int NAN = 2;
+    final static int SPILLED = 4;
+
+    private long hi;
+    private long lo;
+    private int exponent;
+    private boolean empty = true;
+    private boolean nan;
+    private boolean spilled;
+    private @DEC64 long spill;
+
+    /**
+     * Adds a DEC64 number. Zeros count towards the smallest exponent, so the
+     * result is the same however a run of numbers is split up.
+     */
+    void add(@DEC64 long number) {
+        if (Basic64.isNaN(number)) {
+            nan = true;
+        } else {
+            add(number >> 8, (byte) number);
+        }
+    }
+
+    /**
+     * Adds coefficient * 10^exponent, for a coefficient up to 64 bits.
+     */
+    void add(long coefficient, int exponent) {
+        add(coefficient >> 63, coefficient, exponent);
+    }
+
+    /**
+     * Adds another sum to this one.
+     */
+    void add(WideSum other) {
+        nan |= other.nan;
+        if (other.spilled) {
+            spill = Basic64.add(spill, other.spill);
+            spilled = true;
+        }
+        if (!other.empty) {
+            add(other.hi, other.lo, other.exponent);
+        }
+    }
+
+    /**
+     * True if some term could not be added exactly.
+     */
+    boolean spilled() {
+        return spilled;
+    }
+
+    /**
+     * Returns the sum rounded once to a DEC64 number: zero if nothing was
+     * added, NaN if a NaN was.
+     */
+    @DEC64 long toDec64() {
+        if (nan) {
+            return Constants64.DEC64_NAN;
+        }
+        @DEC64 long total = empty ? 0 : pack(hi, lo, exponent);
+        return spilled ? Basic64.add(total, spill) : total;
+    }
+
+    /**
+     * Empties the sum.
+     */
+    void reset() {
+        hi = 0;
+        lo = 0;
+        exponent = 0;
+        empty = true;
+        nan = false;
+        spilled = false;
+        spill = 0;
+    }
+
+    /**
+     * Makes this sum a copy of another.
+     */
+    void set(WideSum other) {
+        hi = other.hi;
+        lo = other.lo;
+        exponent = other.exponent;
+        empty = other.empty;
+        nan = other.nan;
+        spilled = other.spilled;
+        spill = other.spill;
+    }
+
+    /**
+     * Makes this sum the one held in the given words, as returned by the
+     * accessors below.
+     */
+    void load(long hi, long lo, int exponent, int flags, @DEC64 long spill) {
+        this.hi = hi;
+        this.lo = lo;
+        this.exponent = exponent;
+        this.empty = (flags & ADDED) == 0;
+        this.nan = (flags & NAN) != 0;
+        this.spilled = (flags & SPILLED) != 0;
+        this.spill = spill;
+    }
+
+    long hi() {
+        return hi;
+    }
+
+    long lo() {
+        return lo;
+    }
+
+    int exponent() {
+        return exponent;
+    }
+
+    int flags() {
+        return (empty ? 0 : ADDED) | (nan ? NAN : 0) | (spilled ? SPILLED : 0);
+    }
+
+    @DEC64 long spill() {
+        return spill;
+    }
+
+    private void add(long bhi, long blo, int bexp) {
+        if (empty) {
+            hi = bhi;
+            lo = blo;
+            exponent = bexp;
+            empty = false;
+            return;
+        }
+        if (bexp > exponent) {
+            int k = bexp - exponent;
+            if (!fitsScaled(bhi, blo, k)) {
+                spill(bhi, blo, bexp);
+                return;
+            }
+            while (k > 0) {
+                int step = Math.min(k, 18);
+                long m = Basic64.POWERS_OF_TEN[step];
+                bhi = bhi * m + Int128.multiplyHighUnsigned(blo, m);
+                blo = blo * m;
+                k -= step;
+            }
+            bexp = exponent;
+        } else if (bexp < exponent) {
+            int k = exponent - bexp;
+            if (!fitsScaled(hi, lo, k)) {
+                spill(bhi, blo, bexp);
+                return;
+            }
+            while (k > 0) {
+                int step = Math.min(k, 18);
+                long m = Basic64.POWERS_OF_TEN[step];
+                hi = hi * m + Int128.multiplyHighUnsigned(lo, m);
+                lo = lo * m;
+                k -= step;
+            }
+            exponent = bexp;
+        }
+        long sumLo = lo + blo;
+        long sumHi = hi + bhi + (Long.compareUnsigned(sumLo, lo) < 0 ? 1L : 0L);
+        if (magnitudeBits(sumHi, sumLo) > MAX_BITS) {
+            spill(bhi, blo, bexp);
+            return;
+        }
+        hi = sumHi;
+        lo = sumLo;
+    }
+
+    private void spill(long bhi, long blo, int bexp) {
+        spill = Basic64.add(spill, pack(bhi, blo, bexp));
+        spilled = true;
+    }
+
+    // True if hi:lo * 10^k stays below 2^126; 3402 / 1024 is just over log2(10)
+    private static boolean fitsScaled(long hi, long lo, int k) {
+        return k <= 38 && magnitudeBits(hi, lo) + ((k * 3402) >>> 10) + 1 <= MAX_BITS;
+    }
+
+    private static int magnitudeBits(long hi, long lo) {
+        if (hi < 0) {
+            hi = ~hi + (lo == 0 ? 1 : 0);
+            lo = -lo;
+        }
+        return hi != 0 ? 128 - Long.numberOfLeadingZeros(hi) : 64 - Long.numberOfLeadingZeros(lo);
+    }
+
+    private static @DEC64 long pack(long hi, long lo, int exp) {
+        boolean negative = hi < 0;
+        if (negative) {
+            hi = ~hi + (lo == 0 ? 1 : 0);
+            lo = -lo;
+        }
+        if (hi == 0 && lo >= 0) {
+            return Basic64.pack(negative ? -lo : lo, exp);
+        }
+        return Basic64.packWide(hi, lo, negative, exp);
+    }
+}
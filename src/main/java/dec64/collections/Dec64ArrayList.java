@@ -0,0 +1,197 @@
+package dec64.collections;
+
+import dec64.Basic64;
+import dec64.Dec64Arrays;
+import dec64.annotations.DEC64;
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * A growable list of DEC64 numbers held in a long[], with no boxing. Unlike
+ * {@link dec64.repl.StackDec64} it grows as needed and is not synchronized.
+ * Numbers are kept exactly as added, so 1.00 stays 1.00, but
+ * {@link #indexOf} compares numerically.
+ *
+ * Not thread safe.
+ */
+public final class Dec64ArrayList {
+
+    private final static @DEC64 long[] EMPTY = {};
+
+    private @DEC64 long[] elements;
+    private int size;
+
+    public Dec64ArrayList() {
+        elements = EMPTY;
+    }
+
+    /**
+     * @param capacity the number of elements to hold without growing
+     */
+    public Dec64ArrayList(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("capacity " + capacity);
+        }
+        elements = capacity == 0 ? EMPTY : new long[capacity];
+    }
+
+    /**
+     * Creates a list holding a copy of some numbers.
+     *
+     * @param numbers the numbers
+     */
+    public Dec64ArrayList(@DEC64 long[] numbers) {
+        elements = numbers.clone();
+        size = numbers.length;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    private void checkIndex(int index, int limit) {
+        if (index < 0 || index >= limit) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > elements.length) {
+            int grown = Math.max(capacity, Math.max(10, elements.length + (elements.length >> 1)));
+            elements = Arrays.copyOf(elements, grown);
+        }
+    }
+
+    /**
+     * @param index the index
+     * @return the number at the index
+     * @throws IndexOutOfBoundsException if index is not in [0, size)
+     */
+    public @DEC64 long get(int index) {
+        checkIndex(index, size);
+        return elements[index];
+    }
+
+    /**
+     * Replaces the number at an index.
+     *
+     * @param index the index
+     * @param number the new number
+     * @return the number that was there
+     * @throws IndexOutOfBoundsException if index is not in [0, size)
+     */
+    public @DEC64 long set(int index, @DEC64 long number) {
+        checkIndex(index, size);
+        long old = elements[index];
+        elements[index] = number;
+        return old;
+    }
+
+    /**
+     * Appends a number.
+     *
+     * @param number the number
+     */
+    public void add(@DEC64 long number) {
+        ensureCapacity(size + 1);
+        elements[size++] = number;
+    }
+
+    /**
+     * Inserts a number, shifting later ones up.
+     *
+     * @param index where to insert, from 0 to size
+     * @param number the number
+     * @throws IndexOutOfBoundsException if index is not in [0, size]
+     */
+    public void add(int index, @DEC64 long number) {
+        checkIndex(index, size + 1);
+        ensureCapacity(size + 1);
+        System.arraycopy(elements, index, elements, index + 1, size - index);
+        elements[index] = number;
+        size++;
+    }
+
+    /**
+     * Appends some numbers.
+     *
+     * @param numbers the numbers
+     */
+    public void addAll(@DEC64 long[] numbers) {
+        ensureCapacity(size + numbers.length);
+        System.arraycopy(numbers, 0, elements, size, numbers.length);
+        size += numbers.length;
+    }
+
+    /**
+     * Removes the number at an index, shifting later ones down.
+     *
+     * @param index the index
+     * @return the number removed
+     * @throws IndexOutOfBoundsException if index is not in [0, size)
+     */
+    public @DEC64 long removeAt(int index) {
+        checkIndex(index, size);
+        long old = elements[index];
+        System.arraycopy(elements, index + 1, elements, index, size - index - 1);
+        size--;
+        return old;
+    }
+
+    /**
+     * Empties the list, keeping its capacity.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Returns the first index holding a number equal to the one given, so
+     * 1.0 finds 1.00 and any NaN finds any NaN.
+     *
+     * @param number the number
+     * @return its first index, or -1
+     */
+    public int indexOf(@DEC64 long number) {
+        for (int i = 0; i < size; i++) {
+            long x = elements[i];
+            if (x == number || Basic64.compare(x, number) == 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public boolean contains(@DEC64 long number) {
+        return indexOf(number) >= 0;
+    }
+
+    /**
+     * @return the sum of the numbers, as {@link Dec64Arrays#sum}
+     */
+    public @DEC64 long sum() {
+        return Dec64Arrays.sum(elements, 0, size);
+    }
+
+    /**
+     * Passes each number, in order, to an action.
+     *
+     * @param action the action
+     */
+    public void forEach(LongConsumer action) {
+        for (int i = 0; i < size; i++) {
+            action.accept(elements[i]);
+        }
+    }
+
+    /**
+     * @return a copy of the numbers
+     */
+    public @DEC64 long[] toArray() {
+        return Arrays.copyOf(elements, size);
+    }
+}
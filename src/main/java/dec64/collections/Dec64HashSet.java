@@ -0,0 +1,100 @@
+package dec64.collections;
+
+import dec64.annotations.DEC64;
+import java.util.function.LongConsumer;
+
+/**
+ * A set of DEC64 numbers held as raw longs in an open-addressing table,
+ * with no boxing. Membership is numeric: adding 1.00 when 1.0 is present
+ * changes nothing, and all NaNs are one member. Numbers come back out in
+ * canonical form, so 1.00 is returned as 1.
+ *
+ * Not thread safe.
+ */
+public final class Dec64HashSet extends Dec64HashTable {
+
+    public Dec64HashSet() {
+        this(16);
+    }
+
+    /**
+     * Creates a set that holds expectedSize numbers without growing.
+     *
+     * @param expectedSize the number of members expected
+     */
+    public Dec64HashSet(int expectedSize) {
+        super(expectedSize);
+    }
+
+    /**
+     * Adds a number.
+     *
+     * @param number the number
+     * @return true if no equal number was already present
+     */
+    public boolean add(@DEC64 long number) {
+        int before = size;
+        insert(key(number));
+        return size != before;
+    }
+
+    /**
+     * @param number the number
+     * @return true if an equal number is present
+     */
+    public boolean contains(@DEC64 long number) {
+        return find(key(number)) >= 0;
+    }
+
+    /**
+     * Removes a number.
+     *
+     * @param number the number
+     * @return true if an equal number was present
+     */
+    public boolean remove(@DEC64 long number) {
+        int slot = find(key(number));
+        if (slot < 0) {
+            return false;
+        }
+        removeAt(slot);
+        return true;
+    }
+
+    public void clear() {
+        clearKeys();
+    }
+
+    /**
+     * Passes each member, in canonical form and in no particular order, to
+     * an action. The set must not be changed meanwhile.
+     *
+     * @param action the action
+     */
+    public void forEach(LongConsumer action) {
+        for (long key : keys) {
+            if (key != FREE) {
+                action.accept(key);
+            }
+        }
+    }
+
+    /**
+     * @return the members in canonical form, in no particular order
+     */
+    public @DEC64 long[] toArray() {
+        return copyKeys();
+    }
+
+    @Override
+    void moveValue(int from, int to) {
+    }
+
+    @Override
+    void clearValue(int slot) {
+    }
+
+    @Override
+    void resizeValues(int[] moved, int capacity) {
+    }
+}
@@ -0,0 +1,170 @@
+package dec64.collections;
+
+import dec64.Basic64;
+import dec64.annotations.DEC64;
+import java.util.Arrays;
+
+/**
+ * The open-addressing table of DEC64 keys behind {@link Dec64HashSet},
+ * {@link Dec64ToLongMap} and {@link Dec64ToObjectMap}. Keys are stored in
+ * canonical form (see {@link Basic64#canonical}), so 1.0 and 1.00 are the
+ * same key and every NaN is the one key DEC64_NAN. Lookups then compare raw
+ * bits.
+ *
+ * Slots are probed linearly from a Fibonacci hash of the key. Removal
+ * shifts later entries of the run back rather than leaving tombstones, so
+ * lookups never slow down after many removals. Subclasses keep any values
+ * in arrays parallel to the keys and follow the moves through
+ * {@link #moveValue}, {@link #clearValue} and {@link #resizeValues}.
+ */
+abstract class Dec64HashTable {
+
+    // Zero with an exponent of 1 is never canonical, so marks a free slot
+    final static long FREE = 1L;
+
+    private final static int MIN_CAPACITY = 8;
+    private final static long PHI = 0x9E37_79B9_7F4A_7C15L;
+
+    long[] keys;
+    int size;
+    private int shift;
+    private int resizeAt;
+
+    Dec64HashTable(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("expectedSize " + expectedSize);
+        }
+        // Keep the table at most three quarters full
+        long wanted = Math.max(MIN_CAPACITY, (long) expectedSize * 4 / 3 + 1);
+        allocate((int) Math.min(1 << 30, Long.highestOneBit(wanted - 1) << 1));
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        Arrays.fill(keys, FREE);
+        shift = Long.numberOfLeadingZeros(capacity - 1);
+        resizeAt = capacity / 4 * 3;
+    }
+
+    /**
+     * The form a number is stored and looked up in.
+     */
+    static @DEC64 long key(@DEC64 long number) {
+        return Basic64.canonical(number);
+    }
+
+    private int home(long key) {
+        return (int) ((key * PHI) >>> shift);
+    }
+
+    /**
+     * Returns the slot holding a canonical key, or the complement of the
+     * free slot where it would go.
+     */
+    final int find(@DEC64 long key) {
+        int mask = keys.length - 1;
+        for (int i = home(key); ; i = (i + 1) & mask) {
+            long k = keys[i];
+            if (k == key) {
+                return i;
+            }
+            if (k == FREE) {
+                return ~i;
+            }
+        }
+    }
+
+    /**
+     * Returns the slot holding a canonical key, adding it if it is absent,
+     * in which case {@link #size} grows by one.
+     */
+    final int insert(@DEC64 long key) {
+        int slot = find(key);
+        if (slot >= 0) {
+            return slot;
+        }
+        if (size >= resizeAt) {
+            grow();
+            slot = find(key);
+        }
+        slot = ~slot;
+        keys[slot] = key;
+        size++;
+        return slot;
+    }
+
+    /**
+     * Empties a slot, shifting back any later entries that probed past it.
+     */
+    final void removeAt(int slot) {
+        int mask = keys.length - 1;
+        int hole = slot;
+        for (int i = (slot + 1) & mask; keys[i] != FREE; i = (i + 1) & mask) {
+            int home = home(keys[i]);
+            // The entry can fill the hole if its home is not cyclically
+            // within (hole, i]
+            if (((i - home) & mask) >= ((i - hole) & mask)) {
+                keys[hole] = keys[i];
+                moveValue(i, hole);
+                hole = i;
+            }
+        }
+        keys[hole] = FREE;
+        clearValue(hole);
+        size--;
+    }
+
+    private void grow() {
+        long[] old = keys;
+        allocate(old.length << 1);
+        int[] moved = new int[old.length];
+        for (int i = 0; i < old.length; i++) {
+            long key = old[i];
+            if (key == FREE) {
+                moved[i] = -1;
+            } else {
+                int slot = ~find(key);
+                keys[slot] = key;
+                moved[i] = slot;
+            }
+        }
+        resizeValues(moved, keys.length);
+    }
+
+    final void clearKeys() {
+        Arrays.fill(keys, FREE);
+        size = 0;
+    }
+
+    /**
+     * Returns the canonical keys, in no particular order.
+     */
+    final @DEC64 long[] copyKeys() {
+        long[] out = new long[size];
+        int n = 0;
+        for (long key : keys) {
+            if (key != FREE) {
+                out[n++] = key;
+            }
+        }
+        return out;
+    }
+
+    public final int size() {
+        return size;
+    }
+
+    public final boolean isEmpty() {
+        return size == 0;
+    }
+
+    abstract void moveValue(int from, int to);
+
+    abstract void clearValue(int slot);
+
+    /**
+     * Rebuilds the value array at a new capacity; moved[i] is the new slot
+     * of the entry that was in slot i, or -1 if that slot was free.
+     */
+    abstract void resizeValues(int[] moved, int capacity);
+}
@@ -0,0 +1,158 @@
+package dec64.collections;
+
+import dec64.annotations.DEC64;
+
+/**
+ * A map from DEC64 numbers to longs, both held unboxed in parallel arrays,
+ * such as the resting quantity at each price level of an order book. Keys
+ * are numeric, as in {@link Dec64HashSet}: 1.0 and 1.00 are the same key,
+ * all NaNs are one key, and keys come back out in canonical form.
+ *
+ * Absent keys read as a missing value chosen when the map is created, 0 by
+ * default. Not thread safe.
+ */
+public final class Dec64ToLongMap extends Dec64HashTable {
+
+    /**
+     * Receives the entries of a map.
+     */
+    @FunctionalInterface
+    public interface EntryConsumer {
+
+        void accept(@DEC64 long key, long value);
+    }
+
+    private final long missingValue;
+    private long[] values;
+
+    public Dec64ToLongMap() {
+        this(16, 0);
+    }
+
+    /**
+     * Creates a map that holds expectedSize entries without growing.
+     *
+     * @param expectedSize the number of entries expected
+     * @param missingValue the value returned for absent keys
+     */
+    public Dec64ToLongMap(int expectedSize, long missingValue) {
+        super(expectedSize);
+        this.missingValue = missingValue;
+        values = new long[keys.length];
+    }
+
+    /**
+     * @param key the key
+     * @return the value for the key, or the missing value if it is absent
+     */
+    public long get(@DEC64 long key) {
+        int slot = find(key(key));
+        return slot >= 0 ? values[slot] : missingValue;
+    }
+
+    /**
+     * @param key the key
+     * @param defaultValue the value to return if the key is absent
+     * @return the value for the key, or defaultValue
+     */
+    public long getOrDefault(@DEC64 long key, long defaultValue) {
+        int slot = find(key(key));
+        return slot >= 0 ? values[slot] : defaultValue;
+    }
+
+    public boolean containsKey(@DEC64 long key) {
+        return find(key(key)) >= 0;
+    }
+
+    /**
+     * Sets the value for a key.
+     *
+     * @param key the key
+     * @param value the value
+     * @return the previous value, or the missing value if the key was absent
+     */
+    public long put(@DEC64 long key, long value) {
+        int before = size;
+        int slot = insert(key(key));
+        long previous = size != before ? missingValue : values[slot];
+        values[slot] = value;
+        return previous;
+    }
+
+    /**
+     * Adds to the value for a key, starting from the missing value if the
+     * key is absent. This is the one-probe update for order book levels.
+     *
+     * @param key the key
+     * @param delta the amount to add
+     * @return the new value
+     */
+    public long addTo(@DEC64 long key, long delta) {
+        int before = size;
+        int slot = insert(key(key));
+        long value = (size != before ? missingValue : values[slot]) + delta;
+        values[slot] = value;
+        return value;
+    }
+
+    /**
+     * Removes a key.
+     *
+     * @param key the key
+     * @return its value, or the missing value if it was absent
+     */
+    public long remove(@DEC64 long key) {
+        int slot = find(key(key));
+        if (slot < 0) {
+            return missingValue;
+        }
+        long value = values[slot];
+        removeAt(slot);
+        return value;
+    }
+
+    public void clear() {
+        clearKeys();
+    }
+
+    /**
+     * Passes each entry, in no particular order, to an action. The map must
+     * not be changed meanwhile.
+     *
+     * @param action the action
+     */
+    public void forEach(EntryConsumer action) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != FREE) {
+                action.accept(keys[i], values[i]);
+            }
+        }
+    }
+
+    /**
+     * @return the keys in canonical form, in no particular order
+     */
+    public @DEC64 long[] keys() {
+        return copyKeys();
+    }
+
+    @Override
+    void moveValue(int from, int to) {
+        values[to] = values[from];
+    }
+
+    @Override
+    void clearValue(int slot) {
+    }
+
+    @Override
+    void resizeValues(int[] moved, int capacity) {
+        long[] resized = new long[capacity];
+        for (int i = 0; i < moved.length; i++) {
+            if (moved[i] >= 0) {
+                resized[moved[i]] = values[i];
+            }
+        }
+        values = resized;
+    }
+}
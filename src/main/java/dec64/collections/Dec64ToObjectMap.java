@@ -0,0 +1,168 @@
+package dec64.collections;
+
+import dec64.annotations.DEC64;
+import java.util.Arrays;
+import java.util.function.LongFunction;
+
+/**
+ * A map from DEC64 numbers to objects, with the keys held unboxed. Keys are
+ * numeric, as in {@link Dec64HashSet}: 1.0 and 1.00 are the same key, all
+ * NaNs are one key, and keys come back out in canonical form. Null values
+ * are not allowed, so null from {@link #get} always means absent.
+ *
+ * Not thread safe.
+ *
+ * @param <V> the type of the values
+ */
+public final class Dec64ToObjectMap<V> extends Dec64HashTable {
+
+    /**
+     * Receives the entries of a map.
+     *
+     * @param <V> the type of the values
+     */
+    @FunctionalInterface
+    public interface EntryConsumer<V> {
+
+        void accept(@DEC64 long key, V value);
+    }
+
+    private Object[] values;
+
+    public Dec64ToObjectMap() {
+        this(16);
+    }
+
+    /**
+     * Creates a map that holds expectedSize entries without growing.
+     *
+     * @param expectedSize the number of entries expected
+     */
+    public Dec64ToObjectMap(int expectedSize) {
+        super(expectedSize);
+        values = new Object[keys.length];
+    }
+
+    @SuppressWarnings("unchecked")
+    private V valueAt(int slot) {
+        return (V) values[slot];
+    }
+
+    /**
+     * @param key the key
+     * @return the value for the key, or null if it is absent
+     */
+    public V get(@DEC64 long key) {
+        int slot = find(key(key));
+        return slot >= 0 ? valueAt(slot) : null;
+    }
+
+    public boolean containsKey(@DEC64 long key) {
+        return find(key(key)) >= 0;
+    }
+
+    /**
+     * Sets the value for a key.
+     *
+     * @param key the key
+     * @param value the value, not null
+     * @return the previous value, or null if the key was absent
+     */
+    public V put(@DEC64 long key, V value) {
+        if (value == null) {
+            throw new NullPointerException("value");
+        }
+        int slot = insert(key(key));
+        V previous = valueAt(slot);
+        values[slot] = value;
+        return previous;
+    }
+
+    /**
+     * Returns the value for a key, first making it with a function if the
+     * key is absent. The function is passed the key as given.
+     *
+     * @param key the key
+     * @param function makes the value, not null
+     * @return the value for the key
+     */
+    public V computeIfAbsent(@DEC64 long key, LongFunction<? extends V> function) {
+        long k = key(key);
+        int slot = find(k);
+        if (slot >= 0) {
+            return valueAt(slot);
+        }
+        V value = function.apply(key);
+        if (value == null) {
+            throw new NullPointerException("value");
+        }
+        // The function may have changed the map, so probe again
+        slot = insert(k);
+        values[slot] = value;
+        return value;
+    }
+
+    /**
+     * Removes a key.
+     *
+     * @param key the key
+     * @return its value, or null if it was absent
+     */
+    public V remove(@DEC64 long key) {
+        int slot = find(key(key));
+        if (slot < 0) {
+            return null;
+        }
+        V value = valueAt(slot);
+        removeAt(slot);
+        return value;
+    }
+
+    public void clear() {
+        clearKeys();
+        Arrays.fill(values, null);
+    }
+
+    /**
+     * Passes each entry, in no particular order, to an action. The map must
+     * not be changed meanwhile.
+     *
+     * @param action the action
+     */
+    public void forEach(EntryConsumer<? super V> action) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != FREE) {
+                action.accept(keys[i], valueAt(i));
+            }
+        }
+    }
+
+    /**
+     * @return the keys in canonical form, in no particular order
+     */
+    public @DEC64 long[] keys() {
+        return copyKeys();
+    }
+
+    @Override
+    void moveValue(int from, int to) {
+        values[to] = values[from];
+    }
+
+    @Override
+    void clearValue(int slot) {
+        // Let the value be collected
+        values[slot] = null;
+    }
+
+    @Override
+    void resizeValues(int[] moved, int capacity) {
+        Object[] resized = new Object[capacity];
+        for (int i = 0; i < moved.length; i++) {
+            if (moved[i] >= 0) {
+                resized[moved[i]] = values[i];
+            }
+        }
+        values = resized;
+    }
+}
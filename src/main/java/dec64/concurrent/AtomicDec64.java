@@ -0,0 +1,169 @@
+package dec64.concurrent;
+
+import dec64.Basic64;
+import dec64.annotations.DEC64;
+import java.util.function.LongBinaryOperator;
+import java.util.function.LongUnaryOperator;
+
+import static dec64.concurrent.ValueAccess.ACCESS;
+
+/**
+ * A DEC64 number that may be updated atomically, in the manner of
+ * java.util.concurrent.atomic.AtomicLong. The raw DEC64 long is held in a
+ * volatile field and updated with compare-and-set loops, so arithmetic
+ * updates are lock-free and allocate nothing, unlike swapping boxed Dec64
+ * values through an AtomicReference.
+ *
+ * Compare-and-set compares the raw bits, not the numeric value, so 1.0 and
+ * 1.00 are different expected values. The arithmetic methods always use the
+ * current bits and so are unaffected.
+ */
+public class AtomicDec64 {
+
+    volatile @DEC64 long value;
+
+    /**
+     * Creates an AtomicDec64 holding zero.
+     */
+    public AtomicDec64() {
+    }
+
+    /**
+     * Creates an AtomicDec64 holding the given number.
+     *
+     * @param initialValue the initial value
+     */
+    public AtomicDec64(@DEC64 long initialValue) {
+        value = initialValue;
+    }
+
+    public @DEC64 long get() {
+        return value;
+    }
+
+    public void set(@DEC64 long newValue) {
+        value = newValue;
+    }
+
+    /**
+     * Eventually sets the value, with release semantics only.
+     *
+     * @param newValue the new value
+     */
+    public void lazySet(@DEC64 long newValue) {
+        ACCESS.lazySet(this, newValue);
+    }
+
+    public @DEC64 long getAndSet(@DEC64 long newValue) {
+        return ACCESS.getAndSet(this, newValue);
+    }
+
+    /**
+     * Sets the value to {@code update} if its raw bits equal {@code expect}.
+     *
+     * @param expect the expected value
+     * @param update the new value
+     * @return true if successful
+     */
+    public boolean compareAndSet(@DEC64 long expect, @DEC64 long update) {
+        return ACCESS.compareAndSet(this, expect, update);
+    }
+
+    /**
+     * Atomically adds to the value, as {@link Basic64#add}.
+     *
+     * @param delta the number to add
+     * @return the updated value
+     */
+    public @DEC64 long addAndGet(@DEC64 long delta) {
+        long current;
+        long next;
+        do {
+            current = value;
+            next = Basic64.add(current, delta);
+        } while (!ACCESS.compareAndSet(this, current, next));
+        return next;
+    }
+
+    /**
+     * Atomically adds to the value, as {@link Basic64#add}.
+     *
+     * @param delta the number to add
+     * @return the previous value
+     */
+    public @DEC64 long getAndAdd(@DEC64 long delta) {
+        long current;
+        do {
+            current = value;
+        } while (!ACCESS.compareAndSet(this, current, Basic64.add(current, delta)));
+        return current;
+    }
+
+    /**
+     * Atomically multiplies the value, as {@link Basic64#multiply}.
+     *
+     * @param factor the multiplier
+     * @return the updated value
+     */
+    public @DEC64 long multiplyAndGet(@DEC64 long factor) {
+        long current;
+        long next;
+        do {
+            current = value;
+            next = Basic64.multiply(current, factor);
+        } while (!ACCESS.compareAndSet(this, current, next));
+        return next;
+    }
+
+    /**
+     * Atomically replaces the value with the result of a function, which may
+     * be called more than once under contention and so should be free of
+     * side effects.
+     *
+     * @param update a side-effect-free function of the raw DEC64 value
+     * @return the previous value
+     */
+    public @DEC64 long getAndUpdate(LongUnaryOperator update) {
+        long current;
+        do {
+            current = value;
+        } while (!ACCESS.compareAndSet(this, current, update.applyAsLong(current)));
+        return current;
+    }
+
+    /**
+     * As {@link #getAndUpdate(LongUnaryOperator)}, returning the new value.
+     *
+     * @param update a side-effect-free function of the raw DEC64 value
+     * @return the updated value
+     */
+    public @DEC64 long updateAndGet(LongUnaryOperator update) {
+        long current;
+        long next;
+        do {
+            current = value;
+            next = update.applyAsLong(current);
+        } while (!ACCESS.compareAndSet(this, current, next));
+        return next;
+    }
+
+    /**
+     * Atomically combines the value with {@code x}, for example with
+     * {@code Basic64::max}. The function may be called more than once under
+     * contention and so should be free of side effects.
+     *
+     * @param x the other operand
+     * @param accumulator a side-effect-free function of the current value
+     * and x, in that order
+     * @return the updated value
+     */
+    public @DEC64 long accumulateAndGet(@DEC64 long x, LongBinaryOperator accumulator) {
+        long current;
+        long next;
+        do {
+            current = value;
+            next = accumulator.applyAsLong(current, x);
+        } while (!ACCESS.compareAndSet(this, current, next));
+        return next;
+    }
+}
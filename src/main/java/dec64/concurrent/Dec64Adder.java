@@ -0,0 +1,65 @@
+package dec64.concurrent;
+
+import dec64.annotations.DEC64;
+
+/**
+ * A running DEC64 total that many threads can add to, modelled on
+ * java.util.concurrent.atomic.LongAdder. Uncontended adds go to a single
+ * cell; once threads start to collide, each thread is hashed to one of a
+ * table of cells that grows up to the number of processors.
+ *
+ * Each cell keeps an exact running sum that one thread at a time adds to,
+ * padded so that neighbouring cells do not share a cache line. A thread that
+ * finds its cell busy moves to another rather than waiting, so under
+ * contention adds spread out instead of queueing on one CAS as they do with
+ * an AtomicLong.
+ *
+ * {@link #sum()} merges the cells exactly and rounds once, so it does not
+ * depend on which thread added what, as long as the terms are within about
+ * 20 orders of magnitude of each other. Like LongAdder, it is not an atomic
+ * snapshot: adds that race with it may or may not be counted, and it never
+ * waits for them. {@link #sumThenReset()} and {@link #reset()} do wait for
+ * an add in progress on each cell, as emptying a cell must not lose one.
+ */
+public class Dec64Adder {
+
+    private final Object striped = SumAccess.create();
+
+    /**
+     * Adds a number to the total.
+     *
+     * @param x the number to add
+     */
+    public void add(@DEC64 long x) {
+        SumAccess.add(striped, x);
+    }
+
+    /**
+     * Returns the current total, rounded once.
+     *
+     * @return the total, or NaN if a NaN was added
+     */
+    public @DEC64 long sum() {
+        return SumAccess.sum(striped);
+    }
+
+    /**
+     * Returns the current total and resets it to zero, as if by
+     * {@link #sum()} followed by {@link #reset()} but without losing adds
+     * to cells that have already been read. Each cell is emptied under its
+     * lock, so this waits for an add in progress on it.
+     *
+     * @return the total before the reset
+     */
+    public @DEC64 long sumThenReset() {
+        return SumAccess.sumThenReset(striped);
+    }
+
+    /**
+     * Resets the total to zero, waiting, as {@link #sumThenReset()} does,
+     * for an add in progress on each cell.
+     */
+    public void reset() {
+        SumAccess.sumThenReset(striped);
+    }
+}
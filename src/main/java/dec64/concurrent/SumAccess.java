@@ -0,0 +1,90 @@
+package dec64.concurrent;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+
+/**
+ * Access to dec64.StripedSum, the package-private striped sum that
+ * {@link Dec64Adder} wraps. Its constructor and methods are looked up
+ * reflectively once, so that the cells and the exact accumulator they use
+ * stay out of the public API; calls through the constant method handles
+ * compile to direct calls.
+ */
+final class SumAccess {
+
+    private static final MethodHandle NEW;
+    private static final MethodHandle ADD;
+    private static final MethodHandle SUM;
+    private static final MethodHandle SUM_THEN_RESET;
+
+    static {
+        try {
+            Class<?> striped = Class.forName("dec64.StripedSum");
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            Constructor<?> create = striped.getDeclaredConstructor();
+            create.setAccessible(true);
+            NEW = lookup.unreflectConstructor(create).asType(MethodType.methodType(Object.class));
+            ADD = method(lookup, striped, "add", long.class)
+                    .asType(MethodType.methodType(void.class, Object.class, long.class));
+            SUM = method(lookup, striped, "sum")
+                    .asType(MethodType.methodType(long.class, Object.class));
+            SUM_THEN_RESET = method(lookup, striped, "sumThenReset")
+                    .asType(MethodType.methodType(long.class, Object.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private SumAccess() {
+    }
+
+    private static MethodHandle method(MethodHandles.Lookup lookup, Class<?> striped, String name,
+            Class<?>... parameters) throws ReflectiveOperationException {
+        Method m = striped.getDeclaredMethod(name, parameters);
+        m.setAccessible(true);
+        return lookup.unreflect(m);
+    }
+
+    static Object create() {
+        try {
+            return (Object) NEW.invokeExact();
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new AssertionError(t);
+        }
+    }
+
+    static void add(Object striped, long x) {
+        try {
+            ADD.invokeExact(striped, x);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new AssertionError(t);
+        }
+    }
+
+    static long sum(Object striped) {
+        try {
+            return (long) SUM.invokeExact(striped);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new AssertionError(t);
+        }
+    }
+
+    static long sumThenReset(Object striped) {
+        try {
+            return (long) SUM_THEN_RESET.invokeExact(striped);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new AssertionError(t);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package dec64.concurrent;
+
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+/**
+ * Atomic access to {@link AtomicDec64#value}. This is the Java 8 version,
+ * using a field updater. On Java 9 and later the multi-release jar also
+ * carries VarHandleAccess, a subclass using a VarHandle that the JIT turns
+ * into a bare CAS without the updater's receiver checks; it is picked up
+ * reflectively, as the Vector API kernels are.
+ */
+class ValueAccess {
+
+    private static final AtomicLongFieldUpdater<AtomicDec64> VALUE =
+            AtomicLongFieldUpdater.newUpdater(AtomicDec64.class, "value");
+
+    static final ValueAccess ACCESS = load();
+
+    private static ValueAccess load() {
+        try {
+            Class<?> handles = Class.forName("dec64.concurrent.VarHandleAccess");
+            return (ValueAccess) handles.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            // Java 8
+            return new ValueAccess();
+        }
+    }
+
+    boolean compareAndSet(AtomicDec64 atomic, long expect, long update) {
+        return VALUE.compareAndSet(atomic, expect, update);
+    }
+
+    long getAndSet(AtomicDec64 atomic, long update) {
+        return VALUE.getAndSet(atomic, update);
+    }
+
+    void lazySet(AtomicDec64 atomic, long update) {
+        VALUE.lazySet(atomic, update);
+    }
+}
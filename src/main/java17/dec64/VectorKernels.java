@@ -0,0 +1,164 @@
+package dec64;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * The block loops of {@link ArrayKernels} written with the Vector API, so the
+ * same-exponent paths of add, subtract, compare and sum run as lane-wise
+ * SIMD instructions on AVX2 and AVX-512 hardware. This class is only in the
+ * Java 17 layer of the multi-release jar and is loaded reflectively, so it
+ * is simply skipped when jdk.incubator.vector is not in the module graph.
+ *
+ * The fast path checks and the arithmetic are the same as in ArrayKernels,
+ * so the results are identical. The tail of each block that does not fill a
+ * whole vector is handled with the scalar code.
+ */
+final class VectorKernels extends ArrayKernels {
+
+    private static final VectorSpecies<Long> SPECIES = LongVector.SPECIES_PREFERRED;
+
+    // The narrowest byte vectors, with a mask for the lanes a long vector fills
+    private static final VectorSpecies<Byte> BYTES = ByteVector.SPECIES_64;
+    private static final VectorMask<Byte> BYTE_LANES = BYTES.indexInRange(0, SPECIES.length());
+
+    VectorKernels() {
+        if (SPECIES.length() < 2) {
+            throw new UnsupportedOperationException("no long vectors on this platform");
+        }
+    }
+
+    @Override
+    void add(long[] a, int ai, long[] b, int bi, long[] dst, int di, int n) {
+        if (!alignedVectors(a, ai, b, bi, n)) {
+            super.add(a, ai, b, bi, dst, di, n);
+            return;
+        }
+        int bound = SPECIES.loopBound(n);
+        for (int i = 0; i < bound; i += SPECIES.length()) {
+            LongVector x = LongVector.fromArray(SPECIES, a, ai + i);
+            LongVector y = LongVector.fromArray(SPECIES, b, bi + i);
+            zeroed(x.and(COEFFICIENT_MASK).add(y)).intoArray(dst, di + i);
+        }
+        for (int i = bound; i < n; i++) {
+            dst[di + i] = zeroed((a[ai + i] & COEFFICIENT_MASK) + b[bi + i]);
+        }
+    }
+
+    @Override
+    void subtract(long[] a, int ai, long[] b, int bi, long[] dst, int di, int n) {
+        if (!alignedVectors(a, ai, b, bi, n)) {
+            super.subtract(a, ai, b, bi, dst, di, n);
+            return;
+        }
+        int bound = SPECIES.loopBound(n);
+        for (int i = 0; i < bound; i += SPECIES.length()) {
+            LongVector x = LongVector.fromArray(SPECIES, a, ai + i);
+            LongVector y = LongVector.fromArray(SPECIES, b, bi + i);
+            zeroed(x.sub(y.and(COEFFICIENT_MASK))).intoArray(dst, di + i);
+        }
+        for (int i = bound; i < n; i++) {
+            dst[di + i] = zeroed(a[ai + i] - (b[bi + i] & COEFFICIENT_MASK));
+        }
+    }
+
+    @Override
+    void compare(long[] a, int ai, long[] b, int bi, byte[] dst, int di, int n) {
+        if (!alignedVectors(a, ai, b, bi, n)) {
+            super.compare(a, ai, b, bi, dst, di, n);
+            return;
+        }
+        int bound = SPECIES.loopBound(n);
+        for (int i = 0; i < bound; i += SPECIES.length()) {
+            LongVector x = LongVector.fromArray(SPECIES, a, ai + i);
+            LongVector y = LongVector.fromArray(SPECIES, b, bi + i);
+            LongVector sign = LongVector.zero(SPECIES)
+                    .blend(1, x.compare(VectorOperators.GT, y))
+                    .blend(-1, x.compare(VectorOperators.LT, y));
+            ((ByteVector) sign.convertShape(VectorOperators.L2B, BYTES, 0)).intoArray(dst, di + i, BYTE_LANES);
+        }
+        for (int i = bound; i < n; i++) {
+            long x = a[ai + i];
+            long y = b[bi + i];
+            dst[di + i] = (byte) ((x > y ? 1 : 0) - (x < y ? 1 : 0));
+        }
+    }
+
+    @Override
+    void sum(long[] a, int ai, int n, WideSum into) {
+        if (!uniformVectors(a, ai, n)) {
+            super.sum(a, ai, n, into);
+            return;
+        }
+        int bound = SPECIES.loopBound(n);
+        LongVector lanes = LongVector.zero(SPECIES);
+        for (int i = 0; i < bound; i += SPECIES.length()) {
+            lanes = lanes.add(LongVector.fromArray(SPECIES, a, ai + i).lanewise(VectorOperators.ASHR, 8));
+        }
+        // Partial sums may wrap, but the total of a block fits in a long
+        long total = lanes.reduceLanes(VectorOperators.ADD);
+        for (int i = bound; i < n; i++) {
+            total += a[ai + i] >> 8;
+        }
+        into.add(total, (byte) a[ai]);
+    }
+
+    // As alignedBlock, a lane at a time
+    private static boolean alignedVectors(long[] a, int ai, long[] b, int bi, int n) {
+        int bound = SPECIES.loopBound(n);
+        LongVector mismatch = LongVector.zero(SPECIES);
+        LongVector bad = LongVector.zero(SPECIES);
+        for (int i = 0; i < bound; i += SPECIES.length()) {
+            LongVector x = LongVector.fromArray(SPECIES, a, ai + i);
+            LongVector y = LongVector.fromArray(SPECIES, b, bi + i);
+            mismatch = mismatch.or(x.lanewise(VectorOperators.XOR, y));
+            bad = bad.or(notNaN(x)).or(x.add(SUM_BIAS)).or(y.add(SUM_BIAS));
+        }
+        long m = mismatch.reduceLanes(VectorOperators.OR);
+        long s = bad.reduceLanes(VectorOperators.OR);
+        for (int i = bound; i < n; i++) {
+            long x = a[ai + i];
+            long y = b[bi + i];
+            m |= x ^ y;
+            s |= notNaN(x) | (x + SUM_BIAS) | (y + SUM_BIAS);
+        }
+        return (m & EXPONENT_MASK) == 0 && s >= 0;
+    }
+
+    // As uniformBlock, a lane at a time
+    private static boolean uniformVectors(long[] a, int ai, int n) {
+        if (n == 0) {
+            return false;
+        }
+        long first = a[ai];
+        int bound = SPECIES.loopBound(n);
+        LongVector mismatch = LongVector.zero(SPECIES);
+        LongVector bad = LongVector.zero(SPECIES);
+        for (int i = 0; i < bound; i += SPECIES.length()) {
+            LongVector x = LongVector.fromArray(SPECIES, a, ai + i);
+            mismatch = mismatch.or(x.lanewise(VectorOperators.XOR, first));
+            bad = bad.or(x.add(SUM_BIAS));
+        }
+        long m = mismatch.reduceLanes(VectorOperators.OR);
+        long s = bad.reduceLanes(VectorOperators.OR) | notNaN(first);
+        for (int i = bound; i < n; i++) {
+            long x = a[ai + i];
+            m |= x ^ first;
+            s |= x + SUM_BIAS;
+        }
+        return (m & EXPONENT_MASK) == 0 && s >= 0;
+    }
+
+    private static LongVector notNaN(LongVector x) {
+        return x.and(EXPONENT_MASK).lanewise(VectorOperators.XOR, NAN_EXPONENT).sub(1);
+    }
+
+    // Lanes whose coefficient is zero become 0
+    private static LongVector zeroed(LongVector raw) {
+        VectorMask<Long> zero = raw.lanewise(VectorOperators.ASHR, 8).compare(VectorOperators.EQ, 0);
+        return raw.blend(0, zero);
+    }
+}
@@ -0,0 +1,36 @@
+package dec64.concurrent;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * Atomic access to {@link AtomicDec64#value} through a VarHandle. This class
+ * is only in the Java 9 layer of the multi-release jar.
+ */
+final class VarHandleAccess extends ValueAccess {
+
+    private static final VarHandle VALUE;
+
+    static {
+        try {
+            VALUE = MethodHandles.lookup().findVarHandle(AtomicDec64.class, "value", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    @Override
+    boolean compareAndSet(AtomicDec64 atomic, long expect, long update) {
+        return VALUE.compareAndSet(atomic, expect, update);
+    }
+
+    @Override
+    long getAndSet(AtomicDec64 atomic, long update) {
+        return (long) VALUE.getAndSet(atomic, update);
+    }
+
+    @Override
+    void lazySet(AtomicDec64 atomic, long update) {
+        VALUE.setRelease(atomic, update);
+    }
+}
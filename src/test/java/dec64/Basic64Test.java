@@ -123,15 +123,21 @@ public class Basic64Test {
      * Test of digits method, of class Basic64.
      */
     @Test
-    @Disabled
     public void testDigits() {
         System.out.println("digits");
-        long number = 0L;
-        byte expResult = 0;
-        byte result = Basic64.digits(number);
-        assertEquals(expResult, result);
-        // TODO review the generated test code and remove the default call to fail.
-        fail("The test case is a prototype.");
+        assertEquals(0, Basic64.digits(0L));
+        assertEquals(-1, Basic64.digits(Constants64.DEC64_NAN));
+        long coeff = 1L;
+        for (byte expResult = 1; expResult <= 17; expResult++) {
+            assertEquals(expResult, Basic64.digits(Basic64.of(coeff, (byte) 0)));
+            assertEquals(expResult, Basic64.digits(Basic64.of(coeff, (byte) -3)));
+            if (expResult < 17) {
+                assertEquals(expResult, Basic64.digits(Basic64.of(coeff * 10 - 1, (byte) 0)));
+            }
+            coeff *= 10;
+        }
+        assertEquals(17, Basic64.digits(Basic64.of(Basic64.DEC64_MAX_COEFFICIENT, (byte) 0)));
+        assertEquals(17, Basic64.digits(Basic64.DEC64_MIN_COEFFICIENT << 8));
     }
 
     /**
@@ -451,15 +457,38 @@ public class Basic64Test {
      * Test of canonical method, of class Basic64.
      */
     @Test
-    @Disabled
     public void testCanonical() {
         System.out.println("canonical");
-        long number = 0L;
-        long expResult = 0L;
-        long result = Basic64.canonical(number);
-        assertEquals(expResult, result);
-        // TODO review the generated test code and remove the default call to fail.
-        fail("The test case is a prototype.");
+        assertEquals(Constants64.DEC64_ZERO, Basic64.canonical(Basic64.of(0L, (byte) -5)));
+        assertEquals(Constants64.DEC64_ZERO, Basic64.canonical(Basic64.of(0L, (byte) 5)));
+        assertEquals(Constants64.DEC64_NAN, Basic64.canonical(Constants64.DEC64_NAN));
+        // Strip trailing zeros from a negative exponent
+        assertEquals(Constants64.DEC64_ONE, Basic64.canonical(Basic64.of(10_000_000_000_000_000L, (byte) -16)));
+        assertEquals(Basic64.of(12345L, (byte) -2), Basic64.canonical(Basic64.of(123450000L, (byte) -6)));
+        assertEquals(Basic64.of(1000L, (byte) 0), Basic64.canonical(Basic64.of(1000L, (byte) 0)));
+        assertEquals(Basic64.pack(-25, -1), Basic64.canonical(Basic64.pack(-2500, -3)));
+        // Trade a positive exponent for coefficient digits
+        assertEquals(Basic64.of(500L, (byte) 0), Basic64.canonical(Basic64.of(5L, (byte) 2)));
+        assertEquals(Basic64.of(10_000_000_000_000_000L, (byte) 4), Basic64.canonical(Basic64.of(1L, (byte) 20)));
+        assertEquals(Basic64.of(30_000_000_000_000_000L, (byte) 1), Basic64.canonical(Basic64.of(3L, (byte) 17)));
+        assertEquals(Basic64.of(Basic64.DEC64_MAX_COEFFICIENT, (byte) 3), Basic64.canonical(Basic64.of(Basic64.DEC64_MAX_COEFFICIENT, (byte) 3)));
+        assertEquals(Basic64.pack(Basic64.DEC64_MIN_COEFFICIENT, 3), Basic64.canonical(Basic64.pack(Basic64.DEC64_MIN_COEFFICIENT, 3)));
+    }
+
+    /**
+     * The least coefficient, -2^55, has one digit more than any other, so
+     * with a positive exponent it has no room to take any of it.
+     */
+    @Test
+    public void testCanonicalLeastCoefficient() {
+        System.out.println("canonical least coefficient");
+        for (int exp = 1; exp <= 127; exp++) {
+            long least = Basic64.pack(Basic64.DEC64_MIN_COEFFICIENT, exp);
+            assertEquals(least, Basic64.canonical(least));
+            assertEquals(least, Basic64.normal(least));
+        }
+        assertEquals(Basic64.pack(Basic64.DEC64_MIN_COEFFICIENT / 10 * 10, 0), Basic64.canonical(Basic64.pack(Basic64.DEC64_MIN_COEFFICIENT / 10, 1)));
+        assertEquals(Basic64.pack(Basic64.DEC64_MIN_COEFFICIENT / 100 * 100, 0), Basic64.canonical(Basic64.pack(Basic64.DEC64_MIN_COEFFICIENT / 100, 2)));
     }
 
     /**
@@ -712,15 +741,12 @@ public class Basic64Test {
      * Test of normal method, of class Basic64.
      */
     @Test
-    @Disabled
     public void testNormal() {
         System.out.println("normal");
-        long number = 0L;
-        long expResult = 0L;
-        long result = Basic64.normal(number);
-        assertEquals(expResult, result);
-        // TODO review the generated test code and remove the default call to fail.
-        fail("The test case is a prototype.");
+        assertEquals(Constants64.DEC64_NAN, Basic64.normal(Constants64.DEC64_NAN));
+        assertEquals(Constants64.DEC64_TWO, Basic64.normal(Basic64.of(200L, (byte) -2)));
+        assertEquals(Basic64.of(15L, (byte) -1), Basic64.normal(Basic64.of(1500L, (byte) -3)));
+        assertEquals(Basic64.of(700L, (byte) 0), Basic64.normal(Basic64.of(7L, (byte) 2)));
     }
 
     /**
@@ -28,6 +28,35 @@ public class SimpleTest {
         assertTrue(equals64(of(110, (byte) 0), add(hundred, ten)), "100 + 10 should equal 110");
     }
 
+    @Test
+    public void mixedExponentAdd() {
+        @DEC64 long price = of(10125, (byte) -2);
+        @DEC64 long tick = of(5, (byte) -4);
+        assertTrue(equals64(of(1012505, (byte) -4), add(price, tick)), "101.25 + 0.0005 should equal 101.2505");
+        assertTrue(equals64(of(1012505, (byte) -4), add(tick, price)), "0.0005 + 101.25 should equal 101.2505");
+        assertTrue(equals64(pack(-9, -1), add(DEC64_NEGATIVE_ONE, DEC64_POINT_ONE)), "-1 + 0.1 should equal -0.9");
+        assertTrue(equals64(2 * DEC64_NEGATIVE_ONE, add(DEC64_NEGATIVE_ONE, DEC64_NEGATIVE_ONE)), "-1 + -1 should equal -2");
+    }
+
+    @Test
+    public void overflowingAlignmentRoundsSmallerOperand() {
+        // 1e20 + 1.5 cannot be aligned exactly, so the 1.5 is rounded away
+        @DEC64 long large = of(1, (byte) 20);
+        @DEC64 long sum = add(large, of(15, (byte) -1));
+        assertFalse(isNaN(sum));
+        assertTrue(equals64(large, sum), "1e20 + 1.5 should round to 1e20");
+
+        // Max coefficient plus a half rounds up and sheds a digit
+        @DEC64 long max = of(DEC64_MAX_COEFFICIENT, (byte) 0);
+        sum = add(max, DEC64_HALF);
+        assertTrue(equals64(of(3602879701896397L, (byte) 1), sum), "max + 0.5 should round to 3602879701896397e1");
+
+        // Enough digits of the smaller operand survive to affect the result
+        @DEC64 long big = of(1, (byte) 16);
+        sum = add(big, of(26, (byte) -1));
+        assertTrue(equals64(of(10000000000000003L, (byte) 0), sum), "1e16 + 2.6 should equal 10000000000000003");
+    }
+
     @Test
     public void confirm_simple_digit_behaviour() {
         assertEquals(1, digits(DEC64_ONE), "1 has 1 digit");
@@ -55,6 +84,46 @@ public class SimpleTest {
         assertTrue(equals64(multiply(FOUR, THREE), multiply(SIX, DEC64_TWO)), "4 * 3 should equal 6 * 2");
     }
 
+    @Test
+    public void wideMultiply() {
+        // 1234567.8901234567 * 987654.321098765 overflows a 56 bit coefficient
+        @DEC64 long price = of(12345678901234567L, (byte) -10);
+        @DEC64 long qty = of(9876543210987654L, (byte) -10);
+        assertTrue(equals64(of(12193263113702178L, (byte) -4), multiply(price, qty)), "wide product should be rounded, not NaN");
+
+        @DEC64 long max = of(DEC64_MAX_COEFFICIENT, (byte) 0);
+        assertTrue(equals64(of(12980742146337068L, (byte) 17), multiply(max, max)), "max * max should round to 12980742146337068e17");
+        assertTrue(equals64(pack(-10808639105689190L, 1), multiply(3 * DEC64_NEGATIVE_ONE, max)), "-3 * max should round half away from zero");
+        assertTrue(isNaN(multiply(of(1, (byte) 127), of(1, (byte) 127))), "overflowing exponent should give NaN");
+    }
+
+    @Test
+    public void wideMultiplyBelowLeastExponent() {
+        // Products below 10^-110 keep fewer digits, rounded only once
+        @DEC64 long actual = multiply(of(799_971_009_598_921L, (byte) -73), of(331_738_343_372_455L, (byte) -68));
+        assertTrue(equals64(of(2_653_810_574_703_363L, (byte) -127), actual), "was " + STANDARD.format(actual));
+        actual = fma(of(18_004_097_268_919L, (byte) -71), of(247_272_138_710L, (byte) -80), of(36_851_605L, (byte) -120));
+        assertTrue(equals64(of(368_516_050_000_004L, (byte) -127), actual), "was " + STANDARD.format(actual));
+        assertTrue(isZero(multiply(of(DEC64_MAX_COEFFICIENT, (byte) -127), of(DEC64_MAX_COEFFICIENT, (byte) -127))), "tiny product should round to zero");
+    }
+
+    @Test
+    public void fusedMultiplyAdd() {
+        assertTrue(equals64(of(14, (byte) 0), fma(THREE, FOUR, DEC64_TWO)), "3 * 4 + 2 should equal 14");
+        assertTrue(equals64(of(10, (byte) 0), fms(THREE, FOUR, DEC64_TWO)), "3 * 4 - 2 should equal 10");
+        assertTrue(equals64(DEC64_TWO, fma(DEC64_ZERO, FOUR, DEC64_TWO)), "0 * 4 + 2 should equal 2");
+
+        // (1 + 1e-9)^2 - 1 loses the 1e-18 term if the product is rounded first
+        @DEC64 long x = of(1_000_000_001L, (byte) -9);
+        @DEC64 long fused = fms(x, x, DEC64_ONE);
+        assertTrue(equals64(of(2_000_000_001L, (byte) -18), fused), "fused result was " + STANDARD.format(fused));
+        assertFalse(equals64(fused, subtract(multiply(x, x), DEC64_ONE)), "unfused result should differ");
+
+        @DEC64 long max = of(DEC64_MAX_COEFFICIENT, (byte) 0);
+        assertTrue(equals64(of(12980742146337068L, (byte) 17), fma(max, max, DEC64_ONE)), "max * max + 1 should round once");
+        assertTrue(isNaN(fma(DEC64_ONE, DEC64_ONE, DEC64_NAN)), "NaN addend should give NaN");
+    }
+
     @Test
     public void simple_reciprocal() {
         @DEC64 long half = reciprocal(DEC64_TWO);
@@ -76,6 +145,28 @@ public class SimpleTest {
 //        assertTrue("1 / 3 should equal 0.333333333333333 not " + FormatMode.STANDARD.format(third), equals64(third, DEC64_THIRD));
     }
 
+    @Test
+    public void fullPrecisionDivide() {
+        assertTrue(equals64(of(33333333333333333L, (byte) -17), divide(DEC64_ONE, THREE)), "1 / 3 should have 17 digits");
+        assertTrue(equals64(of(6666666666666667L, (byte) -16), divide(DEC64_TWO, THREE)), "2 / 3 should round up");
+        assertTrue(equals64(pack(-14285714285714286L, -17), divide(DEC64_NEGATIVE_ONE, SEVEN)), "-1 / 7 should round away from zero");
+        // 5.191176470588235 / 3.0955882352941175 needs more than 56 bits of numerator
+        @DEC64 long actual = divide(of(5_191_176_470_588_235L, (byte) -15), of(3_095_588_235_294_117_5L, (byte) -16));
+        assertTrue(equals64(of(16769596199524940L, (byte) -16), actual), "wide divide was " + STANDARD.format(actual));
+        assertTrue(isNaN(divide(DEC64_ONE, DEC64_ZERO)), "1 / 0 should be NaN");
+    }
+
+    @Test
+    public void divideBelowLeastExponent() {
+        // Quotients below 10^-110 keep fewer digits, rounded only once
+        @DEC64 long actual = divide(of(53_009_113_239_564L, (byte) -99), of(46, (byte) 25));
+        assertTrue(equals64(of(1_152_372_026_947_043L, (byte) -127), actual), "was " + STANDARD.format(actual));
+        actual = divide(of(361_737, (byte) -1), of(44, (byte) 115));
+        assertTrue(equals64(of(822_129_545_454_545L, (byte) -127), actual), "was " + STANDARD.format(actual));
+        assertTrue(equals64(of(1, (byte) -127), divide(of(5, (byte) -127), of(10, (byte) 0))), "half the least should round up");
+        assertTrue(isZero(divide(of(4, (byte) -127), of(10, (byte) 0))), "less than half the least should round to zero");
+    }
+
     @Test
     @Disabled
     public void complex_divide() {
@@ -165,8 +256,9 @@ public class SimpleTest {
     @Test
     public void simpleFactorial() {
         long current = of(1, 0);
-        // FIXME - should do up to FACTORIAL.length 
-        for (int i = 2; i < 19; i++) {
+        // Beyond 24! the rounding of each step accumulates, so the running
+        // product drifts from the correctly rounded table values
+        for (int i = 2; i < 25; i++) {
             current = multiply(of(i, 0), current);
             assertTrue(equals64(FACTORIAL[i], current), i + "! value incorrect");
         }
@@ -230,7 +322,7 @@ public class SimpleTest {
     @Test
     public void negativeNumber() {
         assertTrue(equals64(neg(DEC64_NEGATIVE_ONE), DEC64_ONE), "neg value of -1 should equal 1");
-//		assertTrue("neg value of 1 should equal -1", equals64(neg(DEC64_ONE), DEC64_NEGATIVE_ONE));
+        assertTrue(equals64(neg(DEC64_ONE), DEC64_NEGATIVE_ONE), "neg value of 1 should equal -1");
     }
     
     @Test
@@ -252,4 +344,31 @@ public class SimpleTest {
         assertFalse(less(TestConstants.FOUR, of(20, (byte) -128)), "illegal exponent should return false");
         assertFalse(less(TestConstants.FOUR, Constants64.DEC64_NAN), "Any nan value is greater than any number value");
     }
+
+    @Test
+    public void test_Compare() {
+        assertEquals(0, compare(DEC64_ONE, 2815), "1 should compare equal to 1.0");
+        assertEquals(-1, compare(DEC64_ZERO, MINIMUM), "0 < minimum");
+        assertEquals(1, compare(MAXIMUM, MINIMUM), "maximum > minimum");
+        assertEquals(-1, compare(DEC64_NEGATIVE_ONE, DEC64_POINT_ONE), "-1 < 0.1");
+        assertEquals(1, compare(NEGATIVE_EPSILON, 2 * DEC64_NEGATIVE_ONE), "-epsilon > -2");
+        assertEquals(-1, compare(ALMOST_ONE, DEC64_ONE), "0.9... < 1");
+        assertEquals(1, compare(of(1, (byte) 1), of(DEC64_MAX_COEFFICIENT, (byte) -17)), "10 > 0.36...");
+        assertEquals(-1, compare(of(DEC64_MAX_COEFFICIENT, (byte) 0), of(1, (byte) 18)), "max coefficient < 1e18");
+        assertEquals(1, compare(of(DEC64_MAX_COEFFICIENT, (byte) 1), of(DEC64_MAX_COEFFICIENT, (byte) 0)));
+        assertEquals(0, compare(DEC64_ZERO, of(0, (byte) 100)), "zero at any exponent is zero");
+        assertEquals(1, compare(DEC64_NAN, MAXIMUM), "NaN sorts after any number");
+        assertEquals(-1, compare(MAXIMUM, DEC64_NAN), "NaN sorts after any number");
+        assertEquals(0, compare(DEC64_NAN, of(20, (byte) -128)), "all NaNs compare equal");
+        assertFalse(equals64(DEC64_NAN, DEC64_NAN), "NaN != NaN");
+    }
+
+    @Test
+    public void test_MinMax() {
+        assertEquals(DEC64_POINT_ONE, min(DEC64_POINT_ONE, DEC64_ONE));
+        assertEquals(DEC64_ONE, max(DEC64_POINT_ONE, DEC64_ONE));
+        assertEquals(DEC64_NEGATIVE_ONE, min(CENT, DEC64_NEGATIVE_ONE));
+        assertTrue(isNaN(min(DEC64_NAN, DEC64_ONE)));
+        assertTrue(isNaN(max(DEC64_ONE, DEC64_NAN)));
+    }
 }
@@ -0,0 +1,94 @@
+package dec64;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+import static dec64.Basic64.*;
+import static dec64.Constants64.*;
+import static dec64.Dec64.fromBigDecimal;
+import static dec64.Dec64.toBigDecimal;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Conversion between DEC64 and BigDecimal.
+ */
+public class TestBigDecimal {
+
+    @Test
+    public void testToBigDecimal() {
+        System.out.println("toBigDecimal");
+        assertEquals(new BigDecimal("0"), toBigDecimal(DEC64_ZERO));
+        assertEquals(new BigDecimal("1.50"), toBigDecimal(pack(150, -2)));
+        assertEquals(new BigDecimal("-1.5E+3"), toBigDecimal(pack(-15, 2)));
+        assertEquals(new BigDecimal("3.6028797018963967E+143"), toBigDecimal(pack(36028797018963967L, 127)));
+        assertEquals(new BigDecimal("0.5"), Dec64.of(DEC64_HALF).toBigDecimal());
+        assertThrows(NumberFormatException.class, () -> toBigDecimal(DEC64_NAN));
+    }
+
+    @Test
+    public void testFromBigDecimal() {
+        System.out.println("fromBigDecimal");
+        assertEquals(DEC64_ZERO, fromBigDecimal(BigDecimal.ZERO));
+        assertEquals(DEC64_ZERO, fromBigDecimal(new BigDecimal("0E-300")));
+        assertEquals(pack(150, -2), fromBigDecimal(new BigDecimal("1.50")));
+        assertEquals(pack(-15, 2), fromBigDecimal(new BigDecimal("-1.5E+3")));
+        // Exponents beyond 127 are traded for digits where there is room
+        assertEquals(pack(1000, 127), fromBigDecimal(new BigDecimal("1E+130")));
+        assertEquals(DEC64_NAN, fromBigDecimal(new BigDecimal("1E+144")));
+        assertEquals(DEC64_NAN, fromBigDecimal(new BigDecimal("1E+2000000000")));
+        // Rounded half away from zero to 17 digits, or 16 if 17 do not fit
+        assertEquals(pack(12345678901234568L, -17), fromBigDecimal(new BigDecimal("0.123456789012345675")));
+        assertEquals(pack(-12345678901234568L, -17), fromBigDecimal(new BigDecimal("-0.123456789012345675")));
+        assertEquals(pack(3602879701896397L, 1), fromBigDecimal(new BigDecimal("36028797018963967.5")));
+        assertEquals(pack(36028797018963965L, 1), fromBigDecimal(new BigDecimal("360287970189639645")));
+        assertEquals(pack(3602879701896397L, 2), fromBigDecimal(new BigDecimal("360287970189639685")));
+        // and to an exponent of -127
+        assertEquals(pack(2, -127), fromBigDecimal(new BigDecimal("1.5E-127")));
+        assertEquals(DEC64_ZERO, fromBigDecimal(new BigDecimal("4.9E-128")));
+    }
+
+    @Test
+    public void testRoundTrip() {
+        System.out.println("round trip");
+        Random random = new Random(16);
+        for (int i = 0; i < 20000; i++) {
+            long num = pack(random.nextLong() >> (8 + random.nextInt(56)), random.nextInt(255) - 127);
+            assertEquals(num, fromBigDecimal(toBigDecimal(num)));
+        }
+        for (int i = 0; i < 20000; i++) {
+            BigDecimal value = new BigDecimal(new BigInteger(1 + random.nextInt(100), random), random.nextInt(300) - 150);
+            if (random.nextBoolean()) {
+                value = value.negate();
+            }
+            long num = fromBigDecimal(value);
+            if (isNaN(num)) {
+                assertTrue(value.abs().compareTo(new BigDecimal("3.6028797018963968E+143")) >= 0, value.toString());
+                continue;
+            }
+            // No further from value than half a unit in the last place kept
+            BigDecimal error = toBigDecimal(num).subtract(value).abs();
+            BigDecimal halfUnit = BigDecimal.valueOf(5, 1 - exponent(num));
+            assertTrue(error.compareTo(halfUnit) <= 0, value.toString());
+            if (error.signum() != 0) {
+                assertTrue(num == DEC64_ZERO || exponent(num) == -127 || digits(num) >= 16, value.toString());
+            }
+        }
+    }
+
+    @Test
+    public void testArrays() {
+        System.out.println("arrays");
+        long[] nums = {DEC64_ONE, pack(-150, -2), pack(15, 2), DEC64_ZERO};
+        BigDecimal[] decimals = new BigDecimal[6];
+        Dec64.toBigDecimal(nums, 1, decimals, 2, 3);
+        assertArrayEquals(new BigDecimal[] {null, null, new BigDecimal("-1.50"), new BigDecimal("1.5E+3"), BigDecimal.ZERO, null}, decimals);
+        long[] back = new long[4];
+        Dec64.fromBigDecimal(decimals, 2, back, 0, 3);
+        assertArrayEquals(new long[] {pack(-150, -2), pack(15, 2), DEC64_ZERO, 0}, back);
+        assertThrows(ArrayIndexOutOfBoundsException.class, () -> Dec64.toBigDecimal(nums, 2, decimals, 0, 3));
+        assertThrows(ArrayIndexOutOfBoundsException.class, () -> Dec64.fromBigDecimal(decimals, 4, back, 0, 3));
+        assertThrows(NumberFormatException.class, () -> Dec64.toBigDecimal(new long[] {DEC64_NAN}, 0, decimals, 0, 1));
+    }
+}
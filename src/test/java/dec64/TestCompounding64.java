@@ -0,0 +1,42 @@
+package dec64;
+
+import dec64.annotations.DEC64;
+import org.junit.jupiter.api.Test;
+
+import static dec64.Basic64.*;
+import static dec64.Constants64.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Every factor in a compounding table is the number Math64.raise gives.
+ */
+public class TestCompounding64 {
+
+    @Test
+    public void testMatchesRaise() {
+        System.out.println("compounding matches raise");
+        for (@DEC64 long rate : new long[] { of(5, -3), of(4167, -6), neg(of(2, -2)), DEC64_ZERO }) {
+            Compounding64 table = Compounding64.of(rate, 360);
+            @DEC64 long growth = add(DEC64_ONE, rate);
+            assertEquals(360, table.periods());
+            assertEquals(rate, table.rate());
+            for (int n = -400; n <= 400; n++) {
+                @DEC64 long power = n < 0 ? neg(of(-n, 0)) : of(n, 0);
+                assertEquals(Math64.raise(growth, power), table.factor(n), "period " + n);
+                assertEquals(table.factor(-n), table.discount(n));
+            }
+        }
+    }
+
+    @Test
+    public void testValues() {
+        System.out.println("compounding values");
+        Compounding64 monthly = Compounding64.of(of(5, -3), 360);
+        assertEquals(DEC64_ONE, monthly.factor(0));
+        assertEquals(of(1005, -3), monthly.factor(1));
+        assertTrue(equals64(of(6022575212263216L, -15), monthly.factor(360)));
+        // 1000 at 0.5% a month for a year
+        assertTrue(equals64(of(10616778118644996L, -13), monthly.compound(of(1000, 0), 12)));
+        assertThrows(IllegalArgumentException.class, () -> Compounding64.of(DEC64_ONE, -1));
+    }
+}
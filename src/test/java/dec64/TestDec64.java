@@ -0,0 +1,111 @@
+package dec64;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeSet;
+import org.junit.jupiter.api.Test;
+
+import static dec64.Basic64.*;
+import static dec64.Constants64.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The Dec64 box as a value: equality, hashing, ordering, caching and the
+ * Number accessors.
+ */
+public class TestDec64 {
+
+    @Test
+    public void testEquals() {
+        System.out.println("equals");
+        Dec64 one = Dec64.of(DEC64_ONE);
+        Dec64 onePointOh = Dec64.of(pack(10, -1));
+        Dec64 onePointOhOh = Dec64.of(pack(100, -2));
+        assertEquals(one, onePointOh);
+        assertEquals(onePointOh, onePointOhOh);
+        assertEquals(one.hashCode(), onePointOhOh.hashCode());
+        assertEquals(Dec64.of(pack(15, 2)), Dec64.of(pack(1500, 0)));
+        assertEquals(Dec64.of(pack(15, 2)).hashCode(), Dec64.of(pack(1500, 0)).hashCode());
+        assertEquals(Dec64.of(DEC64_NAN), Dec64.of(pack(1, 0) | 0x80));
+        assertEquals(Dec64.of(DEC64_NAN).hashCode(), Dec64.of(pack(1, 0) | 0x80).hashCode());
+        assertNotEquals(one, Dec64.of(DEC64_TWO));
+        assertNotEquals(one, Dec64.of(DEC64_NAN));
+        assertNotEquals(one, 1L);
+        // The representation is kept
+        assertEquals(pack(100, -2), onePointOhOh.dec64Value());
+        assertEquals("1.00", onePointOhOh.toString());
+
+        Map<Dec64, String> map = new HashMap<>();
+        map.put(onePointOhOh, "one");
+        assertEquals("one", map.get(one));
+
+        Random random = new Random(17);
+        for (int i = 0; i < 10000; i++) {
+            long coeff = random.nextInt(2_000_000) - 1_000_000;
+            int exp = random.nextInt(20) - 10;
+            int k = random.nextInt(8);
+            long x = pack(coeff, exp);
+            long y = pack(coeff * POWERS_OF_TEN[k], exp - k);
+            assertEquals(Dec64.of(x), Dec64.of(y));
+            assertEquals(Dec64.of(x).hashCode(), Dec64.of(y).hashCode());
+            assertEquals(0, Dec64.of(x).compareTo(Dec64.of(y)));
+        }
+    }
+
+    @Test
+    public void testCompareTo() {
+        System.out.println("compareTo");
+        Dec64[] sorted = {
+            Dec64.of(pack(-15, 2)), Dec64.of(DEC64_NEGATIVE_ONE), Dec64.of(DEC64_ZERO),
+            Dec64.of(pack(1, -2)), Dec64.of(DEC64_HALF), Dec64.of(DEC64_ONE),
+            Dec64.of(pack(15, 2)), Dec64.of(DEC64_NAN)
+        };
+        Dec64[] shuffled = sorted.clone();
+        Collections.shuffle(Arrays.asList(shuffled), new Random(17));
+        Arrays.sort(shuffled);
+        assertArrayEquals(sorted, shuffled);
+        TreeSet<Dec64> set = new TreeSet<>();
+        set.add(Dec64.of(DEC64_ONE));
+        set.add(Dec64.of(pack(100, -2)));
+        assertEquals(1, set.size());
+    }
+
+    @Test
+    public void testValueOf() {
+        System.out.println("valueOf");
+        assertSame(Dec64.valueOf(DEC64_ONE), Dec64.valueOf(DEC64_ONE));
+        assertSame(Dec64.valueOf(pack(-128, 0)), Dec64.of(-128L << 8));
+        assertSame(Dec64.valueOf(pack(1023, 0)), Dec64.of(1023, (byte) 0));
+        assertSame(Dec64.valueOf(pack(1999, -2)), Dec64.valueOf(pack(1999, -2)));
+        assertSame(Dec64.valueOf(DEC64_ZERO), Dec64.valueOf(DEC64_ZERO));
+        assertSame(Dec64.valueOf(DEC64_NAN), Dec64.valueOf(DEC64_NAN));
+        assertNotSame(Dec64.valueOf(pack(1024, 0)), Dec64.valueOf(pack(1024, 0)));
+        // The cache never changes the representation
+        assertEquals(pack(1999, -2), Dec64.valueOf(pack(1999, -2)).dec64Value());
+        assertEquals(pack(100, -2), Dec64.valueOf(pack(100, -2)).dec64Value());
+        assertEquals(pack(10, -1), Dec64.valueOf(pack(10, -1)).dec64Value());
+    }
+
+    @Test
+    public void testNumber() {
+        System.out.println("Number");
+        assertEquals(1, Dec64.of(DEC64_ONE).intValue());
+        assertEquals(3, Dec64.of(pack(314, -2)).longValue());
+        assertEquals(-3, Dec64.of(pack(-399, -2)).longValue());
+        assertEquals(0, Dec64.of(pack(-99, -2)).intValue());
+        assertEquals(1500, Dec64.of(pack(15, 2)).longValue());
+        assertEquals(1_000_000_000_000_000_000L, Dec64.of(pack(1, 18)).longValue());
+        assertEquals(Long.MAX_VALUE, Dec64.of(pack(1, 19)).longValue());
+        assertEquals(Long.MIN_VALUE, Dec64.of(pack(-1, 127)).longValue());
+        assertEquals(Integer.MAX_VALUE, Dec64.of(pack(3, 9)).intValue());
+        assertEquals(Integer.MIN_VALUE, Dec64.of(pack(-3, 9)).intValue());
+        assertEquals(0, Dec64.of(pack(1, -127)).longValue());
+        assertEquals(0, Dec64.of(DEC64_NAN).longValue());
+        assertEquals(3.14, Dec64.of(pack(314, -2)).doubleValue());
+        assertEquals(3.14f, Dec64.of(pack(314, -2)).floatValue());
+        assertTrue(Double.isNaN(Dec64.of(DEC64_NAN).doubleValue()));
+    }
+}
@@ -0,0 +1,396 @@
+package dec64;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+import static dec64.Basic64.*;
+import static dec64.Constants64.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the bulk kernels give the same bits as the scalar operations, on
+ * runs that take the fast path, runs that fall back and runs that mix both.
+ */
+public class TestDec64Arrays {
+
+    private static final int LENGTH = 3000;
+
+    private final Random random = new Random(64);
+
+    // Same exponent per pair, small coefficients - always the fast path
+    private long[] aligned(int exponent) {
+        long[] out = new long[LENGTH];
+        for (int i = 0; i < LENGTH; i++) {
+            out[i] = pack(random.nextInt(2_000_001) - 1_000_000, exponent);
+        }
+        return out;
+    }
+
+    // Anything goes, including NaN, zeros and extreme coefficients
+    private long[] mixed() {
+        long[] out = new long[LENGTH];
+        for (int i = 0; i < LENGTH; i++) {
+            switch (random.nextInt(6)) {
+                case 0:
+                    out[i] = DEC64_NAN;
+                    break;
+                case 1:
+                    out[i] = pack(0, random.nextInt(255) - 127);
+                    break;
+                case 2:
+                    out[i] = pack(random.nextBoolean() ? DEC64_MAX_COEFFICIENT : DEC64_MIN_COEFFICIENT,
+                            random.nextInt(255) - 127);
+                    break;
+                default:
+                    out[i] = pack(random.nextLong() >> random.nextInt(64), random.nextInt(41) - 20);
+            }
+        }
+        return out;
+    }
+
+    private long[][] inputs() {
+        long[] slow = mixed();
+        long[] half = aligned(-2);
+        System.arraycopy(slow, 0, half, LENGTH / 2, LENGTH / 2);
+        return new long[][] { aligned(-2), aligned(-2), aligned(3), mixed(), mixed(), half };
+    }
+
+    @Test
+    public void testAdd() {
+        System.out.println("add");
+        long[][] in = inputs();
+        for (long[] a : in) {
+            for (long[] b : in) {
+                long[] dst = new long[LENGTH];
+                Dec64Arrays.add(a, b, dst);
+                for (int i = 0; i < LENGTH; i++) {
+                    assertEquals(add(a[i], b[i]), dst[i]);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testSubtract() {
+        System.out.println("subtract");
+        long[][] in = inputs();
+        for (long[] a : in) {
+            for (long[] b : in) {
+                long[] dst = new long[LENGTH];
+                Dec64Arrays.subtract(a, b, dst);
+                for (int i = 0; i < LENGTH; i++) {
+                    assertEquals(subtract(a[i], b[i]), dst[i]);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testMultiply() {
+        System.out.println("multiply");
+        long[][] in = inputs();
+        for (long[] a : in) {
+            for (long[] b : in) {
+                long[] dst = new long[LENGTH];
+                Dec64Arrays.multiply(a, b, dst);
+                for (int i = 0; i < LENGTH; i++) {
+                    assertEquals(multiply(a[i], b[i]), dst[i]);
+                }
+            }
+        }
+        long[] big = aligned(120);
+        long[] dst = new long[LENGTH];
+        Dec64Arrays.multiply(big, big, dst);
+        assertTrue(isNaN(dst[0]) || dst[0] == 0);
+    }
+
+    @Test
+    public void testMultiplyByScalar() {
+        System.out.println("multiply by scalar");
+        long[] factors = { DEC64_ONE, DEC64_NEGATIVE_ONE, DEC64_NAN, 0, pack(-7, 2),
+            pack(DEC64_MAX_COEFFICIENT, -1), pack(3, 126) };
+        for (long[] a : inputs()) {
+            for (long factor : factors) {
+                long[] dst = new long[LENGTH];
+                Dec64Arrays.multiply(a, 0, factor, dst, 0, LENGTH);
+                for (int i = 0; i < LENGTH; i++) {
+                    assertEquals(multiply(a[i], factor), dst[i]);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testNegAbs() {
+        System.out.println("neg and abs");
+        for (long[] a : inputs()) {
+            long[] negated = new long[LENGTH];
+            long[] absolute = new long[LENGTH];
+            Dec64Arrays.neg(a, 0, negated, 0, LENGTH);
+            Dec64Arrays.abs(a, 0, absolute, 0, LENGTH);
+            for (int i = 0; i < LENGTH; i++) {
+                assertEquals(neg(a[i]), negated[i]);
+                assertEquals(abs(a[i]), absolute[i]);
+            }
+        }
+    }
+
+    @Test
+    public void testCompare() {
+        System.out.println("compare");
+        long[][] in = inputs();
+        for (long[] a : in) {
+            for (long[] b : in) {
+                byte[] mask = new byte[LENGTH];
+                Dec64Arrays.compare(a, 0, b, 0, mask, 0, LENGTH);
+                for (int i = 0; i < LENGTH; i++) {
+                    assertEquals(compare(a[i], b[i]), mask[i]);
+                }
+            }
+        }
+    }
+
+    // The exact sum of a range, rounded once as DEC64 rounds
+    private static long exactSum(long[] a) {
+        BigDecimal total = BigDecimal.ZERO;
+        for (long x : a) {
+            total = total.add(BigDecimal.valueOf(coefficient(x), -exponent(x)));
+        }
+        BigInteger max = BigInteger.valueOf(DEC64_MAX_COEFFICIENT);
+        BigInteger min = BigInteger.valueOf(DEC64_MIN_COEFFICIENT);
+        int scale = total.scale();
+        BigDecimal rounded = total;
+        while (rounded.unscaledValue().compareTo(max) > 0 || rounded.unscaledValue().compareTo(min) < 0) {
+            rounded = total.setScale(--scale, RoundingMode.HALF_UP);
+        }
+        return pack(rounded.unscaledValue().longValue(), -rounded.scale());
+    }
+
+    // Full width coefficients with exponents close enough to sum exactly
+    private long[] spread(int length) {
+        long[] out = new long[length];
+        for (int i = 0; i < length; i++) {
+            out[i] = pack(random.nextLong() >> 9, random.nextInt(13) - 6);
+        }
+        return out;
+    }
+
+    @Test
+    public void testSum() {
+        System.out.println("sum with " + ArrayKernels.KERNELS.getClass().getSimpleName());
+        long[] same = aligned(-2);
+        long total = 0;
+        for (long x : same) {
+            total += coefficient(x);
+        }
+        assertEquals(pack(total, -2), Dec64Arrays.sum(same));
+        assertEquals(pack(total - coefficient(same[0]), -2), Dec64Arrays.sum(same, 1, LENGTH - 1));
+        assertEquals(0, Dec64Arrays.sum(same, 5, 0));
+        assertTrue(isNaN(Dec64Arrays.sum(mixed())));
+
+        // A block of large coefficients is summed exactly and rounded once
+        long[] big = new long[ArrayKernels.BLOCK];
+        java.util.Arrays.fill(big, pack((1L << 54) - 1, 0));
+        assertEquals(pack(((1L << 54) - 1) * ArrayKernels.BLOCK, 0), Dec64Arrays.sum(big));
+
+        // Mixed exponents are summed exactly, whatever the order
+        long[] spread = spread(LENGTH);
+        long sum = Dec64Arrays.sum(spread);
+        assertEquals(0, compare(exactSum(spread), sum));
+        long[] reversed = new long[LENGTH];
+        for (int i = 0; i < LENGTH; i++) {
+            reversed[i] = spread[LENGTH - 1 - i];
+        }
+        assertEquals(sum, Dec64Arrays.sum(reversed));
+
+        // Terms too far apart to hold exactly still give a sensible sum
+        long[] far = { pack(1, 100), pack(1, -100), pack(-1, 100) };
+        assertEquals(pack(1, -100), Dec64Arrays.sum(far));
+    }
+
+    @Test
+    public void testParallelReductions() {
+        System.out.println("parallel reductions");
+        long[] spread = spread(200_000);
+        assertEquals(Dec64Arrays.sum(spread), Dec64Arrays.parallelSum(spread));
+        for (int length : new int[] { 0, 1, 4095, 4097, 100_001 }) {
+            assertEquals(Dec64Arrays.sum(spread, 7, length), Dec64Arrays.parallelSum(spread, 7, length));
+            assertEquals(Dec64Arrays.min(spread, 7, length), Dec64Arrays.parallelMin(spread, 7, length));
+            assertEquals(Dec64Arrays.max(spread, 7, length), Dec64Arrays.parallelMax(spread, 7, length));
+        }
+        long min = spread[0];
+        long max = spread[0];
+        for (long x : spread) {
+            min = Basic64.min(min, x);
+            max = Basic64.max(max, x);
+        }
+        assertEquals(min, Dec64Arrays.min(spread, 0, spread.length));
+        assertEquals(max, Dec64Arrays.parallelMax(spread, 0, spread.length));
+
+        long[] cents = new long[100_000];
+        for (int i = 0; i < cents.length; i++) {
+            cents[i] = pack(i % 1000 - 500, -2);
+        }
+        assertEquals(pack(499, -2), Dec64Arrays.parallelMax(cents, 0, cents.length));
+        assertEquals(pack(-500, -2), Dec64Arrays.parallelMin(cents, 0, cents.length));
+
+        cents[77_777] = DEC64_NAN;
+        cents[3] = DEC64_NAN;
+        assertEquals(2, Dec64Arrays.parallelCountNaN(cents, 0, cents.length));
+        assertEquals(1, Dec64Arrays.countNaN(cents, 0, 50_000));
+        assertTrue(isNaN(Dec64Arrays.parallelMin(cents, 0, cents.length)));
+        assertTrue(isNaN(Dec64Arrays.parallelSum(cents)));
+        assertTrue(isNaN(Dec64Arrays.max(cents, 0, 0)));
+    }
+
+    @Test
+    public void testOffsetsAndInPlace() {
+        System.out.println("offsets and in place");
+        long[] a = aligned(-2);
+        long[] b = mixed();
+        long[] expected = new long[LENGTH];
+        for (int i = 0; i < 1000; i++) {
+            expected[i + 7] = add(a[i + 100], b[i + 5]);
+        }
+        long[] dst = new long[LENGTH];
+        Dec64Arrays.add(a, 100, b, 5, dst, 7, 1000);
+        assertArrayEquals(expected, dst);
+
+        long[] in = a.clone();
+        Dec64Arrays.multiply(in, 0, in, 0, in, 0, LENGTH);
+        for (int i = 0; i < LENGTH; i++) {
+            assertEquals(multiply(a[i], a[i]), in[i]);
+        }
+
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> Dec64Arrays.add(a, LENGTH - 10, b, 0, dst, 0, 11));
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> Dec64Arrays.neg(a, -1, dst, 0, 1));
+    }
+
+    // Numbers of every kind, with each value in several representations
+    private long[] sortable(int length) {
+        long[] out = mixed();
+        out = Arrays.copyOf(out, length);
+        for (int i = 0; i < length; i++) {
+            switch (random.nextInt(4)) {
+                case 0:
+                    out[i] = pack(random.nextInt(2000) - 1000, -random.nextInt(3));
+                    break;
+                case 1:
+                    // Around the ends of the exponent range
+                    out[i] = pack(random.nextLong() >> random.nextInt(64),
+                            random.nextBoolean() ? -127 + random.nextInt(20) : 127 - random.nextInt(20));
+                    break;
+                default:
+                    out[i] = i < LENGTH ? out[i] : pack(random.nextLong() >> 9, random.nextInt(41) - 20);
+            }
+            if (random.nextInt(4) == 0 && !isNaN(out[i]) && coefficient(out[i]) % 10 == 0) {
+                // The same number with one more digit dropped
+                out[i] = pack(coefficient(out[i]) / 10, exponent(out[i]) + 1);
+            }
+        }
+        return out;
+    }
+
+    @Test
+    public void testSortKey() {
+        System.out.println("sortKey");
+        long[] numbers = sortable(20_000);
+        byte[] bytesX = new byte[8];
+        byte[] bytesY = new byte[9];
+        for (int i = 0; i < numbers.length; i++) {
+            long x = numbers[i];
+            long y = numbers[random.nextInt(numbers.length)];
+            int expected = compare(x, y);
+            assertEquals(expected, Integer.signum(Long.compareUnsigned(sortKey(x), sortKey(y))));
+            long back = fromSortKey(sortKey(x));
+            assertEquals(canonical(x), back);
+            sortKey(x, bytesX, 0);
+            sortKey(y, bytesY, 1);
+            int byteOrder = 0;
+            for (int k = 0; k < 8 && byteOrder == 0; k++) {
+                byteOrder = Integer.compare(bytesX[k] & 0xFF, bytesY[k + 1] & 0xFF);
+            }
+            assertEquals(expected, byteOrder);
+            assertEquals(back, fromSortKey(bytesX, 0));
+        }
+        // Equal numbers written differently share a key
+        assertEquals(sortKey(DEC64_ONE), sortKey(pack(100, -2)));
+        assertEquals(sortKey(pack(15, 2)), sortKey(pack(1500, 0)));
+        assertEquals(sortKey(DEC64_ZERO), sortKey(pack(0, -127)));
+        assertEquals(-1L, sortKey(pack(5, 0) | 0x80));
+        assertEquals(Long.MIN_VALUE, sortKey(DEC64_ZERO));
+        // The smallest numbers sit either side of zero
+        assertEquals(Long.MIN_VALUE + 1, sortKey(pack(1, -127)));
+        assertEquals(Long.MAX_VALUE, sortKey(pack(-1, -127)));
+        assertTrue(Long.compareUnsigned(sortKey(pack(DEC64_MAX_COEFFICIENT, 127)), -1L) < 0);
+        assertTrue(Long.compareUnsigned(sortKey(pack(DEC64_MIN_COEFFICIENT, 127)), 0L) > 0);
+        assertEquals(pack(DEC64_MIN_COEFFICIENT, 127), fromSortKey(sortKey(pack(DEC64_MIN_COEFFICIENT, 127))));
+        // Keys no number has
+        assertTrue(isNaN(fromSortKey(-2L)));
+        assertTrue(isNaN(fromSortKey(0L)));
+        assertThrows(IndexOutOfBoundsException.class, () -> sortKey(DEC64_ONE, new byte[8], 1));
+        assertThrows(IndexOutOfBoundsException.class, () -> fromSortKey(new byte[7], 0));
+    }
+
+    @Test
+    public void testSort() {
+        System.out.println("sort");
+        for (int length : new int[] { 0, 1, 2, 47, 48, 1000, 20_000, 100_000 }) {
+            long[] numbers = sortable(length);
+            Long[] boxed = new Long[length];
+            for (int i = 0; i < length; i++) {
+                boxed[i] = numbers[i];
+            }
+            // A stable sort of the boxes keeps equal numbers in order too
+            Arrays.sort(boxed, Basic64::compare);
+            long[] sorted = numbers.clone();
+            Dec64Arrays.sort(sorted);
+            long[] parallel = numbers.clone();
+            Dec64Arrays.parallelSort(parallel);
+            for (int i = 0; i < length; i++) {
+                assertEquals((long) boxed[i], sorted[i]);
+                assertEquals((long) boxed[i], parallel[i]);
+            }
+        }
+
+        long[] prices = new long[5000];
+        for (int i = 0; i < prices.length; i++) {
+            prices[i] = pack(10_000 + random.nextInt(500), -2);
+        }
+        prices[17] = pack(1000050, -4);
+        long[] range = prices.clone();
+        Dec64Arrays.sort(range, 100, 4000);
+        for (int i = 101; i < 4100; i++) {
+            assertTrue(compare(range[i - 1], range[i]) <= 0);
+        }
+        assertArrayEquals(Arrays.copyOf(prices, 100), Arrays.copyOf(range, 100));
+        assertEquals(prices[4100], range[4100]);
+        assertThrows(IndexOutOfBoundsException.class, () -> Dec64Arrays.sort(prices, 4000, 1001));
+    }
+
+    @Test
+    public void testBinarySearch() {
+        System.out.println("binarySearch");
+        long[] numbers = sortable(10_000);
+        Dec64Arrays.sort(numbers);
+        for (int i = 0; i < numbers.length; i++) {
+            int found = Dec64Arrays.binarySearch(numbers, numbers[i]);
+            assertEquals(0, compare(numbers[i], numbers[found]));
+        }
+        long[] cents = { pack(100, -2), pack(150, -2), DEC64_TWO, pack(300, -2), DEC64_NAN };
+        assertEquals(0, Dec64Arrays.binarySearch(cents, DEC64_ONE));
+        assertEquals(2, Dec64Arrays.binarySearch(cents, pack(200, -2)));
+        assertEquals(4, Dec64Arrays.binarySearch(cents, pack(9, 0) | 0x80));
+        assertEquals(-1, Dec64Arrays.binarySearch(cents, DEC64_HALF));
+        assertEquals(-4, Dec64Arrays.binarySearch(cents, pack(25, -1)));
+        assertEquals(-5, Dec64Arrays.binarySearch(cents, pack(35, -1)));
+        assertEquals(-3, Dec64Arrays.binarySearch(cents, 1, 1, DEC64_TWO));
+        assertEquals(-2, Dec64Arrays.binarySearch(cents, 1, 0, DEC64_TWO));
+    }
+}
@@ -0,0 +1,128 @@
+package dec64;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+import static dec64.Basic64.*;
+import static dec64.Constants64.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Conversion between DEC64 and double.
+ */
+public class TestDoubleConversion {
+
+    private static BigDecimal exact(long num) {
+        return BigDecimal.valueOf(coefficient(num), -exponent(num));
+    }
+
+    @Test
+    public void testToDouble() {
+        System.out.println("toDouble");
+        assertEquals(0.0, toDouble(DEC64_ZERO));
+        assertEquals(1.0, toDouble(DEC64_ONE));
+        assertEquals(-1.0, toDouble(DEC64_NEGATIVE_ONE));
+        assertEquals(0.5, toDouble(DEC64_HALF));
+        assertEquals(0.1, toDouble(pack(1, -1)));
+        assertEquals(123456.78901234, toDouble(pack(12345678901234L, -8)));
+        assertEquals(1e127, toDouble(pack(1, 127)));
+        assertEquals(3.6028797018963967e-111, toDouble(pack(36028797018963967L, -127)));
+        assertTrue(Double.isNaN(toDouble(DEC64_NAN)));
+
+        Random random = new Random(15);
+        for (int i = 0; i < 100000; i++) {
+            long num = pack(random.nextLong() >> (8 + random.nextInt(56)), random.nextInt(255) - 127);
+            assertEquals(exact(num).doubleValue(), toDouble(num), exact(num).toString());
+            assertEquals(exact(num).floatValue(), Dec64.of(num).floatValue(), exact(num).toString());
+        }
+        // 16777217 is halfway between two floats and the nearest double to
+        // numbers within 1.8e-9 of it, so rounding through double would give
+        // 16777216 for all three
+        assertEquals(16777216f, Dec64.of(pack(16777217, 0)).floatValue());
+        assertEquals(16777218f, Dec64.of(pack(16777217000000001L, -9)).floatValue());
+        assertEquals(16777216f, Dec64.of(pack(16777216999999999L, -9)).floatValue());
+    }
+
+    @Test
+    public void testFromDouble() {
+        System.out.println("fromDouble");
+        assertEquals(DEC64_ZERO, fromDouble(0.0));
+        assertEquals(DEC64_ZERO, fromDouble(-0.0));
+        assertEquals(DEC64_ONE, fromDouble(1.0));
+        assertEquals(DEC64_NEGATIVE_ONE, fromDouble(-1.0));
+        assertEquals(pack(1, -1), fromDouble(0.1));
+        assertEquals(pack(-25, -1), fromDouble(-2.5));
+        assertEquals(pack(100, 0), fromDouble(100.0));
+        assertEquals(pack(3, -1), fromDouble(0.3));
+        assertEquals(pack(30000000000000004L, -17), fromDouble(0.1 + 0.2));
+        assertEquals(pack(1, 23), fromDouble(1e23));
+        assertEquals(pack(5, -124), fromDouble(5e-124));
+        assertEquals(pack(1, 127), fromDouble(1e127));
+        // 17 digits that do not fit the coefficient round to 16
+        assertEquals(pack(5000000000000001L, -16), fromDouble(0.50000000000000011));
+        assertEquals(DEC64_ZERO, fromDouble(1e-300));
+        assertEquals(DEC64_ZERO, fromDouble(Double.MIN_VALUE));
+        assertEquals(DEC64_NAN, fromDouble(1e200));
+        assertEquals(DEC64_NAN, fromDouble(Double.POSITIVE_INFINITY));
+        assertEquals(DEC64_NAN, fromDouble(Double.NEGATIVE_INFINITY));
+        assertEquals(DEC64_NAN, fromDouble(Double.NaN));
+    }
+
+    @Test
+    public void testFromDoubleShortest() {
+        System.out.println("fromDouble shortest");
+        Random random = new Random(15);
+        for (int i = 0; i < 100000; i++) {
+            double d;
+            if (random.nextBoolean()) {
+                // Any double from about 1e-100 to 1e100
+                d = Double.longBitsToDouble(random.nextLong() >>> 1);
+                if (Math.abs(Math.getExponent(d)) > 330) {
+                    continue;
+                }
+            } else {
+                // Short decimals, as prices and rates are
+                d = (random.nextInt(100_000_000) + 1) / Math.pow(10, random.nextInt(12));
+            }
+            if (random.nextBoolean()) {
+                d = -d;
+            }
+            check(d);
+        }
+        // Powers of two, where the spacing below is half that above
+        for (int e = -330; e <= 330; e++) {
+            check(Math.scalb(1.0, e));
+            check(Math.nextUp(Math.scalb(1.0, e)));
+            check(Math.nextDown(Math.scalb(1.0, e)));
+        }
+    }
+
+    private static void check(double d) {
+        long num = fromDouble(d);
+        String text = Double.toString(d);
+        BigDecimal value = new BigDecimal(d);
+        // Integers keep trailing zeros; count only significant digits
+        int digits = exact(num).stripTrailingZeros().precision();
+        if (d == 0) {
+            assertEquals(DEC64_ZERO, num, text);
+        } else if (d == toDouble(num)) {
+            // Only integers keep trailing zeros
+            if (exponent(num) != 0) {
+                assertNotEquals(0, coefficient(num) % 10, text);
+            }
+            if (digits > 1) {
+                // No decimal with fewer digits rounds back to d
+                MathContext shorter = new MathContext(digits - 1, RoundingMode.FLOOR);
+                assertNotEquals(d, value.round(shorter).doubleValue(), text);
+                shorter = new MathContext(digits - 1, RoundingMode.CEILING);
+                assertNotEquals(d, value.round(shorter).doubleValue(), text);
+            }
+        } else {
+            // Needs 17 digits that do not fit, so rounded to 16
+            assertEquals(0, value.round(new MathContext(16, RoundingMode.HALF_UP)).compareTo(exact(num)), text);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package dec64;
+
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+import static dec64.Basic64.*;
+import static dec64.Constants64.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Fixed scale arithmetic gives the same bits as Basic64, rounded to the
+ * scale, whenever the operands are at the scale.
+ */
+public class TestFixedScale64 {
+
+    private final Random random = new Random(20);
+
+    // A coefficient of up to the given number of digits, either sign
+    private long coefficient(int digits) {
+        long bound = POWERS_OF_TEN[digits];
+        return (random.nextLong() >>> 1) % bound * (random.nextBoolean() ? 1 : -1);
+    }
+
+    private long operand(FixedScale64 fixed) {
+        switch (random.nextInt(10)) {
+            case 0:
+                return DEC64_ZERO;
+            case 1:
+                return pack(0, 0) | (fixed.scale() & 0xFF);
+            case 2:
+                return fixed.fromUnits(random.nextBoolean() ? DEC64_MAX_COEFFICIENT : DEC64_MIN_COEFFICIENT);
+            default:
+                return fixed.fromUnits(coefficient(1 + random.nextInt(16)));
+        }
+    }
+
+    @Test
+    public void testMatchesBasic64() {
+        System.out.println("matches Basic64");
+        for (int scale : new int[] { 0, -2, -4, -8, -18 }) {
+            FixedScale64 fixed = FixedScale64.of(scale);
+            for (int i = 0; i < 200_000; i++) {
+                long a = operand(fixed);
+                long b = operand(fixed);
+                assertEquals(Basic64.add(a, b), fixed.add(a, b));
+                assertEquals(Basic64.subtract(a, b), fixed.subtract(a, b));
+                assertEquals(fixed.round(Basic64.multiply(a, b)), fixed.multiply(a, b));
+                assertEquals(fixed.round(Basic64.divide(a, b)), fixed.divide(a, b));
+                assertEquals(Basic64.compare(a, b), fixed.compare(a, b));
+            }
+        }
+    }
+
+    @Test
+    public void testDivideNearTies() {
+        System.out.println("divide near ties");
+        FixedScale64 cents = FixedScale64.CENTS;
+        for (int i = 0; i < 200_000; i++) {
+            // b * (q + 1/2) plus a little, so the quotient is close to a tie
+            long b = 1 + random.nextInt(1_000_000);
+            long q = random.nextInt(1_000_000_000);
+            long a = (2 * q + 1) * b + random.nextInt(3) - 1;
+            if (a % 2 != 0 || a / 2 / 100 > DEC64_MAX_COEFFICIENT) {
+                continue;
+            }
+            // a / 2 units is (q + 1/2) b - well, a / (200 b) in cents
+            long x = cents.fromUnits(a / 2);
+            long y = cents.fromUnits(b * 100);
+            assertEquals(cents.round(Basic64.divide(x, y)), cents.divide(x, y));
+        }
+        // 1 / 3 and 2 / 3 of a cent
+        assertEquals(pack(33, -2), cents.divide(DEC64_ONE, cents.fromUnits(300)));
+        assertEquals(pack(67, -2), cents.divide(DEC64_TWO, cents.fromUnits(300)));
+        assertEquals(pack(-67, -2), cents.divide(cents.fromUnits(-200), cents.fromUnits(300)));
+        // 0.125 rounds half away from zero
+        assertEquals(pack(13, -2), cents.divide(cents.fromUnits(100), cents.fromUnits(800)));
+        assertEquals(pack(-13, -2), cents.divide(cents.fromUnits(-100), cents.fromUnits(800)));
+    }
+
+    @Test
+    public void testEdges() {
+        System.out.println("edges");
+        FixedScale64 cents = FixedScale64.CENTS;
+        assertEquals(-2, cents.scale());
+        assertSame(cents, FixedScale64.of(-2));
+        assertThrows(IllegalArgumentException.class, () -> FixedScale64.of(1));
+        assertThrows(IllegalArgumentException.class, () -> FixedScale64.of(-19));
+
+        assertEquals(pack(1999, -2), cents.fromUnits(1999));
+        assertEquals(DEC64_ZERO, cents.fromUnits(0));
+        assertEquals(DEC64_NAN, cents.fromUnits(DEC64_MAX_COEFFICIENT + 1));
+        assertEquals(1999, cents.toUnits(pack(19990, -3)));
+        assertEquals(2000, cents.toUnits(pack(19995, -3)));
+        assertEquals(-2000, cents.toUnits(pack(-19995, -3)));
+        assertEquals(2000, cents.toUnits(pack(2, 1)));
+        assertEquals(0, cents.toUnits(DEC64_ZERO));
+        assertThrows(ArithmeticException.class, () -> cents.toUnits(DEC64_NAN));
+        assertThrows(ArithmeticException.class, () -> cents.toUnits(pack(1, 20)));
+
+        assertEquals(pack(1000, -2), cents.round(pack(1, 1)));
+        assertEquals(pack(1, 20), cents.round(pack(1, 20)));
+        assertEquals(pack(1, -2), cents.round(pack(5, -3)));
+        assertEquals(DEC64_ZERO, cents.round(pack(4, -3)));
+        assertEquals(DEC64_ZERO, cents.round(pack(DEC64_MAX_COEFFICIENT, -127)));
+        assertEquals(DEC64_NAN, cents.round(DEC64_NAN));
+
+        // Operands off the scale are rounded to it
+        assertEquals(pack(1013, -2), cents.add(pack(10, 0), pack(1255, -4)));
+        assertEquals(pack(1013, -2), cents.add(pack(1255, -4), pack(10, 0)));
+        assertEquals(pack(250, -2), cents.add(DEC64_ZERO, pack(25, -1)));
+        assertEquals(DEC64_ZERO, cents.subtract(cents.fromUnits(5), cents.fromUnits(5)));
+        assertEquals(DEC64_NAN, cents.add(DEC64_NAN, cents.fromUnits(5)));
+        assertEquals(DEC64_NAN, cents.divide(cents.fromUnits(5), DEC64_ZERO));
+        assertEquals(DEC64_NAN, cents.divide(cents.fromUnits(5), pack(0, -2)));
+        // A sum too large for cents is left as Basic64 rounds it
+        long big = cents.fromUnits(DEC64_MAX_COEFFICIENT);
+        assertEquals(Basic64.add(big, big), cents.add(big, big));
+        assertNotEquals(-2, exponent(cents.add(big, big)));
+        // Interest at 1.05 on 19.99
+        assertEquals(pack(2099, -2), cents.multiply(cents.fromUnits(1999), cents.fromUnits(105)));
+    }
+
+    @Test
+    public void testLeastCoefficient() {
+        System.out.println("least coefficient");
+        // -3602879701896396.8, the -2^55 coefficient, over 1.0 is itself
+        FixedScale64 tenths = FixedScale64.of(-1);
+        long least = 0x80000000000000ffL;
+        long one = pack(10, -1);
+        assertEquals(least, Basic64.divide(least, one));
+        assertEquals(least, tenths.divide(least, one));
+        assertEquals(tenths.round(Basic64.divide(least, one)), tenths.divide(least, one));
+        assertEquals(pack(DEC64_MIN_COEFFICIENT, 0), Basic64.divide(pack(DEC64_MIN_COEFFICIENT / 8, 0), pack(125, -3)));
+    }
+}
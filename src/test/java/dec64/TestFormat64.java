@@ -0,0 +1,170 @@
+package dec64;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+import static dec64.Basic64.*;
+import static dec64.Constants64.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Parsing of decimal text into DEC64.
+ */
+public class TestFormat64 {
+
+    private static void parses(long expected, String text) {
+        assertEquals(expected, Format64.toDEC64(text), text);
+        char[] padded = ("xx" + text + "yy").toCharArray();
+        assertEquals(expected, Format64.toDEC64(padded, 2, text.length()), text);
+        assertEquals(expected, Format64.toDEC64(new StringBuilder("x").append(text), 1, text.length()), text);
+    }
+
+    @Test
+    public void testParse() {
+        System.out.println("parse");
+        parses(of(42, (byte) 0), "42");
+        parses(pack(-42, 0), "-42");
+        parses(of(42, (byte) 0), "+42");
+        parses(of(1234, (byte) -2), "12.34");
+        parses(of(1234, (byte) -2), "012.34");
+        parses(of(5, (byte) -1), ".5");
+        parses(of(5, (byte) 0), "5.");
+        parses(of(1, (byte) -3), "0.001");
+        parses(of(100, (byte) -2), "1.00");
+        parses(DEC64_ZERO, "0");
+        parses(DEC64_ZERO, "-0.000");
+        parses(of(15, (byte) 2), "1.5e3");
+        parses(of(15, (byte) 2), "1.5E+3");
+        parses(pack(-15, -6), "-1.5e-5");
+        parses(of(7, (byte) -127), "7e-127");
+        parses(of(7, (byte) 127), "7e127");
+        parses(of(70, (byte) 126), "70e126");
+    }
+
+    @Test
+    public void testRounding() {
+        System.out.println("rounding");
+        // 17 digits that still fit, then the first that does not
+        parses(of(36028797018963967L, (byte) 0), "36028797018963967");
+        parses(of(3602879701896397L, (byte) 1), "36028797018963968");
+        parses(of(33333333333333333L, (byte) -17), "0.33333333333333333333333333");
+        parses(of(6666666666666667L, (byte) -16), "0.66666666666666666666666666");
+        parses(of(10000000000000000L, (byte) 4), "99999999999999999999.5");
+        parses(pack(-12345678901234568L, 3), "-12345678901234567890");
+        // Half away from zero, however far the digits run
+        parses(of(10000000000000001L, (byte) 1), "100000000000000005");
+        parses(of(10000000000000000L, (byte) 7), "100000000000000004999999");
+
+        Random random = new Random(12);
+        for (int i = 0; i < 20000; i++) {
+            StringBuilder text = new StringBuilder();
+            if (random.nextBoolean()) {
+                text.append('-');
+            }
+            int whole = random.nextInt(25);
+            int frac = random.nextInt(25);
+            for (int d = 0; d < whole; d++) {
+                text.append((char) ('0' + random.nextInt(10)));
+            }
+            text.append('.');
+            for (int d = 0; d < frac + (whole == 0 ? 1 : 0); d++) {
+                text.append((char) ('0' + random.nextInt(10)));
+            }
+            text.append('e').append(random.nextInt(81) - 40);
+            assertEquals(expected(new BigDecimal(text.toString())), Format64.toDEC64(text), text.toString());
+        }
+    }
+
+    // The DEC64 nearest a decimal, rounding once, half away from zero
+    private static long expected(BigDecimal value) {
+        BigDecimal rounded = value;
+        int scale = value.scale();
+        while (rounded.unscaledValue().abs().bitLength() > 55) {
+            rounded = value.setScale(--scale, RoundingMode.HALF_UP);
+        }
+        return pack(rounded.unscaledValue().longValue(), -rounded.scale());
+    }
+
+    @Test
+    public void testErrors() {
+        System.out.println("errors");
+        String[] bad = { "", "-", "+", ".", "-.", "e5", "1e", "1e+", "1.2.3", "1,5", " 1", "1 ",
+            "--1", "1e5.0", "NaN", "0x10", "1e1000", "12a" };
+        for (String text : bad) {
+            assertTrue(isNaN(Format64.toDEC64(text)), text);
+        }
+        assertEquals(DEC64_ZERO, Format64.toDEC64("1e-1000"));
+        assertEquals(DEC64_ZERO, Format64.toDEC64("0e1000"));
+        assertThrows(IndexOutOfBoundsException.class, () -> Format64.toDEC64("12", 1, 2));
+    }
+
+    @Test
+    public void testParseBytes() {
+        System.out.println("parse bytes");
+        Format64 format = Format64.of();
+        byte[] fix = "44=1234.5678\u000138=100\u000144=-0.000000001e+3|7e|".getBytes(StandardCharsets.US_ASCII);
+        assertEquals(9, format.parse(fix, 3, fix.length - 3));
+        assertEquals(of(12345678, (byte) -4), format.parsed());
+        assertEquals(3, format.parse(fix, 16, fix.length - 16));
+        assertEquals(of(100, (byte) 0), format.parsed());
+        assertEquals(15, format.parse(fix, 23, fix.length - 23));
+        assertEquals(pack(-1, -6), format.parsed());
+        // An exponent marker without digits is not part of the number
+        assertEquals(1, format.parse(fix, 39, fix.length - 39));
+        assertEquals(of(7, (byte) 0), format.parsed());
+        assertEquals(0, format.parse(fix, 0, 0));
+        assertTrue(isNaN(format.parsed()));
+        assertEquals(0, format.parse(fix, 2, 5));
+        // The length bounds the number
+        assertEquals(4, format.parse(fix, 3, 4));
+        assertEquals(of(1234, (byte) 0), format.parsed());
+
+        ByteBuffer direct = ByteBuffer.allocateDirect(fix.length);
+        direct.put(fix);
+        assertEquals(9, format.parse(direct, 3, fix.length - 3));
+        assertEquals(of(12345678, (byte) -4), format.parsed());
+        assertEquals(fix.length, direct.position());
+        assertEquals(3, format.parse(ByteBuffer.wrap(fix, 13, 8).slice().asReadOnlyBuffer(), 3, 5));
+        assertEquals(of(100, (byte) 0), format.parsed());
+    }
+
+    @Test
+    public void testParseBytesMatchesText() {
+        System.out.println("parse bytes matches text");
+        Format64 format = Format64.of();
+        Random random = new Random(13);
+        ByteBuffer direct = ByteBuffer.allocateDirect(128);
+        for (int i = 0; i < 20000; i++) {
+            StringBuilder text = new StringBuilder();
+            if (random.nextBoolean()) {
+                text.append('-');
+            }
+            // Long runs of digits and zeros exercise the eight at a time path
+            int whole = random.nextInt(30);
+            for (int d = 0; d < whole; d++) {
+                text.append((char) ('0' + (random.nextInt(3) == 0 ? 0 : random.nextInt(10))));
+            }
+            if (whole == 0 || random.nextBoolean()) {
+                text.append('.');
+                int frac = random.nextInt(30) + 1;
+                for (int d = 0; d < frac; d++) {
+                    text.append((char) ('0' + random.nextInt(10)));
+                }
+            }
+            if (random.nextBoolean()) {
+                text.append('E').append(random.nextInt(61) - 30);
+            }
+            byte[] bytes = (text + ";").getBytes(StandardCharsets.US_ASCII);
+            assertEquals(text.length(), format.parse(bytes, 0, bytes.length), text.toString());
+            assertEquals(Format64.toDEC64(text), format.parsed(), text.toString());
+            direct.clear();
+            direct.put(bytes);
+            assertEquals(text.length(), format.parse(direct, 0, bytes.length), text.toString());
+            assertEquals(Format64.toDEC64(text), format.parsed(), text.toString());
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package dec64;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+import static dec64.Basic64.*;
+import static dec64.Constants64.*;
+import static dec64.FormatMode.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Formatting of DEC64 numbers in each FormatMode, to Strings, arrays and
+ * Appendables.
+ */
+public class TestFormatMode {
+
+    private static void formats(String expected, FormatMode mode, long num) throws IOException {
+        assertEquals(expected, mode.format(num));
+        assertEquals(expected.length(), mode.length(num), expected);
+        char[] chars = new char[expected.length() + 4];
+        assertEquals(expected.length() + 2, mode.formatTo(num, chars, 2), expected);
+        assertEquals(expected, new String(chars, 2, expected.length()));
+        byte[] bytes = new byte[expected.length() + 4];
+        assertEquals(expected.length() + 1, mode.formatTo(num, bytes, 1), expected);
+        assertEquals(expected, new String(bytes, 1, expected.length(), StandardCharsets.US_ASCII));
+        assertEquals("x" + expected, mode.formatTo(num, new StringBuilder("x")).toString());
+    }
+
+    @Test
+    public void testStandard() throws IOException {
+        System.out.println("standard");
+        formats("0", STANDARD, DEC64_ZERO);
+        formats("1", STANDARD, DEC64_ONE);
+        formats("-1", STANDARD, DEC64_NEGATIVE_ONE);
+        formats("0.5", STANDARD, DEC64_HALF);
+        formats("1.0", STANDARD, pack(10, -1));
+        formats("3.14", STANDARD, pack(314, -2));
+        formats("-0.00125", STANDARD, pack(-125, -5));
+        formats("1500", STANDARD, pack(15, 2));
+        formats("123456.78901234", STANDARD, pack(12345678901234L, -8));
+        formats("-36028797018963968", STANDARD, pack(-36028797018963968L, 0));
+        formats("NaN", STANDARD, DEC64_NAN);
+    }
+
+    @Test
+    public void testScientific() throws IOException {
+        System.out.println("scientific");
+        formats("0", SCIENTIFIC, DEC64_ZERO);
+        formats("1", SCIENTIFIC, DEC64_ONE);
+        formats("5e-1", SCIENTIFIC, DEC64_HALF);
+        formats("1.0", SCIENTIFIC, pack(10, -1));
+        formats("-1.25e-3", SCIENTIFIC, pack(-125, -5));
+        formats("1.5e3", SCIENTIFIC, pack(15, 2));
+        formats("1e127", SCIENTIFIC, pack(1, 127));
+        formats("3.6028797018963967e143", SCIENTIFIC, pack(36028797018963967L, 127));
+        formats("1e-127", SCIENTIFIC, pack(1, -127));
+        formats("NaN", SCIENTIFIC, DEC64_NAN);
+    }
+
+    @Test
+    public void testEngineering() throws IOException {
+        System.out.println("engineering");
+        formats("0", ENGINEERING, DEC64_ZERO);
+        formats("500e-3", ENGINEERING, DEC64_HALF);
+        formats("1.25e-3", ENGINEERING, pack(125, -5));
+        formats("15e-6", ENGINEERING, pack(15, -6));
+        formats("1.5e3", ENGINEERING, pack(15, 2));
+        formats("10e3", ENGINEERING, pack(1, 4));
+        formats("100e3", ENGINEERING, pack(1, 5));
+        formats("-123.456", ENGINEERING, pack(-123456, -3));
+        formats("NaN", ENGINEERING, DEC64_NAN);
+    }
+
+    @Test
+    public void testBounds() {
+        System.out.println("bounds");
+        byte[] bytes = new byte[4];
+        assertThrows(IndexOutOfBoundsException.class, () -> STANDARD.formatTo(pack(12345, 0), bytes, 0));
+        assertThrows(IndexOutOfBoundsException.class, () -> STANDARD.formatTo(DEC64_ONE, bytes, 4));
+        assertArrayEquals(new byte[4], bytes);
+        assertEquals(4, STANDARD.formatTo(pack(-12, -1), bytes, 0));
+        assertEquals(MAX_LENGTH, STANDARD.length(pack(-36028797018963968L, 127)));
+        for (FormatMode mode : FormatMode.values()) {
+            assertTrue(mode.length(pack(-36028797018963968L, 127)) <= MAX_LENGTH);
+            assertTrue(mode.length(pack(-1, -127)) <= MAX_LENGTH);
+        }
+    }
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        System.out.println("round trip");
+        Random random = new Random(14);
+        char[] chars = new char[MAX_LENGTH];
+        for (int i = 0; i < 20000; i++) {
+            long coeff = random.nextLong() >> (8 + random.nextInt(56));
+            if (coeff == 0) {
+                continue;
+            }
+            long num = pack(coeff, random.nextInt(255) - 127);
+            BigDecimal value = BigDecimal.valueOf(coefficient(num), -exponent(num));
+            for (FormatMode mode : FormatMode.values()) {
+                String text = mode.format(num);
+                // Padding zeros change the coefficient, so only SCIENTIFIC
+                // gives back the same bits
+                if (mode == SCIENTIFIC) {
+                    assertEquals(num, Format64.toDEC64(text), text);
+                } else {
+                    assertTrue(equals64(num, Format64.toDEC64(text)), text);
+                }
+                assertEquals(0, value.compareTo(new BigDecimal(text)), text);
+                int end = mode.formatTo(num, chars, 0);
+                assertEquals(text, new String(chars, 0, end));
+                assertEquals(text, mode.formatTo(num, new StringBuilder()).toString());
+            }
+        }
+    }
+}
@@ -1,6 +1,11 @@
 package dec64;
 
 import dec64.annotations.DEC64;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.Random;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 
@@ -9,7 +14,7 @@ import static dec64.Math64.*;
 import static dec64.Constants64.*;
 import static dec64.FormatMode.STANDARD;
 import static dec64.TestConstants.*;
-import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.*;
 
 /**
  *
@@ -121,15 +126,16 @@ public class TestMath64 {
     }
 
     @Test
-    @Disabled
     public void test_all_raise() {
+        System.out.println("raise");
         test_raise(DEC64_E, DEC64_ZERO, DEC64_ONE, "e^0");
-        test_raise(DEC64_E, cent, of(10100501670841681L, -16), "e^0.01");
-        test_raise(DEC64_E, half, of(16487212707001281L, -16), "e^0.5");
+        test_raise(DEC64_E, CENT, of(10100501670841681L, -16), "e^0.01");
+        test_raise(DEC64_E, DEC64_HALF, of(16487212707001281L, -16), "e^0.5");
         test_raise(DEC64_E, DEC64_ONE, DEC64_E, "e^1");
         test_raise(DEC64_E, DEC64_TWO, of(7389056098930650L, -15), "e^2");
-        test_raise(DEC64_E, TEN, of(22026465794806717L, -12), "e^10");
-        test_raise(FOUR, half, DEC64_TWO, "4^0.5");
+        // DEC64_E is e to 17 digits, and its tenth power is below e^10
+        test_raise(DEC64_E, TEN, of(22026465794806714L, -12), "e^10");
+        test_raise(FOUR, DEC64_HALF, DEC64_TWO, "4^0.5");
         test_raise(DEC64_TWO, TEN, of(1024, 0), "2^10");
     }
 
@@ -168,15 +174,15 @@ public class TestMath64 {
     }
 
     @Test
-    @Disabled
     public void test_all_sqrt() {
-//        test_sqrt(DEC64_ZERO, DEC64_ZERO, "0");
-//        test_sqrt(DEC64_ONE, DEC64_ONE, "1");
+        System.out.println("sqrt");
+        test_sqrt(DEC64_ZERO, DEC64_ZERO, "0");
+        test_sqrt(DEC64_ONE, DEC64_ONE, "1");
         test_sqrt(of(16, 0), of(4, 0), "16");
         test_sqrt(of(100, 0), of(10, 0), "100");
         test_sqrt(of(10000, -2), of(10, 0), "100");
         test_sqrt(of(1000000, -4), of(10, 0), "100");
-        test_sqrt(half, of(7071067811865475L, -16), "1/2");
+        test_sqrt(DEC64_HALF, of(7071067811865475L, -16), "1/2");
         test_sqrt(DEC64_TWO, of(14142135623730950L, -16), "2");
         test_sqrt(DEC64_PI, of(17724538509055160L, -16), "pi");
         test_sqrt(of(10, 0), of(31622776601683793L, -16), "10");
@@ -264,4 +270,332 @@ public class TestMath64 {
         assertTrue(equals64(expected, actual), outMsg);
     }
 
+    private static final MathContext REFERENCE = new MathContext(60);
+    private static final BigDecimal PI = MathKernels.pi(400);
+    private static final BigDecimal HALF_PI = PI.divide(BigDecimal.valueOf(2));
+
+    private static BigDecimal reference(@DEC64 long radians, int function) {
+        BigDecimal x = Dec64.toBigDecimal(radians);
+        BigDecimal k = x.divide(HALF_PI, new MathContext(200)).setScale(0, RoundingMode.HALF_EVEN);
+        BigDecimal r = x.subtract(k.multiply(HALF_PI));
+        BigDecimal r2 = r.multiply(r, REFERENCE);
+        BigDecimal sin = BigDecimal.ZERO;
+        BigDecimal cos = BigDecimal.ZERO;
+        BigDecimal term = BigDecimal.ONE;
+        for (int n = 1; n < 80; n += 2) {
+            cos = cos.add(term, REFERENCE);
+            term = term.multiply(r, REFERENCE).divide(BigDecimal.valueOf(n), REFERENCE);
+            sin = sin.add(term, REFERENCE);
+            term = term.multiply(r, REFERENCE).divide(BigDecimal.valueOf(-(n + 1)), REFERENCE);
+        }
+        int quadrant = k.remainder(BigDecimal.valueOf(4)).intValue() & 3;
+        BigDecimal s = quadrant == 0 ? sin : quadrant == 1 ? cos : quadrant == 2 ? sin.negate() : cos.negate();
+        BigDecimal c = quadrant == 0 ? cos : quadrant == 1 ? sin.negate() : quadrant == 2 ? cos.negate() : sin;
+        return function == Trig64.SIN ? s : function == Trig64.COS ? c : s.divide(c, REFERENCE);
+    }
+
+    // The error of a result in units of its last place
+    private static double ulps(@DEC64 long actual, BigDecimal expected) {
+        BigDecimal error = Dec64.toBigDecimal(actual).subtract(expected).abs();
+        return error.scaleByPowerOfTen(-exponent(actual)).doubleValue();
+    }
+
+    private static @DEC64 long randomArgument(Random random) {
+        long coefficient = (random.nextLong() >>> 1) % DEC64_MAX_COEFFICIENT;
+        int exponent = -20 + random.nextInt(25);
+        if (random.nextInt(10) == 0) {
+            exponent = -40 + random.nextInt(168);
+        }
+        @DEC64 long x = of(coefficient, exponent);
+        return random.nextBoolean() ? neg(x) : x;
+    }
+
+    @Test
+    public void testTrigAccuracy() {
+        System.out.println("trig accuracy");
+        Random random = new Random(21);
+        int[] misrounded = new int[3];
+        int count = 2000;
+        for (int i = 0; i < count; i++) {
+            @DEC64 long x = randomArgument(random);
+            for (int function = Trig64.SIN; function <= Trig64.TAN; function++) {
+                @DEC64 long actual = Trig64.evaluate(x, function);
+                double error = ulps(actual, reference(x, function));
+                assertTrue(error < 1, "function " + function + " of " + STANDARD.format(x) + " was "
+                        + STANDARD.format(actual) + ", " + error + " ulps out");
+                if (error > 0.5) {
+                    misrounded[function]++;
+                }
+            }
+        }
+        for (int function = Trig64.SIN; function <= Trig64.TAN; function++) {
+            assertTrue(misrounded[function] < count / 100, "misrounded " + misrounded[function]);
+        }
+    }
+
+    @Test
+    public void testTrigValues() {
+        System.out.println("trig values");
+        assertEquals(DEC64_ZERO, sin64(DEC64_ZERO));
+        assertEquals(DEC64_ONE, cos(DEC64_ZERO));
+        assertEquals(DEC64_ZERO, tan(DEC64_ZERO));
+        assertEquals(EPSILON, sin64(EPSILON));
+        assertEquals(DEC64_ONE, cos(EPSILON));
+        assertTrue(isNaN(sin64(DEC64_NAN)));
+        assertTrue(isNaN(cos(DEC64_NAN)));
+        assertTrue(isNaN(tan(DEC64_NAN)));
+        assertTrue(equals64(of(9999833334166665L, -18), sin64(CENT)));
+        assertTrue(equals64(of(8414709848078965L, -16), sin64(DEC64_ONE)));
+        assertTrue(equals64(neg(of(8414709848078965L, -16)), sin64(DEC64_NEGATIVE_ONE)));
+        assertTrue(equals64(of(9092974268256817L, -16), sin64(DEC64_TWO)));
+        assertTrue(equals64(neg(of(5440211108893698L, -16)), sin64(TEN)));
+        assertTrue(equals64(neg(of(8390715290764525L, -16)), cos(TEN)));
+        assertTrue(equals64(of(9999500004166653L, -16), cos(CENT)));
+        assertTrue(equals64(of(15574077246549022L, -16), tan(DEC64_ONE)));
+        assertTrue(equals64(of(6483608274590867L, -16), tan(TEN)));
+        // DEC64_PI is a little less than pi
+        assertTrue(equals64(of(3846264338327950L, -32), sin64(DEC64_PI)));
+        assertTrue(equals64(DEC64_NEGATIVE_ONE, cos(DEC64_PI)));
+        // sin(10^22) needs more than 70 digits of pi
+        assertTrue(equals64(neg(of(8522008497671888L, -16)), sin64(of(1, 22))));
+    }
+
+    private static final BigDecimal LN10 = MathKernels.ln(BigDecimal.TEN, REFERENCE);
+
+    private static BigDecimal referenceExp(@DEC64 long x) {
+        BigDecimal exact = Dec64.toBigDecimal(x);
+        BigDecimal k = exact.divide(LN10, REFERENCE).setScale(0, RoundingMode.HALF_EVEN);
+        BigDecimal r = exact.subtract(k.multiply(LN10));
+        return MathKernels.exp(r, REFERENCE).scaleByPowerOfTen(k.intValueExact());
+    }
+
+    private static BigDecimal referenceLog(@DEC64 long x) {
+        BigDecimal exact = Dec64.toBigDecimal(x);
+        int q = exact.precision() - exact.scale() - 1;
+        return MathKernels.ln(exact.scaleByPowerOfTen(-q), REFERENCE).add(LN10.multiply(BigDecimal.valueOf(q)));
+    }
+
+    @Test
+    public void testExpLogAccuracy() {
+        System.out.println("exp log accuracy");
+        Random random = new Random(22);
+        int misroundedExp = 0;
+        int misroundedLog = 0;
+        int count = 4000;
+        for (int i = 0; i < count; i++) {
+            long coefficient = 1 + (random.nextLong() >>> 1) % DEC64_MAX_COEFFICIENT;
+            // Powers from 10^-17 to 290, and of either sign
+            @DEC64 long x = of(coefficient, -random.nextInt(34));
+            if (compare(x, of(290, 0)) > 0) {
+                x = multiply(x, of(1, -digitCount(coefficient)));
+            }
+            x = random.nextBoolean() ? neg(x) : x;
+            @DEC64 long actual = exp(x);
+            double error = ulps(actual, referenceExp(x));
+            assertTrue(error < 1, "exp(" + STANDARD.format(x) + ") was " + STANDARD.format(actual)
+                    + ", " + error + " ulps out");
+            misroundedExp += error > 0.5 ? 1 : 0;
+
+            // Any positive number, or one near 1
+            @DEC64 long y = of(coefficient, -127 + random.nextInt(255));
+            if (random.nextInt(4) == 0) {
+                y = add(DEC64_ONE, of(coefficient % 1_000_000, -6 - random.nextInt(10)));
+            }
+            actual = log(y);
+            error = ulps(actual, referenceLog(y));
+            assertTrue(error < 1, "log(" + STANDARD.format(y) + ") was " + STANDARD.format(actual)
+                    + ", " + error + " ulps out");
+            misroundedLog += error > 0.5 ? 1 : 0;
+        }
+        assertTrue(misroundedExp < count / 100, "misrounded exp " + misroundedExp);
+        assertTrue(misroundedLog < count / 100, "misrounded log " + misroundedLog);
+    }
+
+    @Test
+    public void testExpLogValues() {
+        System.out.println("exp log values");
+        assertEquals(DEC64_ONE, exp(DEC64_ZERO));
+        assertTrue(equals64(of(10000000000000001L, -16), exp(EPSILON)));
+        assertTrue(equals64(DEC64_ONE, exp(of(1, -17))));
+        assertTrue(equals64(DEC64_E, exp(DEC64_ONE)));
+        assertTrue(equals64(of(10100501670841681L, -16), exp(CENT)));
+        assertTrue(equals64(of(16487212707001281L, -16), exp(DEC64_HALF)));
+        assertTrue(equals64(of(7389056098930650L, -15), exp(DEC64_TWO)));
+        assertTrue(equals64(of(22026465794806717L, -12), exp(TEN)));
+        assertTrue(equals64(of(4539992976248485L, -20), exp(neg(TEN))));
+        assertTrue(isNaN(exp(of(400, 0))));
+        assertEquals(DEC64_ZERO, exp(neg(of(400, 0))));
+        assertTrue(isNaN(exp(DEC64_NAN)));
+
+        assertEquals(DEC64_ZERO, log(DEC64_ONE));
+        assertTrue(isNaN(log(DEC64_ZERO)));
+        assertTrue(isNaN(log(DEC64_NEGATIVE_ONE)));
+        assertTrue(isNaN(log(DEC64_NAN)));
+        assertTrue(equals64(DEC64_ONE, log(DEC64_E)));
+        assertTrue(equals64(of(6931471805599453L, -16), log(DEC64_TWO)));
+        assertTrue(equals64(neg(of(6931471805599453L, -16)), log(DEC64_HALF)));
+        assertTrue(equals64(neg(of(4605170185988091L, -15)), log(CENT)));
+        assertTrue(equals64(of(23025850929940457L, -16), log(TEN)));
+        assertTrue(equals64(of(11447298858494002L, -16), log(DEC64_PI)));
+        // ln(1 + 10^-12) keeps all its digits
+        assertTrue(equals64(of(9999999999995000L, -28), log(add(DEC64_ONE, of(1, -12)))));
+    }
+
+    @Test
+    public void testSqrtAccuracy() {
+        System.out.println("sqrt accuracy");
+        Random random = new Random(23);
+        for (int i = 0; i < 4000; i++) {
+            long coeff = random.nextLong() & DEC64_MAX_COEFFICIENT;
+            coeff = coeff / POWERS_OF_TEN[random.nextInt(17)] + 1;
+            @DEC64 long x = of(coeff, random.nextInt(200) - 100);
+            @DEC64 long root = sqrt(x);
+            BigDecimal exact = new BigDecimal(BigInteger.valueOf(coeff), -exponent(x));
+            // Correctly rounded: x lies within half a unit of root, squared
+            BigDecimal r = new BigDecimal(BigInteger.valueOf(coefficient(root)), -exponent(root));
+            BigDecimal halfUnit = BigDecimal.valueOf(5, 1 - exponent(root));
+            BigDecimal low = r.subtract(halfUnit);
+            BigDecimal high = r.add(halfUnit);
+            String message = "sqrt(" + exact + ") was " + r;
+            assertTrue(low.multiply(low).compareTo(exact) <= 0, message);
+            assertTrue(high.multiply(high).compareTo(exact) > 0, message);
+            // and to all the digits that fit, unless exact
+            assertTrue(digitCount(coefficient(root)) >= 16 || r.multiply(r).compareTo(exact) == 0, message);
+        }
+    }
+
+    @Test
+    public void testSqrtValues() {
+        System.out.println("sqrt values");
+        assertTrue(isNaN(sqrt(DEC64_NAN)));
+        assertTrue(isNaN(sqrt(DEC64_NEGATIVE_ONE)));
+        assertTrue(equals64(of(3, -50), sqrt(of(9, -100))));
+        assertTrue(equals64(of(12345678, 0), sqrt(of(152415765279684L, 0))));
+        assertTrue(equals64(of(1, 60), sqrt(of(1, 120))));
+        // The largest coefficient's root has 17 digits
+        assertTrue(equals64(of(18981253124850310L, -8), sqrt(of(DEC64_MAX_COEFFICIENT, 0))));
+        assertTrue(equals64(of(3, 0), root(DEC64_TWO, of(9, 0))));
+    }
+
+    @Test
+    public void testRaiseAccuracy() {
+        System.out.println("raise accuracy");
+        Random random = new Random(24);
+        int count = 4000;
+        int misrounded = 0;
+        for (int i = 0; i < count; i++) {
+            long coeff = (random.nextLong() >>> 1) % DEC64_MAX_COEFFICIENT / POWERS_OF_TEN[random.nextInt(16)] + 1;
+            int n = random.nextInt(2) == 0 ? random.nextInt(25) - 12 : random.nextInt(801) - 400;
+            // Keep |x|^n within range
+            int digits = digitCount(coeff);
+            int exp = -digits + (n == 0 ? 0 : random.nextInt(1 + 200 / Math.abs(n)) - 100 / Math.abs(n));
+            @DEC64 long x = of(coeff, exp);
+            if (random.nextBoolean()) {
+                x = neg(x);
+            }
+            BigDecimal base = Dec64.toBigDecimal(x);
+            BigDecimal expected = n >= 0 ? base.pow(n)
+                    : BigDecimal.ONE.divide(base.pow(-n, REFERENCE), REFERENCE);
+            if (expected.abs().compareTo(BigDecimal.ONE.scaleByPowerOfTen(140)) > 0
+                    || expected.abs().compareTo(BigDecimal.ONE.scaleByPowerOfTen(-125)) < 0) {
+                continue;
+            }
+            @DEC64 long actual = raise(x, n < 0 ? neg(of(-n, 0)) : of(n, 0));
+            double error = ulps(actual, expected);
+            assertTrue(error < 1, STANDARD.format(x) + "^" + n + " was " + STANDARD.format(actual)
+                    + ", " + error + " ulps out");
+            misrounded += error > 0.5 ? 1 : 0;
+        }
+        assertTrue(misrounded < count / 100, "misrounded " + misrounded);
+    }
+
+    @Test
+    public void testRaiseValues() {
+        System.out.println("raise values");
+        assertEquals(of(1024, 0), raise(DEC64_TWO, TEN));
+        assertEquals(of(121, -2), raise(of(11, -1), DEC64_TWO));
+        assertEquals(neg(of(125, -3)), raise(neg(DEC64_HALF), of(3, 0)));
+        // 1.05^12 = 1.795856326022129150390625, rounded once
+        assertTrue(equals64(of(17958563260221292L, -16), raise(of(105, -2), of(12, 0))));
+        // 1.005^360, past the exact range
+        assertTrue(equals64(of(6022575212263216L, -15), raise(of(1005, -3), of(360, 0))));
+        assertTrue(equals64(of(5, -1), raise(DEC64_TWO, DEC64_NEGATIVE_ONE)));
+        assertTrue(equals64(of(1, -30), raise(TEN, neg(of(30, 0)))));
+        assertEquals(of(1, 100), raise(of(100, 0), of(50, 0)));
+        assertEquals(DEC64_ONE, raise(DEC64_NEGATIVE_ONE, of(1, 30)));
+        assertEquals(DEC64_NEGATIVE_ONE, raise(DEC64_NEGATIVE_ONE, of(3, 0)));
+        // Whole powers written with a negative exponent
+        assertEquals(of(8, 0), raise(DEC64_TWO, of(30, -1)));
+        assertTrue(isNaN(raise(TEN, of(200, 0))));
+        assertEquals(DEC64_ZERO, raise(TEN, neg(of(200, 0))));
+        assertTrue(isNaN(raise(of(2, 0), of(1, 20))));
+        assertEquals(DEC64_ZERO, raise(DEC64_HALF, of(1, 20)));
+        // Close to one, huge powers stay in range
+        assertTrue(equals64(of(27182818284590451L, -16), raise(add(DEC64_ONE, of(1, -16)), of(1, 16))));
+        assertEquals(DEC64_ZERO, raise(DEC64_ZERO, DEC64_TWO));
+        assertTrue(isNaN(raise(DEC64_ZERO, DEC64_NEGATIVE_ONE)));
+        assertTrue(isNaN(raise(DEC64_NAN, DEC64_TWO)));
+        assertTrue(isNaN(raise(DEC64_TWO, DEC64_NAN)));
+        assertTrue(isNaN(raise(DEC64_NEGATIVE_ONE, DEC64_HALF)));
+    }
+
+    @Test
+    public void testScaleByPowerOfTen() {
+        System.out.println("scale by power of ten");
+        assertEquals(of(15, 3), scaleByPowerOfTen(of(15, 1), 2));
+        assertEquals(neg(of(15, -5)), scaleByPowerOfTen(neg(of(15, 1)), -6));
+        assertEquals(DEC64_ZERO, scaleByPowerOfTen(DEC64_ZERO, 5));
+        assertTrue(isNaN(scaleByPowerOfTen(DEC64_NAN, 1)));
+        // Out of range, digits are traded for exponent
+        assertEquals(of(1000, 127), scaleByPowerOfTen(DEC64_ONE, 130));
+        assertTrue(isNaN(scaleByPowerOfTen(DEC64_ONE, 150)));
+        assertTrue(isNaN(scaleByPowerOfTen(DEC64_ONE, Integer.MAX_VALUE)));
+        assertTrue(equals64(of(2, -127), scaleByPowerOfTen(of(15, 0), -128)));
+        assertEquals(DEC64_ZERO, scaleByPowerOfTen(DEC64_ONE, Integer.MIN_VALUE));
+    }
+
+    @Test
+    public void testPrecisionTiers() {
+        System.out.println("precision tiers");
+        Random random = new Random(25);
+        for (int i = 0; i < 2000; i++) {
+            @DEC64 long radians = randomArgument(random);
+            long coefficient = 1 + (random.nextLong() >>> 1) % DEC64_MAX_COEFFICIENT;
+            @DEC64 long power = of(coefficient, -random.nextInt(34));
+            if (compare(power, of(290, 0)) > 0) {
+                power = multiply(power, of(1, -digitCount(coefficient)));
+            }
+            power = random.nextBoolean() ? neg(power) : power;
+            @DEC64 long positive = of(coefficient, -127 + random.nextInt(255));
+            if (random.nextInt(4) == 0) {
+                positive = add(DEC64_ONE, of(coefficient % 1_000_000, -6 - random.nextInt(10)));
+            }
+            BigDecimal sin = reference(radians, Trig64.SIN);
+            BigDecimal cos = reference(radians, Trig64.COS);
+            BigDecimal exp = referenceExp(power);
+            BigDecimal log = referenceLog(positive);
+            BigDecimal sqrt = Dec64.toBigDecimal(sqrt(positive));
+            for (Precision precision : new Precision[] { Precision.HIGH, Precision.FAST }) {
+                double bound = precision == Precision.HIGH ? 1e-14 : 1e-9;
+                assertRelative(sin64(radians, precision), sin, bound, "sin", radians, precision);
+                assertRelative(cos(radians, precision), cos, bound, "cos", radians, precision);
+                assertRelative(exp(power, precision), exp, bound, "exp", power, precision);
+                assertRelative(log(positive, precision), log, bound, "log", positive, precision);
+                assertRelative(sqrt(positive, precision), sqrt, bound, "sqrt", positive, precision);
+            }
+        }
+        assertEquals(sin64(DEC64_PI), sin64(DEC64_PI, Precision.FULL));
+        assertTrue(equals64(DEC64_TWO, sqrt(FOUR, Precision.FAST)));
+        assertTrue(isNaN(log(DEC64_ZERO, Precision.FAST)));
+    }
+
+    private static void assertRelative(@DEC64 long actual, BigDecimal expected, double bound,
+            String function, @DEC64 long x, Precision precision) {
+        // Near the bottom of the range results have fewer digits, and are
+        // only within a unit in their last place
+        BigDecimal difference = Dec64.toBigDecimal(actual).subtract(expected).abs();
+        double error = difference.divide(expected.abs(), MathContext.DECIMAL64).doubleValue();
+        assertTrue(error < bound || difference.compareTo(BigDecimal.ONE.scaleByPowerOfTen(exponent(actual))) < 0, precision + " " + function + "(" + STANDARD.format(x) + ") was "
+                + STANDARD.format(actual) + ", " + error + " out");
+    }
 }
@@ -0,0 +1,91 @@
+package dec64.collections;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+import static dec64.Basic64.*;
+import static dec64.Constants64.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The list against java.util.ArrayList, numeric indexOf, and bounds.
+ */
+public class TestDec64ArrayList {
+
+    @Test
+    public void testOperations() {
+        System.out.println("operations");
+        Dec64ArrayList list = new Dec64ArrayList();
+        assertTrue(list.isEmpty());
+        list.add(DEC64_ONE);
+        list.add(of(250, (byte) -2));
+        list.add(0, DEC64_NAN);
+        list.add(3, of(10, (byte) -1));
+        assertEquals(4, list.size());
+        assertEquals(DEC64_NAN, list.get(0));
+        // Numbers are kept as added
+        assertEquals(of(250, (byte) -2), list.get(2));
+        assertEquals(1, list.indexOf(of(100, (byte) -2)));
+        assertEquals(0, list.indexOf(of(5, (byte) 0) | 0x80));
+        assertEquals(2, list.indexOf(of(25, (byte) -1)));
+        assertEquals(-1, list.indexOf(DEC64_TWO));
+        assertEquals(DEC64_NAN, list.removeAt(0));
+        assertEquals(0, compare(of(45, (byte) -1), list.sum()));
+        assertEquals(DEC64_ONE, list.set(0, DEC64_TWO));
+        assertArrayEquals(new long[] {DEC64_TWO, of(250, (byte) -2), of(10, (byte) -1)}, list.toArray());
+        list.addAll(new long[] {DEC64_HALF, DEC64_HALF});
+        assertEquals(5, list.size());
+        assertEquals(0, compare(of(65, (byte) -1), list.sum()));
+
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(5));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(-1));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.add(6, DEC64_ONE));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.removeAt(5));
+        assertThrows(IllegalArgumentException.class, () -> new Dec64ArrayList(-1));
+
+        list.clear();
+        assertTrue(list.isEmpty());
+        assertEquals(0, compare(DEC64_ZERO, list.sum()));
+        assertEquals(0, new Dec64ArrayList(new long[0]).toArray().length);
+    }
+
+    @Test
+    public void testAgainstArrayList() {
+        System.out.println("against ArrayList");
+        Random random = new Random(18);
+        Dec64ArrayList list = new Dec64ArrayList(0);
+        List<Long> expected = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) {
+            long number = of(random.nextInt(1000), (byte) -2);
+            switch (random.nextInt(4)) {
+                case 0:
+                    list.add(number);
+                    expected.add(number);
+                    break;
+                case 1:
+                    int at = random.nextInt(expected.size() + 1);
+                    list.add(at, number);
+                    expected.add(at, number);
+                    break;
+                case 2:
+                    if (!expected.isEmpty()) {
+                        int from = random.nextInt(expected.size());
+                        assertEquals((long) expected.remove(from), list.removeAt(from));
+                    }
+                    break;
+                default:
+                    assertEquals(expected.indexOf(number), list.indexOf(number));
+            }
+            assertEquals(expected.size(), list.size());
+        }
+        long[] actual = list.toArray();
+        for (int i = 0; i < actual.length; i++) {
+            assertEquals((long) expected.get(i), actual[i]);
+        }
+        List<Long> visited = new ArrayList<>();
+        list.forEach(visited::add);
+        assertEquals(expected, visited);
+    }
+}
@@ -0,0 +1,150 @@
+package dec64.collections;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+import static dec64.Basic64.*;
+import static dec64.Constants64.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The set and maps: numeric keys, NaN as one key, growth, and removal
+ * checked against java.util collections keyed by the canonical value.
+ */
+public class TestDec64HashTable {
+
+    private final static long[] TENS = {1, 10, 100};
+
+    private static long dec(long coeff, int exp) {
+        long number = of(Math.abs(coeff), (byte) exp);
+        return coeff < 0 ? neg(number) : number;
+    }
+
+    @Test
+    public void testNumericKeys() {
+        System.out.println("numeric keys");
+        Dec64HashSet set = new Dec64HashSet();
+        assertTrue(set.add(DEC64_ONE));
+        assertFalse(set.add(dec(10, -1)));
+        assertFalse(set.add(dec(100, -2)));
+        assertTrue(set.contains(dec(1000, -3)));
+        assertTrue(set.add(DEC64_NAN));
+        assertFalse(set.add(dec(7, 0) | 0x80));
+        assertTrue(set.contains(dec(-3, 0) | 0x80));
+        assertTrue(set.add(DEC64_ZERO));
+        assertFalse(set.add(dec(0, 5)));
+        assertFalse(set.add(dec(0, -5)));
+        assertTrue(set.add(dec(15, 2)));
+        assertFalse(set.add(dec(1500, 0)));
+        assertEquals(4, set.size());
+        // Members come back canonical
+        Set<Long> members = new HashSet<>();
+        set.forEach(members::add);
+        assertEquals(4, members.size());
+        assertTrue(members.contains(DEC64_ONE));
+        assertTrue(members.contains(DEC64_NAN));
+        assertTrue(members.contains(dec(1500, 0)));
+        assertTrue(set.remove(dec(10, -1)));
+        assertFalse(set.contains(DEC64_ONE));
+        assertFalse(set.remove(DEC64_ONE));
+        set.clear();
+        assertTrue(set.isEmpty());
+        assertFalse(set.contains(DEC64_NAN));
+
+        Dec64ToLongMap levels = new Dec64ToLongMap();
+        assertEquals(100, levels.addTo(dec(10150, -2), 100));
+        assertEquals(150, levels.addTo(dec(1015, -1), 50));
+        assertEquals(150, levels.get(dec(1015, -1)));
+        assertEquals(0, levels.get(dec(1016, -1)));
+        assertEquals(-1, levels.getOrDefault(dec(1016, -1), -1));
+        assertEquals(150, levels.put(dec(101500, -3), 10));
+        assertEquals(0, levels.put(DEC64_NAN, 1));
+        assertEquals(1, levels.get(dec(2, 0) | 0x80));
+        assertEquals(2, levels.size());
+        assertEquals(10, levels.remove(dec(1015, -1)));
+        assertEquals(0, levels.remove(dec(1015, -1)));
+        assertArrayEquals(new long[] {DEC64_NAN}, levels.keys());
+
+        Dec64ToLongMap missing = new Dec64ToLongMap(4, Long.MIN_VALUE);
+        assertEquals(Long.MIN_VALUE, missing.get(DEC64_ONE));
+        assertEquals(Long.MIN_VALUE, missing.put(DEC64_ONE, 3));
+
+        Dec64ToObjectMap<String> names = new Dec64ToObjectMap<>();
+        assertNull(names.put(DEC64_HALF, "half"));
+        assertEquals("half", names.put(dec(50, -2), "a half"));
+        assertEquals("a half", names.get(dec(500, -3)));
+        assertEquals("two", names.computeIfAbsent(dec(20, -1), x -> "two"));
+        assertEquals("two", names.computeIfAbsent(DEC64_TWO, x -> "deux"));
+        assertThrows(NullPointerException.class, () -> names.put(DEC64_ONE, null));
+        assertNull(names.get(DEC64_ONE));
+        assertEquals("a half", names.remove(DEC64_HALF));
+        assertFalse(names.containsKey(DEC64_HALF));
+        Map<Long, String> entries = new HashMap<>();
+        names.forEach(entries::put);
+        assertEquals(1, entries.size());
+        assertEquals("two", entries.get(DEC64_TWO));
+
+        assertThrows(IllegalArgumentException.class, () -> new Dec64HashSet(-1));
+    }
+
+    @Test
+    public void testAgainstHashMap() {
+        System.out.println("against HashMap");
+        Random random = new Random(18);
+        for (int round = 0; round < 20; round++) {
+            // A few expected sizes so some tables grow and some do not
+            Dec64ToLongMap map = new Dec64ToLongMap(random.nextInt(100), -1);
+            Dec64ToObjectMap<Long> objects = new Dec64ToObjectMap<>(random.nextInt(100));
+            Dec64HashSet set = new Dec64HashSet(random.nextInt(100));
+            Map<Long, Long> expected = new HashMap<>();
+            int keyRange = 1 + random.nextInt(2000);
+            for (int i = 0; i < 20000; i++) {
+                // Few distinct values in several representations, plus NaNs
+                int k = random.nextInt(3);
+                long key = random.nextInt(50) == 0
+                        ? dec(random.nextInt(100), 0) | 0x80
+                        : dec((random.nextInt(keyRange) - keyRange / 2) * TENS[k], -k);
+                long canonicalKey = canonical(key);
+                long value = random.nextLong();
+                switch (random.nextInt(4)) {
+                    case 0:
+                    case 1:
+                        Long previous = expected.put(canonicalKey, value);
+                        assertEquals(previous == null ? -1 : previous, map.put(key, value));
+                        assertEquals(previous, objects.put(key, value));
+                        assertEquals(previous == null, set.add(key));
+                        break;
+                    case 2:
+                        Long removed = expected.remove(canonicalKey);
+                        assertEquals(removed == null ? -1 : removed, map.remove(key));
+                        assertEquals(removed, objects.remove(key));
+                        assertEquals(removed != null, set.remove(key));
+                        break;
+                    default:
+                        Long found = expected.get(canonicalKey);
+                        assertEquals(found == null ? -1 : found, map.get(key));
+                        assertEquals(found, objects.get(key));
+                        assertEquals(found != null, set.contains(key));
+                }
+                assertEquals(expected.size(), map.size());
+                assertEquals(expected.size(), objects.size());
+                assertEquals(expected.size(), set.size());
+            }
+            Map<Long, Long> actual = new HashMap<>();
+            map.forEach(actual::put);
+            assertEquals(expected, actual);
+            actual.clear();
+            objects.forEach(actual::put);
+            assertEquals(expected, actual);
+            Set<Long> members = new HashSet<>();
+            for (long member : set.toArray()) {
+                members.add(member);
+            }
+            assertEquals(expected.keySet(), members);
+        }
+    }
+}
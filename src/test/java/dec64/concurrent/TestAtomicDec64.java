@@ -0,0 +1,58 @@
+package dec64.concurrent;
+
+import dec64.Basic64;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+import static dec64.Basic64.*;
+import static dec64.Constants64.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Single threaded behaviour of each update, and no lost updates under
+ * contention.
+ */
+public class TestAtomicDec64 {
+
+    @Test
+    public void testUpdates() {
+        System.out.println("updates with " + ValueAccess.ACCESS.getClass().getSimpleName());
+        AtomicDec64 atomic = new AtomicDec64(DEC64_ONE);
+        assertEquals(of(25, (byte) -1), atomic.addAndGet(of(15, (byte) -1)));
+        assertEquals(of(25, (byte) -1), atomic.getAndAdd(DEC64_ONE));
+        assertEquals(of(70, (byte) -1), atomic.multiplyAndGet(DEC64_TWO));
+        assertEquals(of(70, (byte) -1), atomic.getAndUpdate(Basic64::neg));
+        assertEquals(of(70, (byte) -1), atomic.updateAndGet(Basic64::abs));
+        assertEquals(of(8, (byte) 0), atomic.accumulateAndGet(of(8, (byte) 0), Basic64::max));
+
+        // Raw bits are compared, so 8.0 is not the 8 that is held
+        assertFalse(atomic.compareAndSet(of(80, (byte) -1), DEC64_ZERO));
+        assertTrue(atomic.compareAndSet(of(8, (byte) 0), DEC64_ZERO));
+        assertEquals(DEC64_ZERO, atomic.getAndSet(DEC64_NAN));
+        assertTrue(isNaN(atomic.addAndGet(DEC64_ONE)));
+        atomic.lazySet(DEC64_TWO);
+        assertEquals(DEC64_TWO, atomic.get());
+    }
+
+    @Test
+    public void testContendedAdd() throws InterruptedException {
+        System.out.println("contended add");
+        AtomicDec64 atomic = new AtomicDec64();
+        long cent = of(1, (byte) -2);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    atomic.addAndGet(cent);
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(0, compare(of(800, (byte) 0), atomic.get()));
+    }
+}
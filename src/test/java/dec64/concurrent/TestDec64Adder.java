@@ -0,0 +1,100 @@
+package dec64.concurrent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import org.junit.jupiter.api.Test;
+
+import static dec64.Basic64.*;
+import static dec64.Constants64.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Adds from many threads at once and checks nothing is lost or rounded.
+ */
+public class TestDec64Adder {
+
+    private static final int THREADS = 16;
+    private static final int ADDS = 20_000;
+
+    private static void hammer(Dec64Adder adder, long... values) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < ADDS; i++) {
+                    adder.add(values[i % values.length]);
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+    }
+
+    @Test
+    public void testContendedSum() throws InterruptedException {
+        System.out.println("contended sum");
+        Dec64Adder adder = new Dec64Adder();
+        assertEquals(0, adder.sum());
+        // 0.01 and 1.005 sum to 1.015 per pair of adds, times 10000 pairs, 16 threads
+        hammer(adder, of(1, (byte) -2), of(1005, (byte) -3));
+        assertEquals(0, compare(of(162_400_000, (byte) -3), adder.sum()));
+        assertEquals(0, compare(of(162_400_000, (byte) -3), adder.sumThenReset()));
+        assertEquals(0, adder.sum());
+    }
+
+    @Test
+    public void testNoIntermediateRounding() throws InterruptedException {
+        System.out.println("no intermediate rounding");
+        Dec64Adder adder = new Dec64Adder();
+        // A total far wider than 17 digits, which a running DEC64 would round
+        long big = of(36_028_797_018_963_967L, (byte) 0);
+        long tiny = of(1, (byte) -3);
+        hammer(adder, big, tiny, neg(big));
+        long expected = multiply(of(THREADS * (ADDS / 3 + 1), (byte) 0), tiny);
+        assertEquals(0, compare(add(expected, multiply(of(THREADS, (byte) 0), big)), adder.sum()));
+    }
+
+    @Test
+    public void testSumWhileAdding() throws InterruptedException {
+        System.out.println("sum while adding");
+        Dec64Adder adder = new Dec64Adder();
+        boolean[] decreased = new boolean[1];
+        Thread reader = new Thread(() -> {
+            // With only positive terms, no sum is smaller than the one before
+            long last = 0;
+            while (!Thread.currentThread().isInterrupted()) {
+                long now = adder.sum();
+                decreased[0] |= compare(last, now) > 0;
+                last = now;
+            }
+        });
+        reader.start();
+        hammer(adder, of(1, (byte) -2), of(5, (byte) -2));
+        reader.interrupt();
+        reader.join();
+        assertFalse(decreased[0]);
+        assertEquals(0, compare(of(THREADS * ADDS * 3, (byte) -2), adder.sum()));
+    }
+
+    @Test
+    public void testNaNAndReset() {
+        System.out.println("NaN and reset");
+        Dec64Adder adder = new Dec64Adder();
+        adder.add(DEC64_ONE);
+        adder.add(DEC64_NAN);
+        assertTrue(isNaN(adder.sum()));
+        adder.reset();
+        adder.add(DEC64_TWO);
+        assertEquals(DEC64_TWO, adder.sum());
+    }
+}
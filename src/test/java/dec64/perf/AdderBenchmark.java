@@ -0,0 +1,63 @@
+package dec64.perf;
+
+import dec64.Basic64;
+import dec64.annotations.DEC64;
+import dec64.concurrent.Dec64Adder;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Many threads posting fills into one shared total: Dec64Adder against a CAS
+ * loop of Basic64.add on a single AtomicLong. main runs both at 1 to 64
+ * threads; throughput is in adds per microsecond across all threads.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AdderBenchmark {
+
+    // A fill of 12.34
+    private final @DEC64 long fill = Basic64.of(1234, (byte) -2);
+
+    private final Dec64Adder adder = new Dec64Adder();
+    private final AtomicLong atomic = new AtomicLong();
+
+    @Benchmark
+    public void adder() {
+        adder.add(fill);
+    }
+
+    @Benchmark
+    public void atomicCas() {
+        long current;
+        do {
+            current = atomic.get();
+        } while (!atomic.compareAndSet(current, Basic64.add(current, fill)));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        for (int threads : new int[] { 1, 2, 4, 8, 16, 32, 64 }) {
+            Options opt = new OptionsBuilder()
+                    .include(AdderBenchmark.class.getSimpleName())
+                    .threads(threads)
+                    .build();
+            new Runner(opt).run();
+        }
+    }
+}
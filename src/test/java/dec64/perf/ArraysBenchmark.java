@@ -0,0 +1,107 @@
+package dec64.perf;
+
+import dec64.Basic64;
+import dec64.Dec64Arrays;
+import dec64.annotations.DEC64;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares the Dec64Arrays kernels with a plain loop over Basic64, on a
+ * column of prices that all have two decimal places. To measure the Vector
+ * API kernels, run on Java 17+ with the Java 17 layer on the classpath and
+ * {@code -jvmArgsAppend --add-modules=jdk.incubator.vector}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ArraysBenchmark {
+
+    @Param({"10000"})
+    private int length;
+
+    private @DEC64 long[] a;
+    private @DEC64 long[] b;
+    private @DEC64 long[] dst;
+    private byte[] mask;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        a = new long[length];
+        b = new long[length];
+        dst = new long[length];
+        mask = new byte[length];
+        for (int i = 0; i < length; i++) {
+            a[i] = Basic64.of(random.nextInt(10_000_000), (byte) -2);
+            b[i] = Basic64.of(random.nextInt(10_000_000), (byte) -2);
+        }
+    }
+
+    @Benchmark
+    public @DEC64 long[] scalarAdd() {
+        for (int i = 0; i < length; i++) {
+            dst[i] = Basic64.add(a[i], b[i]);
+        }
+        return dst;
+    }
+
+    @Benchmark
+    public @DEC64 long[] bulkAdd() {
+        Dec64Arrays.add(a, b, dst);
+        return dst;
+    }
+
+    @Benchmark
+    public byte[] scalarCompare() {
+        for (int i = 0; i < length; i++) {
+            mask[i] = (byte) Basic64.compare(a[i], b[i]);
+        }
+        return mask;
+    }
+
+    @Benchmark
+    public byte[] bulkCompare() {
+        Dec64Arrays.compare(a, 0, b, 0, mask, 0, length);
+        return mask;
+    }
+
+    @Benchmark
+    public @DEC64 long scalarSum() {
+        @DEC64 long total = 0;
+        for (int i = 0; i < length; i++) {
+            total = Basic64.add(total, a[i]);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public @DEC64 long bulkSum() {
+        return Dec64Arrays.sum(a);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(ArraysBenchmark.class.getSimpleName())
+                .build();
+        new Runner(opt).run();
+    }
+}
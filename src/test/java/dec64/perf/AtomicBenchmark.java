@@ -0,0 +1,58 @@
+package dec64.perf;
+
+import dec64.Basic64;
+import dec64.Dec64;
+import dec64.annotations.DEC64;
+import dec64.concurrent.AtomicDec64;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * AtomicDec64.addAndGet against the AtomicReference&lt;Dec64&gt; pattern it
+ * replaces, which allocates a new box on every update. Run with
+ * {@code -prof gc} to see the allocation rate, and with {@code -t} to add
+ * contention.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AtomicBenchmark {
+
+    private final @DEC64 long fill = Basic64.of(1234, (byte) -2);
+
+    private final AtomicDec64 atomic = new AtomicDec64();
+    private final AtomicReference<Dec64> reference = new AtomicReference<>(Dec64.of(0L));
+
+    @Benchmark
+    public @DEC64 long atomicDec64() {
+        return atomic.addAndGet(fill);
+    }
+
+    @Benchmark
+    public Dec64 atomicReference() {
+        return reference.updateAndGet(d -> Dec64.of(Basic64.add(d.dec64Value(), fill)));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(AtomicBenchmark.class.getSimpleName())
+                .build();
+        new Runner(opt).run();
+    }
+}
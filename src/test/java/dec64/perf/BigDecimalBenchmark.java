@@ -0,0 +1,127 @@
+package dec64.perf;
+
+import dec64.Basic64;
+import dec64.Dec64;
+import dec64.Dec64Arrays;
+import dec64.annotations.DEC64;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * The same workloads in DEC64 and in BigDecimal, over 1000 trades with
+ * prices to four places and whole quantities: the sum of the prices, the
+ * notional value (sum of price * quantity), the average price, and
+ * converting the prices to and from BigDecimal as when reading or writing
+ * a JDBC batch. Times are per 1000 trades.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BigDecimalBenchmark {
+
+    private static final int N = 1000;
+
+    private final @DEC64 long[] prices = new long[N];
+    private final @DEC64 long[] quantities = new long[N];
+    private final BigDecimal[] bigPrices = new BigDecimal[N];
+    private final BigDecimal[] bigQuantities = new BigDecimal[N];
+    private final @DEC64 long[] dec64Out = new long[N];
+    private final BigDecimal[] bigOut = new BigDecimal[N];
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(16);
+        for (int i = 0; i < N; i++) {
+            long price = 10_000 + random.nextInt(10_000_000);
+            long quantity = 1 + random.nextInt(10_000);
+            prices[i] = Basic64.of(price, (byte) -4);
+            quantities[i] = Basic64.of(quantity, (byte) 0);
+            bigPrices[i] = BigDecimal.valueOf(price, 4);
+            bigQuantities[i] = BigDecimal.valueOf(quantity);
+        }
+    }
+
+    @Benchmark
+    public @DEC64 long sumDec64() {
+        return Dec64Arrays.sum(prices);
+    }
+
+    @Benchmark
+    public BigDecimal sumBigDecimal() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (BigDecimal price : bigPrices) {
+            total = total.add(price);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public @DEC64 long notionalDec64() {
+        @DEC64 long total = 0;
+        for (int i = 0; i < N; i++) {
+            total = Basic64.add(total, Basic64.multiply(prices[i], quantities[i]));
+        }
+        return total;
+    }
+
+    @Benchmark
+    public BigDecimal notionalBigDecimal() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (int i = 0; i < N; i++) {
+            total = total.add(bigPrices[i].multiply(bigQuantities[i]));
+        }
+        return total;
+    }
+
+    @Benchmark
+    public @DEC64 long averageDec64() {
+        return Basic64.divide(Dec64Arrays.sum(prices), Basic64.of(N, (byte) 0));
+    }
+
+    @Benchmark
+    public BigDecimal averageBigDecimal() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (BigDecimal price : bigPrices) {
+            total = total.add(price);
+        }
+        return total.divide(BigDecimal.valueOf(N), MathContext.DECIMAL64);
+    }
+
+    @Benchmark
+    public BigDecimal[] toBigDecimal() {
+        Dec64.toBigDecimal(prices, 0, bigOut, 0, N);
+        return bigOut;
+    }
+
+    @Benchmark
+    public @DEC64 long[] fromBigDecimal() {
+        Dec64.fromBigDecimal(bigPrices, 0, dec64Out, 0, N);
+        return dec64Out;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(BigDecimalBenchmark.class.getSimpleName())
+                .build();
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,103 @@
+package dec64.perf;
+
+import dec64.Basic64;
+import dec64.Dec64;
+import dec64.annotations.DEC64;
+import dec64.collections.Dec64ToLongMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * An order book's quantity per price level, as a Dec64ToLongMap and as a
+ * HashMap of boxed Dec64 to Long: 1000 updates spread over 200 levels, then
+ * 1000 lookups. Prices arrive with two or four places, so the same level
+ * has two representations. Times are per 1000 operations.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CollectionsBenchmark {
+
+    private static final int N = 1000;
+
+    private final @DEC64 long[] prices = new long[N];
+    private final long[] quantities = new long[N];
+    private final Dec64ToLongMap levels = new Dec64ToLongMap();
+    private final Map<Dec64, Long> boxedLevels = new HashMap<>();
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(18);
+        for (int i = 0; i < N; i++) {
+            long cents = 10_000 + random.nextInt(200);
+            prices[i] = random.nextBoolean()
+                    ? Basic64.of(cents, (byte) -2)
+                    : Basic64.of(cents * 100, (byte) -4);
+            quantities[i] = 1 + random.nextInt(1000);
+        }
+        updateDec64();
+        updateBoxed();
+    }
+
+    @Benchmark
+    public Dec64ToLongMap updateDec64() {
+        levels.clear();
+        for (int i = 0; i < N; i++) {
+            levels.addTo(prices[i], quantities[i]);
+        }
+        return levels;
+    }
+
+    @Benchmark
+    public Map<Dec64, Long> updateBoxed() {
+        boxedLevels.clear();
+        for (int i = 0; i < N; i++) {
+            boxedLevels.merge(Dec64.of(prices[i]), quantities[i], Long::sum);
+        }
+        return boxedLevels;
+    }
+
+    @Benchmark
+    public long lookupDec64() {
+        long total = 0;
+        for (int i = 0; i < N; i++) {
+            total += levels.get(prices[i]);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public long lookupBoxed() {
+        long total = 0;
+        for (int i = 0; i < N; i++) {
+            total += boxedLevels.get(Dec64.of(prices[i]));
+        }
+        return total;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(CollectionsBenchmark.class.getSimpleName())
+                .build();
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,64 @@
+package dec64.perf;
+
+import dec64.Basic64;
+import dec64.annotations.DEC64;
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * DEC64 to double and back, against the usual route through BigDecimal
+ * and Double.toString.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DoubleBenchmark {
+
+    // 123456.78901234
+    private final @DEC64 long price = Basic64.of(12345678901234L, (byte) -8);
+    private final BigDecimal decimal = BigDecimal.valueOf(12345678901234L, 8);
+    private final double value = 123456.78901234;
+
+    @Benchmark
+    public double toDouble() {
+        return Basic64.toDouble(price);
+    }
+
+    @Benchmark
+    public double bigDecimalToDouble() {
+        return decimal.doubleValue();
+    }
+
+    @Benchmark
+    public @DEC64 long fromDouble() {
+        return Basic64.fromDouble(value);
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimalFromDouble() {
+        return BigDecimal.valueOf(value);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(DoubleBenchmark.class.getSimpleName())
+                .build();
+        new Runner(opt).run();
+    }
+}
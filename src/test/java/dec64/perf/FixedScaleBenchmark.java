@@ -0,0 +1,123 @@
+package dec64.perf;
+
+import dec64.Basic64;
+import dec64.FixedScale64;
+import dec64.annotations.DEC64;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * 1000 prices in cents, totalled and marked up by 1.05, three ways: as raw
+ * long cents with checked adds and hand rounding, through FixedScale64.CENTS
+ * and through Basic64. Marking up through Basic64 leaves four places; the
+ * rounded variant rounds back to cents, as FixedScale64 does, so it is the
+ * one to compare FixedScale64's multiply with; the unrounded one skips the
+ * division by the unit. Times are per 1000 prices.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FixedScaleBenchmark {
+
+    private static final int N = 1000;
+    private static final FixedScale64 CENTS = FixedScale64.CENTS;
+
+    private final long[] cents = new long[N];
+    private final @DEC64 long[] prices = new long[N];
+    private final long[] centsOut = new long[N];
+    private final @DEC64 long[] pricesOut = new long[N];
+    private final @DEC64 long rate = CENTS.fromUnits(105);
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(20);
+        for (int i = 0; i < N; i++) {
+            cents[i] = 1 + random.nextInt(1_000_000);
+            prices[i] = CENTS.fromUnits(cents[i]);
+        }
+    }
+
+    @Benchmark
+    public long totalCents() {
+        long total = 0;
+        for (int i = 0; i < N; i++) {
+            total = Math.addExact(total, cents[i]);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public @DEC64 long totalFixedScale() {
+        @DEC64 long total = prices[0];
+        for (int i = 1; i < N; i++) {
+            total = CENTS.add(total, prices[i]);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public @DEC64 long totalBasic64() {
+        @DEC64 long total = prices[0];
+        for (int i = 1; i < N; i++) {
+            total = Basic64.add(total, prices[i]);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public long[] markUpCents() {
+        for (int i = 0; i < N; i++) {
+            // Half up, as the prices are positive
+            centsOut[i] = (Math.multiplyExact(cents[i], 105) + 50) / 100;
+        }
+        return centsOut;
+    }
+
+    @Benchmark
+    public @DEC64 long[] markUpFixedScale() {
+        for (int i = 0; i < N; i++) {
+            pricesOut[i] = CENTS.multiply(prices[i], rate);
+        }
+        return pricesOut;
+    }
+
+    @Benchmark
+    public @DEC64 long[] markUpBasic64() {
+        for (int i = 0; i < N; i++) {
+            pricesOut[i] = Basic64.multiply(prices[i], rate);
+        }
+        return pricesOut;
+    }
+
+    @Benchmark
+    public @DEC64 long[] markUpBasic64Rounded() {
+        for (int i = 0; i < N; i++) {
+            pricesOut[i] = CENTS.round(Basic64.multiply(prices[i], rate));
+        }
+        return pricesOut;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(FixedScaleBenchmark.class.getSimpleName())
+                .build();
+        new Runner(opt).run();
+    }
+}
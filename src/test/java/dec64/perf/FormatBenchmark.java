@@ -0,0 +1,67 @@
+package dec64.perf;
+
+import dec64.Basic64;
+import dec64.FormatMode;
+import dec64.annotations.DEC64;
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Writing a price into an outbound message buffer: FormatMode.formatTo
+ * straight into the bytes or chars, against building a String with format
+ * or with BigDecimal.toPlainString.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FormatBenchmark {
+
+    // 123456.78901234
+    private final @DEC64 long price = Basic64.of(12345678901234L, (byte) -8);
+    private final BigDecimal decimal = BigDecimal.valueOf(12345678901234L, 8);
+    private final byte[] message = new byte[64];
+    private final char[] line = new char[64];
+
+    @Benchmark
+    public int formatToBytes() {
+        return FormatMode.STANDARD.formatTo(price, message, 3);
+    }
+
+    @Benchmark
+    public int formatToChars() {
+        return FormatMode.STANDARD.formatTo(price, line, 3);
+    }
+
+    @Benchmark
+    public String format() {
+        return FormatMode.STANDARD.format(price);
+    }
+
+    @Benchmark
+    public String bigDecimal() {
+        return decimal.toPlainString();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(FormatBenchmark.class.getSimpleName())
+                .build();
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,166 @@
+package dec64.perf;
+
+import dec64.Basic64;
+import dec64.Compounding64;
+import dec64.Math64;
+import dec64.annotations.DEC64;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Math64 functions over 1000 arguments of up to 16 digits, with
+ * java.lang.Math on the same arguments as doubles for scale. Small
+ * arguments are in [-10, 10]; large ones are up to 10^6; positive ones, for
+ * log and sqrt, are from 10^-32 to 10^48. raise takes monthly growth
+ * factors to whole terms of up to 360 months. Times are per 1000 calls.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MathBenchmark {
+
+    private static final int N = 1000;
+
+    private final @DEC64 long[] small = new long[N];
+    private final @DEC64 long[] large = new long[N];
+    private final @DEC64 long[] positive = new long[N];
+    private final double[] smallDoubles = new double[N];
+    // Monthly growth factors 1 + r for r up to 1%, and terms up to 30 years
+    private final @DEC64 long[] growths = new long[N];
+    private final @DEC64 long[] terms = new long[N];
+    private final Compounding64 compounding = Compounding64.of(Basic64.of(5, -3), 360);
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(21);
+        for (int i = 0; i < N; i++) {
+            small[i] = argument(random, -15);
+            large[i] = argument(random, -10);
+            positive[i] = Basic64.of(1 + (random.nextLong() >>> 1) % 10_000_000_000_000_000L,
+                    -32 + random.nextInt(64));
+            smallDoubles[i] = Basic64.toDouble(small[i]);
+            growths[i] = Basic64.of(1_000_000 + random.nextInt(10_000), -6);
+            terms[i] = Basic64.of(1 + random.nextInt(360), 0);
+        }
+    }
+
+    private static @DEC64 long argument(Random random, int exponent) {
+        @DEC64 long x = Basic64.of((random.nextLong() >>> 1) % 10_000_000_000_000_000L, exponent);
+        return random.nextBoolean() ? Basic64.neg(x) : x;
+    }
+
+    @Benchmark
+    public @DEC64 long sin() {
+        @DEC64 long sum = 0;
+        for (int i = 0; i < N; i++) {
+            sum ^= Math64.sin64(small[i]);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public @DEC64 long sinLarge() {
+        @DEC64 long sum = 0;
+        for (int i = 0; i < N; i++) {
+            sum ^= Math64.sin64(large[i]);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public @DEC64 long cos() {
+        @DEC64 long sum = 0;
+        for (int i = 0; i < N; i++) {
+            sum ^= Math64.cos(small[i]);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public @DEC64 long tan() {
+        @DEC64 long sum = 0;
+        for (int i = 0; i < N; i++) {
+            sum ^= Math64.tan(small[i]);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public @DEC64 long exp() {
+        @DEC64 long sum = 0;
+        for (int i = 0; i < N; i++) {
+            sum ^= Math64.exp(small[i]);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public @DEC64 long log() {
+        @DEC64 long sum = 0;
+        for (int i = 0; i < N; i++) {
+            sum ^= Math64.log(positive[i]);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public @DEC64 long sqrt() {
+        @DEC64 long sum = 0;
+        for (int i = 0; i < N; i++) {
+            sum ^= Math64.sqrt(positive[i]);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public @DEC64 long raise() {
+        @DEC64 long sum = 0;
+        for (int i = 0; i < N; i++) {
+            sum ^= Math64.raise(growths[i], terms[i]);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public @DEC64 long compoundingTable() {
+        @DEC64 long sum = 0;
+        for (int i = 0; i < N; i++) {
+            sum ^= compounding.factor((int) Basic64.coefficient(terms[i]));
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public double sinDouble() {
+        double sum = 0;
+        for (int i = 0; i < N; i++) {
+            sum += Math.sin(smallDoubles[i]);
+        }
+        return sum;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(MathBenchmark.class.getSimpleName())
+                .build();
+
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,58 @@
+package dec64.perf;
+
+import dec64.annotations.DEC64;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import static dec64.Basic64.*;
+
+/**
+ * Compares the small-coefficient fast path of multiply with the 128 bit
+ * path taken by realistic price * quantity products. Run with
+ * {@code -prof gc} to confirm neither path allocates.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MultiplyBenchmark {
+
+    // 12.5 * 4
+    private @DEC64 long smallA = of(125, (byte) -1);
+    private @DEC64 long smallB = of(4, (byte) 0);
+
+    // 1234567.8901234567 * 987654.3210987654
+    private @DEC64 long wideA = of(12345678901234567L, (byte) -10);
+    private @DEC64 long wideB = of(9876543210987654L, (byte) -10);
+
+    @Benchmark
+    public @DEC64 long fastPath() {
+        return multiply(smallA, smallB);
+    }
+
+    @Benchmark
+    public @DEC64 long widePath() {
+        return multiply(wideA, wideB);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(MultiplyBenchmark.class.getSimpleName())
+                .build();
+        new Runner(opt).run();
+    }
+}
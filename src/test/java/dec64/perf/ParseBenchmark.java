@@ -0,0 +1,60 @@
+package dec64.perf;
+
+import dec64.Format64;
+import dec64.annotations.DEC64;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Parsing a price field out of a message buffer: Format64.parse straight
+ * from the bytes, against decoding to a String first and parsing that with
+ * Format64.toDEC64 or new BigDecimal.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ParseBenchmark {
+
+    private final byte[] message = "44=123456.78901234\u000138=100\u0001".getBytes(StandardCharsets.US_ASCII);
+    private final Format64 format = Format64.of();
+
+    @Benchmark
+    public @DEC64 long parseBytes() {
+        format.parse(message, 3, message.length - 3);
+        return format.parsed();
+    }
+
+    @Benchmark
+    public @DEC64 long parseString() {
+        return Format64.toDEC64(new String(message, 3, 15, StandardCharsets.US_ASCII));
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimal() {
+        return new BigDecimal(new String(message, 3, 15, StandardCharsets.US_ASCII));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(ParseBenchmark.class.getSimpleName())
+                .build();
+        new Runner(opt).run();
+    }
+}
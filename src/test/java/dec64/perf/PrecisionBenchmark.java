@@ -0,0 +1,110 @@
+package dec64.perf;
+
+import dec64.Basic64;
+import dec64.Math64;
+import dec64.Math64.Precision;
+import dec64.annotations.DEC64;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * The Math64 functions that take a precision, at each tier, over the
+ * arguments of {@link MathBenchmark}: small ones in [-10, 10] for sin, cos
+ * and exp, and positive ones from 10^-32 to 10^48 for log and sqrt. Times
+ * are per 1000 calls.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PrecisionBenchmark {
+
+    private static final int N = 1000;
+
+    @Param({"FULL", "HIGH", "FAST"})
+    public Precision precision;
+
+    private final @DEC64 long[] small = new long[N];
+    private final @DEC64 long[] positive = new long[N];
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(25);
+        for (int i = 0; i < N; i++) {
+            @DEC64 long x = Basic64.of((random.nextLong() >>> 1) % 10_000_000_000_000_000L, -15);
+            small[i] = random.nextBoolean() ? Basic64.neg(x) : x;
+            positive[i] = Basic64.of(1 + (random.nextLong() >>> 1) % 10_000_000_000_000_000L,
+                    -32 + random.nextInt(64));
+        }
+    }
+
+    @Benchmark
+    public @DEC64 long sin() {
+        @DEC64 long sum = 0;
+        for (int i = 0; i < N; i++) {
+            sum ^= Math64.sin64(small[i], precision);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public @DEC64 long cos() {
+        @DEC64 long sum = 0;
+        for (int i = 0; i < N; i++) {
+            sum ^= Math64.cos(small[i], precision);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public @DEC64 long exp() {
+        @DEC64 long sum = 0;
+        for (int i = 0; i < N; i++) {
+            sum ^= Math64.exp(small[i], precision);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public @DEC64 long log() {
+        @DEC64 long sum = 0;
+        for (int i = 0; i < N; i++) {
+            sum ^= Math64.log(positive[i], precision);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public @DEC64 long sqrt() {
+        @DEC64 long sum = 0;
+        for (int i = 0; i < N; i++) {
+            sum ^= Math64.sqrt(positive[i], precision);
+        }
+        return sum;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(PrecisionBenchmark.class.getSimpleName())
+                .build();
+
+        new Runner(opt).run();
+    }
+}
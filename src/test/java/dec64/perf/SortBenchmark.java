@@ -0,0 +1,85 @@
+package dec64.perf;
+
+import dec64.Basic64;
+import dec64.Dec64Arrays;
+import dec64.annotations.DEC64;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Sorting trade prices, with two or four places, by radix sort on the sort
+ * keys against boxing and sorting with Basic64.compare. Each invocation
+ * sorts a fresh copy.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SortBenchmark {
+
+    @Param({"1000", "100000"})
+    public int size;
+
+    private @DEC64 long[] prices;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(19);
+        prices = new long[size];
+        for (int i = 0; i < size; i++) {
+            long cents = 10_000 + random.nextInt(100_000);
+            prices[i] = random.nextBoolean()
+                    ? Basic64.of(cents, (byte) -2)
+                    : Basic64.of(cents * 100 + random.nextInt(100), (byte) -4);
+        }
+    }
+
+    @Benchmark
+    public @DEC64 long[] radixSort() {
+        @DEC64 long[] copy = prices.clone();
+        Dec64Arrays.sort(copy);
+        return copy;
+    }
+
+    @Benchmark
+    public @DEC64 long[] parallelRadixSort() {
+        @DEC64 long[] copy = prices.clone();
+        Dec64Arrays.parallelSort(copy);
+        return copy;
+    }
+
+    @Benchmark
+    public Long[] boxedSort() {
+        Long[] boxed = new Long[size];
+        for (int i = 0; i < size; i++) {
+            boxed[i] = prices[i];
+        }
+        Arrays.sort(boxed, Basic64::compare);
+        return boxed;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(SortBenchmark.class.getSimpleName())
+                .build();
+        new Runner(opt).run();
+    }
+}